@@ -0,0 +1,42 @@
+package app.wio.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// Hash cost per work factor. Throughput per core is roughly 1000 / avgt(ms), which bounds sign-ins per
+// second for app.password-hashing.threads; use it to pick app.security.bcrypt-strength.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BCryptCostBenchmark {
+
+    @Param({"8", "10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        encoded = encoder.encode("Password123");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("Password123");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("Password123", encoded);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean matchesUnderContention() {
+        return encoder.matches("Password123", encoded);
+    }
+}
@@ -0,0 +1,74 @@
+package app.wio.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Indexes that cannot be expressed with JPA annotations (partial indexes). Hibernate creates the
+// tables while the EntityManagerFactory starts, so depending on it guarantees the tables exist here.
+// Booking claims rely on ux_booking_active_seat_date to reject double bookings, so the application
+// refuses to start without it.
+@Component
+public class DatabaseIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseIndexInitializer.class);
+
+    private static final String ACTIVE_SEAT_DATE_INDEX = "ux_booking_active_seat_date";
+
+    private static final String INDEX_EXISTS =
+            "SELECT EXISTS (SELECT 1 FROM pg_indexes WHERE tablename = 'booking' AND indexname = ?)";
+
+    // Databases that predate the index can hold several ACTIVE bookings for one seat and day. The
+    // earliest booking keeps the seat; the later ones are cancelled so the index can be built.
+    private static final String CANCEL_DUPLICATE_ACTIVE_BOOKINGS = """
+            UPDATE booking b
+            SET status = 'CANCELLED'
+            WHERE b.status = 'ACTIVE'
+              AND EXISTS (
+                  SELECT 1 FROM booking e
+                  WHERE e.seat_id = b.seat_id
+                    AND e.date = b.date
+                    AND e.status = 'ACTIVE'
+                    AND e.id < b.id
+              )
+            RETURNING b.id
+            """;
+
+    private static final List<String> INDEXES = List.of(
+            // at most one ACTIVE booking per seat and day; cancelled rows do not count
+            "CREATE UNIQUE INDEX IF NOT EXISTS " + ACTIVE_SEAT_DATE_INDEX + " "
+                    + "ON booking (seat_id, date) WHERE status = 'ACTIVE'"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public DatabaseIndexInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void createIndexes() {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(INDEX_EXISTS, Boolean.class, ACTIVE_SEAT_DATE_INDEX))) {
+            List<Long> cancelled = jdbcTemplate.queryForList(CANCEL_DUPLICATE_ACTIVE_BOOKINGS, Long.class);
+            if (!cancelled.isEmpty()) {
+                logger.warn("Cancelled {} duplicate ACTIVE bookings before creating {}: {}",
+                        cancelled.size(), ACTIVE_SEAT_DATE_INDEX, cancelled);
+            }
+        }
+        for (String ddl : INDEXES) {
+            try {
+                jdbcTemplate.execute(ddl);
+            } catch (DataAccessException ex) {
+                throw new IllegalStateException("Could not create index (" + ddl + ")", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package app.wio.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Hibernate second-level cache for company, floor and seat reference data. Every region is created up front
+// with its own size and TTL (app.l2-cache.regions.<region>.max-size / ttl-seconds) and reports its
+// hits and misses through the standard Micrometer cache meters (cache.gets{cache=<region>,result=hit|miss}).
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // region names used in the @Cache annotations of Company, Floor and Seat
+    public static final List<String> REGIONS = List.of("company", "company.floors", "floor", "floor.seats", "seat");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(Environment environment, MeterRegistry meterRegistry) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // a URI of its own, so each application context (tests restart it often) gets separate caches
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("wio-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        long defaultMaxSize = environment.getProperty("app.l2-cache.default.max-size", Long.class, 10_000L);
+        long defaultTtl = environment.getProperty("app.l2-cache.default.ttl-seconds", Long.class, 3600L);
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(environment.getProperty(
+                    "app.l2-cache.regions." + region + ".max-size", Long.class, defaultMaxSize)));
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(environment.getProperty(
+                    "app.l2-cache.regions." + region + ".ttl-seconds", Long.class, defaultTtl))));
+            configuration.setStatisticsEnabled(true);
+            Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+            JCacheMetrics.monitor(meterRegistry, cache, Tags.of("layer", "hibernate-l2"));
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", secondLevelCacheManager);
+            // a region without a pre-configured cache is a mistake in REGIONS, not something to paper over
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            // saving a Floor or Seat also drops the cached inverse collection (Company.floors, Floor.seats)
+            properties.put("hibernate.cache.auto_evict_collection_cache", true);
+        };
+    }
+}
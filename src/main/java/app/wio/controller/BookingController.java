@@ -1,12 +1,17 @@
 package app.wio.controller;
 
 import app.wio.dto.request.BookingRequestDto;
+import app.wio.dto.request.BookingSeriesRequestDto;
+import app.wio.dto.response.BookingHistoryPageDto;
 import app.wio.dto.response.BookingResponseDto;
+import app.wio.dto.response.BookingSeriesResponseDto;
+import app.wio.service.BookingForwarder;
 import app.wio.service.BookingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
@@ -14,16 +19,21 @@ import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/bookings")
 @Tag(name = "Booking API", description = "Endpoints for creating, retrieving, and canceling bookings")
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingForwarder bookingForwarder;
 
     @Autowired
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, BookingForwarder bookingForwarder) {
         this.bookingService = bookingService;
+        this.bookingForwarder = bookingForwarder;
     }
 
     @Operation(summary = "Create a booking", description = "Creates a new booking given seat, user, and date.")
@@ -34,13 +44,38 @@ public class BookingController {
     })
     @PostMapping("/create")
     @PreAuthorize("hasRole('EMPLOYEE')")
-    public ResponseEntity<BookingResponseDto> createBooking(
-            @Valid @RequestBody BookingRequestDto bookingDto
+    public ResponseEntity<?> createBooking(
+            @Valid @RequestBody BookingRequestDto bookingDto,
+            HttpServletRequest request
     ) {
+        Optional<ResponseEntity<byte[]>> forwarded = bookingForwarder.forwardIfRemote(bookingDto.getSeatId(), bookingDto, request);
+        if (forwarded.isPresent()) {
+            return forwarded.get();
+        }
         BookingResponseDto booking = bookingService.createBooking(bookingDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(booking);
     }
 
+    @Operation(summary = "Create a booking series", description = "Books the same seat on a list of dates, or on a date range filtered by weekdays, in one request. Reports success or conflict per date.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Series processed; see per-date results"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "403", description = "Forbidden or not authorized")
+    })
+    @PostMapping("/series")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    public ResponseEntity<?> createBookingSeries(
+            @Valid @RequestBody BookingSeriesRequestDto seriesDto,
+            HttpServletRequest request
+    ) {
+        Optional<ResponseEntity<byte[]>> forwarded = bookingForwarder.forwardIfRemote(seriesDto.getSeatId(), seriesDto, request);
+        if (forwarded.isPresent()) {
+            return forwarded.get();
+        }
+        BookingSeriesResponseDto series = bookingService.createBookingSeries(seriesDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(series);
+    }
+
     @Operation(summary = "Cancel a booking", description = "Cancels a booking by ID (admin or booking owner only).")
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Booking canceled successfully"),
@@ -49,7 +84,13 @@ public class BookingController {
     })
     @PostMapping("/cancel/{id}")
     @PreAuthorize("hasRole('ADMIN') or @bookingService.isBookingOwner(#id, authentication.principal.id)")
-    public ResponseEntity<Void> cancelBooking(@PathVariable Long id) {
+    public ResponseEntity<?> cancelBooking(@PathVariable Long id, HttpServletRequest request) {
+        // the owner's sequencer lane and caches must see the cancel, just like they see the booking
+        Long seatId = bookingService.findSeatId(id).orElse(null);
+        Optional<ResponseEntity<byte[]>> forwarded = bookingForwarder.forwardIfRemote(seatId, null, request);
+        if (forwarded.isPresent()) {
+            return forwarded.get();
+        }
         bookingService.cancelBooking(id);
         return ResponseEntity.noContent().build();
     }
@@ -71,6 +112,34 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
 
+    @Operation(summary = "Get booking history", description = "Retrieves a user's bookings newest first, one page per cursor. Pass the returned nextCursor to get the following page.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of bookings retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
+            @ApiResponse(responseCode = "403", description = "Forbidden or not authorized")
+    })
+    @GetMapping("/user/{userId}/history")
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
+    public ResponseEntity<BookingHistoryPageDto> getBookingHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(bookingService.getBookingHistory(userId, cursor, size, includeTotal));
+    }
+
+    @Operation(summary = "Get upcoming bookings", description = "Retrieves a user's active bookings from today to 30 days ahead, earliest first.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Upcoming bookings retrieved"),
+            @ApiResponse(responseCode = "403", description = "Forbidden or not authorized")
+    })
+    @GetMapping("/user/{userId}/upcoming")
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
+    public ResponseEntity<List<BookingResponseDto>> getUpcomingBookings(@PathVariable Long userId) {
+        return ResponseEntity.ok(bookingService.getUpcomingBookings(userId));
+    }
+
     @Operation(summary = "Get all bookings for a user", description = "Retrieves all bookings for a specific user (admin or that user).")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Page of bookings retrieved"),
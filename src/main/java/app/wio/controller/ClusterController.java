@@ -0,0 +1,63 @@
+package app.wio.controller;
+
+import app.wio.dto.request.LayoutChangeRequestDto;
+import app.wio.dto.request.SeatChangeRequestDto;
+import app.wio.security.PeerRequestSigner;
+import app.wio.service.OccupancyRelay;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.*;
+import org.springframework.web.bind.annotation.*;
+
+// Node-to-node endpoints. They carry no user token; every request must be signed by a configured node.
+@RestController
+@RequestMapping("/api/cluster")
+@Tag(name = "Cluster API", description = "Endpoints the nodes of a cluster call on each other")
+public class ClusterController {
+
+    private final OccupancyRelay occupancyRelay;
+
+    @Autowired
+    public ClusterController(OccupancyRelay occupancyRelay) {
+        this.occupancyRelay = occupancyRelay;
+    }
+
+    @Operation(summary = "Relay a seat change", description = "Feeds a seat change made on another node to this node's occupancy streams.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Change applied"),
+            @ApiResponse(responseCode = "403", description = "Not signed by a cluster node")
+    })
+    @PostMapping("/occupancy")
+    public ResponseEntity<Void> relayOccupancy(
+            @RequestBody SeatChangeRequestDto change,
+            @RequestHeader(value = PeerRequestSigner.PEER_HEADER, required = false) String peer,
+            @RequestHeader(value = PeerRequestSigner.TIMESTAMP_HEADER, required = false) String timestamp,
+            @RequestHeader(value = PeerRequestSigner.SIGNATURE_HEADER, required = false) String signature
+    ) {
+        if (!occupancyRelay.receive(peer, timestamp, signature, change)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Relay a layout change", description = "Drops what this node cached for a floor whose seat layout changed on another node.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Change applied"),
+            @ApiResponse(responseCode = "403", description = "Not signed by a cluster node")
+    })
+    @PostMapping("/layout")
+    public ResponseEntity<Void> relayLayout(
+            @RequestBody LayoutChangeRequestDto change,
+            @RequestHeader(value = PeerRequestSigner.PEER_HEADER, required = false) String peer,
+            @RequestHeader(value = PeerRequestSigner.TIMESTAMP_HEADER, required = false) String timestamp,
+            @RequestHeader(value = PeerRequestSigner.SIGNATURE_HEADER, required = false) String signature
+    ) {
+        if (!occupancyRelay.receiveLayout(peer, timestamp, signature, change)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,8 +2,10 @@ package app.wio.controller;
 
 import app.wio.dto.CompanyCreationDto;
 import app.wio.dto.response.CompanyDto;
+import app.wio.dto.response.CompanyOccupancyDto;
 import app.wio.dto.response.UserResponseDto;
 import app.wio.service.CompanyService;
+import app.wio.service.OccupancyService;
 import app.wio.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,9 +13,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.*;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -23,11 +28,13 @@ public class CompanyController {
 
     private final CompanyService companyService;
     private final UserService userService;
+    private final OccupancyService occupancyService;
 
     @Autowired
-    public CompanyController(CompanyService companyService, UserService userService) {
+    public CompanyController(CompanyService companyService, UserService userService, OccupancyService occupancyService) {
         this.companyService = companyService;
         this.userService = userService;
+        this.occupancyService = occupancyService;
     }
 
     @Operation(summary = "Create a new company", description = "Creates a company and an associated admin user in one flow.")
@@ -55,6 +62,24 @@ public class CompanyController {
         return ResponseEntity.ok(company);
     }
 
+    @Operation(summary = "Get company occupancy", description = "Booked and available seats per floor and day, starting at the given date (default today) for up to 31 days (admin-only).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Occupancy retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "403", description = "Forbidden or not authorized"),
+            @ApiResponse(responseCode = "404", description = "Company not found")
+    })
+    @GetMapping("/{id}/occupancy")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CompanyOccupancyDto> getCompanyOccupancy(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "14") int days
+    ) {
+        LocalDate startDate = from != null ? from : LocalDate.now();
+        return ResponseEntity.ok(occupancyService.getCompanyOccupancy(id, startDate, days));
+    }
+
     @Operation(summary = "Get users for a company", description = "Retrieves all users belonging to a specific company.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "List of users retrieved"),
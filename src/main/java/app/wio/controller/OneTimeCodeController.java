@@ -6,14 +6,17 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.constraints.Min;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RestController
+@Validated
 @RequestMapping("/api/onetime-codes")
 @Tag(name = "OneTimeCode API", description = "Endpoints for generating and retrieving one-time codes for employees")
 public class OneTimeCodeController {
@@ -25,18 +28,20 @@ public class OneTimeCodeController {
         this.oneTimeCodeService = oneTimeCodeService;
     }
 
-    @Operation(summary = "Generate a one-time code", description = "Generates a new one-time code for employee registration.")
+    @Operation(summary = "Generate a one-time code", description = "Generates a new one-time code for employee registration, optionally limited to a number of uses.")
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "One-time code created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid max uses"),
             @ApiResponse(responseCode = "404", description = "Company not found")
     })
     @PostMapping("/generate")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<OneTimeCode> generateCode(
             @RequestParam Long companyId,
-            @RequestParam(defaultValue = "24") int expirationInHours
+            @RequestParam(defaultValue = "24") int expirationInHours,
+            @RequestParam(required = false) @Min(value = 1, message = "Max uses must be at least 1.") Integer maxUses
     ) {
-        OneTimeCode code = oneTimeCodeService.generateCode(companyId, expirationInHours);
+        OneTimeCode code = oneTimeCodeService.generateCode(companyId, expirationInHours, maxUses);
         return ResponseEntity.status(HttpStatus.CREATED).body(code);
     }
 
@@ -3,19 +3,29 @@ package app.wio.controller;
 import app.wio.dto.SeatBookingInfoDto;
 import app.wio.dto.SeatDto;
 import app.wio.dto.request.BulkSeatUpdateRequest;
+import app.wio.dto.response.BulkSeatUpdateResponseDto;
+import app.wio.dto.response.SeatHoldDto;
+import app.wio.security.CustomUserDetails;
+import app.wio.service.BookingForwarder;
+import app.wio.service.FloorLayoutCache;
 import app.wio.service.SeatService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/seats")
@@ -23,10 +33,12 @@ import java.util.List;
 public class SeatController {
 
     private final SeatService seatService;
+    private final BookingForwarder bookingForwarder;
 
     @Autowired
-    public SeatController(SeatService seatService) {
+    public SeatController(SeatService seatService, BookingForwarder bookingForwarder) {
         this.seatService = seatService;
+        this.bookingForwarder = bookingForwarder;
     }
 
     @Operation(summary = "Create a new seat", description = "Creates a seat on a floor (admin-only).")
@@ -83,32 +95,45 @@ public class SeatController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Get available seats for a floor", description = "Retrieves a list of available seats on a floor.")
+    @Operation(summary = "Get available seats for a floor", description = "Retrieves a list of available seats on a floor, optionally excluding seats booked on a given date.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "List of available seats retrieved"),
             @ApiResponse(responseCode = "403", description = "Forbidden or not authorized")
     })
     @GetMapping("/available")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<SeatDto>> getAvailableSeats(@RequestParam Long floorId) {
-        List<SeatDto> seats = seatService.getAvailableSeatsByFloorId(floorId);
+    public ResponseEntity<List<SeatDto>> getAvailableSeats(
+            @RequestParam Long floorId,
+            @RequestParam(required = false) String date
+    ) {
+        List<SeatDto> seats = date == null
+                ? seatService.getAvailableSeatsByFloorId(floorId)
+                : seatService.getFreeSeatsByFloorIdAndDate(floorId, LocalDate.parse(date));
         return ResponseEntity.ok(seats);
     }
 
-    @Operation(summary = "Get seats by floor", description = "Retrieves seats (optionally with occupant info) for a specific floor on a given date.")
+    @Operation(summary = "Get seats by floor", description = "Retrieves seats (optionally with occupant info) for a specific floor on a given date. Without a date the layout carries an ETag.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Seats retrieved"),
+            @ApiResponse(responseCode = "304", description = "Layout unchanged since the given ETag"),
             @ApiResponse(responseCode = "403", description = "Forbidden or not authorized")
     })
     @GetMapping("/floor/{floorId}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getSeatsByFloorId(
             @PathVariable Long floorId,
-            @RequestParam(required = false) String date
+            @RequestParam(required = false) String date,
+            WebRequest webRequest
     ) {
         if (date == null) {
-            List<SeatDto> seatDtos = seatService.getSeatsByFloorId(floorId);
-            return ResponseEntity.ok(seatDtos);
+            FloorLayoutCache.Snapshot layout = seatService.getFloorLayout(floorId);
+            if (webRequest.checkNotModified(layout.getEtag())) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .eTag(layout.getEtag())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(layout.getJson());
         } else {
             LocalDate localDate = LocalDate.parse(date);
             List<SeatBookingInfoDto> occupantList = seatService.getSeatsWithOccupants(floorId, localDate);
@@ -116,15 +141,76 @@ public class SeatController {
         }
     }
 
-    @Operation(summary = "Bulk update seats", description = "Creates or updates seats in bulk (admin-only).")
+    @Operation(summary = "Stream floor occupancy", description = "Server-sent events with seat changes for a floor and date. 'occupancy' events carry a list of seat deltas; on 'resync' the client reloads the floor.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "403", description = "Forbidden or not authorized"),
+            @ApiResponse(responseCode = "404", description = "Floor not found")
+    })
+    @GetMapping(value = "/floor/{floorId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter streamFloorOccupancy(
+            @PathVariable Long floorId,
+            @RequestParam String date
+    ) {
+        return seatService.subscribeToOccupancy(floorId, LocalDate.parse(date));
+    }
+
+    @Operation(summary = "Hold a seat", description = "Reserves a seat for a date for a short time so it can be booked without racing other users.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Seat held"),
+            @ApiResponse(responseCode = "404", description = "Seat not found"),
+            @ApiResponse(responseCode = "409", description = "Seat already booked or held by another user")
+    })
+    @PostMapping("/{id}/hold")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> holdSeat(
+            @PathVariable Long id,
+            @RequestParam String date,
+            @RequestParam(required = false) Integer ttlSeconds,
+            Authentication authentication,
+            HttpServletRequest request
+    ) {
+        // holds live in the memory of the node that books the seat's company
+        Optional<ResponseEntity<byte[]>> forwarded = bookingForwarder.forwardIfRemote(id, null, request);
+        if (forwarded.isPresent()) {
+            return forwarded.get();
+        }
+        Long userId = ((CustomUserDetails) authentication.getPrincipal()).getId();
+        SeatHoldDto hold = seatService.holdSeat(id, LocalDate.parse(date), userId, ttlSeconds);
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
+
+    @Operation(summary = "Release a seat hold", description = "Releases the current user's hold on a seat for a date.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Hold released")
+    })
+    @DeleteMapping("/{id}/hold")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> releaseSeatHold(
+            @PathVariable Long id,
+            @RequestParam String date,
+            Authentication authentication,
+            HttpServletRequest request
+    ) {
+        Optional<ResponseEntity<byte[]>> forwarded = bookingForwarder.forwardIfRemote(id, null, request);
+        if (forwarded.isPresent()) {
+            return forwarded.get();
+        }
+        Long userId = ((CustomUserDetails) authentication.getPrincipal()).getId();
+        seatService.releaseSeatHold(id, LocalDate.parse(date), userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Bulk update seats", description = "Creates or updates seats in bulk and reports the outcome per row (admin-only).")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Seats updated"),
+            @ApiResponse(responseCode = "200", description = "Seats processed; see per-row results"),
             @ApiResponse(responseCode = "400", description = "Validation failed")
     })
     @PostMapping("/bulk-update")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> bulkUpdateSeats(@Valid @RequestBody BulkSeatUpdateRequest request) {
-        seatService.bulkUpdateSeats(request.getSeats());
-        return ResponseEntity.ok("Seats updated");
+    public ResponseEntity<BulkSeatUpdateResponseDto> bulkUpdateSeats(@Valid @RequestBody BulkSeatUpdateRequest request) {
+        BulkSeatUpdateResponseDto response = seatService.bulkUpdateSeats(request.getSeats());
+        return ResponseEntity.ok(response);
     }
 }
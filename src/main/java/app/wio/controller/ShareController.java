@@ -1,22 +1,30 @@
 package app.wio.controller;
 
+import app.wio.dto.request.ShareBatchRequestDto;
 import app.wio.dto.request.ShareRequestDto;
+import app.wio.dto.response.ShareInboxPageDto;
 import app.wio.dto.response.ShareResponseDto;
+import app.wio.dto.response.UnreadCountDto;
 import app.wio.security.CustomUserDetails;
 import app.wio.service.ShareService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
 import java.util.List;
 
 @RestController
+@Validated
 @RequestMapping("/api/shares")
 @Tag(name = "Share API", description = "Endpoints for sharing booking info among employees")
 public class ShareController {
@@ -48,6 +56,27 @@ public class ShareController {
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
 
+    @Operation(summary = "Create shares for many recipients", description = "Shares the same bookings with several users in one call.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Shares created"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "403", description = "Forbidden or not authenticated"),
+            @ApiResponse(responseCode = "404", description = "Recipient or booking not found")
+    })
+    @PostMapping("/batch")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<ShareResponseDto>> createShares(
+            @Valid @RequestBody ShareBatchRequestDto requestDto,
+            Principal principal
+    ) {
+        var userDetails = (CustomUserDetails)
+                ((org.springframework.security.core.Authentication) principal).getPrincipal();
+        Long senderId = userDetails.getId();
+
+        List<ShareResponseDto> result = shareService.createShares(senderId, requestDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
     @Operation(summary = "Get inbox shares", description = "Retrieves all share messages for the current user.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "List of shares retrieved"),
@@ -64,6 +93,42 @@ public class ShareController {
         return ResponseEntity.ok(shares);
     }
 
+    @Operation(summary = "Get inbox page", description = "Retrieves one page of share messages for the current user, newest first.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of shares retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid page or size"),
+            @ApiResponse(responseCode = "403", description = "Forbidden or not authenticated")
+    })
+    @GetMapping("/inbox/page")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ShareInboxPageDto> getInboxPage(
+            @RequestParam(defaultValue = "0") @Min(value = 0, message = "Page must not be negative.") int page,
+            @RequestParam(defaultValue = "20") @Min(value = 1, message = "Size must be at least 1.")
+            @Max(value = 100, message = "Size must be at most 100.") int size,
+            Principal principal
+    ) {
+        var userDetails = (CustomUserDetails)
+                ((org.springframework.security.core.Authentication) principal).getPrincipal();
+        Long recipientId = userDetails.getId();
+
+        return ResponseEntity.ok(shareService.getInboxPage(recipientId, page, size));
+    }
+
+    @Operation(summary = "Get unread count", description = "Counts the unread share messages of the current user.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Unread count retrieved"),
+            @ApiResponse(responseCode = "403", description = "Forbidden or not authenticated")
+    })
+    @GetMapping("/inbox/unread-count")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<UnreadCountDto> getUnreadCount(Principal principal) {
+        var userDetails = (CustomUserDetails)
+                ((org.springframework.security.core.Authentication) principal).getPrincipal();
+        Long recipientId = userDetails.getId();
+
+        return ResponseEntity.ok(shareService.getUnreadCount(recipientId));
+    }
+
     @Operation(summary = "Mark share as read", description = "Marks a share (message) as read for the current user.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Share updated as read"),
@@ -15,4 +15,24 @@ public class SeatBookingInfoDto {
     private Integer angle;
     private boolean booked;
     private String occupantName;
+    private boolean held;
+
+    // Used by the occupancy projection query; bookingId is null when the seat is free.
+    public SeatBookingInfoDto(
+            Long id,
+            String seatNumber,
+            Double xCoordinate,
+            Double yCoordinate,
+            Integer angle,
+            Long bookingId,
+            String occupantName
+    ) {
+        this.id = id;
+        this.seatNumber = seatNumber;
+        this.xCoordinate = xCoordinate;
+        this.yCoordinate = yCoordinate;
+        this.angle = angle;
+        this.booked = bookingId != null;
+        this.occupantName = occupantName;
+    }
 }
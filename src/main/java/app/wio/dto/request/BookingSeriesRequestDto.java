@@ -0,0 +1,43 @@
+package app.wio.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSeriesRequestDto {
+
+    @NotNull(message = "Seat ID is required.")
+    @Min(value = 1, message = "Seat ID must be greater than 0.")
+    private Long seatId;
+
+    @NotNull(message = "User ID is required.")
+    @Min(value = 1, message = "User ID must be greater than 0.")
+    private Long userId;
+
+    // Either an explicit list of dates ...
+    private List<@NotNull LocalDate> dates;
+
+    // ... or a range, optionally restricted to some weekdays (empty means every day).
+    @FutureOrPresent(message = "Start date cannot be in the past.")
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private Set<DayOfWeek> daysOfWeek;
+
+    @AssertTrue(message = "Provide either dates or startDate and endDate.")
+    public boolean isDateSelectionValid() {
+        boolean hasDates = dates != null && !dates.isEmpty();
+        boolean hasRange = startDate != null && endDate != null;
+        return hasDates != hasRange && (!hasRange || !endDate.isBefore(startDate));
+    }
+}
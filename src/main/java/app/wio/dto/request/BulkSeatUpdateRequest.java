@@ -1,6 +1,7 @@
 package app.wio.dto.request;
 
 import app.wio.dto.SeatDto;
+import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -9,6 +10,7 @@ import java.util.List;
 @Getter
 @Setter
 public class BulkSeatUpdateRequest {
+    @NotNull(message = "Seats are required.")
     private List<SeatDto> seats;
 
 }
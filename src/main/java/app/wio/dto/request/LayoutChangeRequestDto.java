@@ -0,0 +1,12 @@
+package app.wio.dto.request;
+
+import lombok.*;
+
+// A floor whose seat layout changed on one node; the others drop what they cached for it.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LayoutChangeRequestDto {
+    private Long floorId;
+}
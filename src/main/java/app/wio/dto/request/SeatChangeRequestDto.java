@@ -0,0 +1,18 @@
+package app.wio.dto.request;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+// A seat change one node relays to the others; a null flag means that part of the seat's state did not change.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatChangeRequestDto {
+    private Long floorId;
+    private LocalDate date;
+    private Long seatId;
+    private Boolean booked;
+    private Boolean held;
+}
@@ -0,0 +1,25 @@
+package app.wio.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShareBatchRequestDto {
+
+    @NotEmpty(message = "At least one recipient is required.")
+    @Size(max = 500, message = "A share can have at most 500 recipients.")
+    private List<@NotNull Long> recipientIds;
+
+    private List<@NotNull Long> bookingIds;
+
+    @Size(max = 1000, message = "Message can be at most 1000 characters.")
+    private String message;
+}
@@ -0,0 +1,25 @@
+package app.wio.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDateResultDto {
+
+    private LocalDate date;
+    private BookingDateOutcome outcome;
+    private Long bookingId;
+    private String message;
+
+    public enum BookingDateOutcome {
+        BOOKED,
+        SEAT_TAKEN,
+        SEAT_HELD,
+        ALREADY_BOOKED,
+        PAST_DATE
+    }
+}
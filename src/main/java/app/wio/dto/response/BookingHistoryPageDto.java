@@ -0,0 +1,18 @@
+package app.wio.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingHistoryPageDto {
+
+    private List<BookingResponseDto> bookings;
+    // Opaque token for the next page; null on the last page.
+    private String nextCursor;
+    // Only filled when the caller asks for it, since it costs a COUNT query.
+    private Long totalCount;
+}
@@ -0,0 +1,18 @@
+package app.wio.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSeriesResponseDto {
+
+    private Long seatId;
+    private Long userId;
+    private int bookedCount;
+    private int conflictCount;
+    private List<BookingDateResultDto> results;
+}
@@ -0,0 +1,17 @@
+package app.wio.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSeatUpdateResponseDto {
+
+    private int createdCount;
+    private int updatedCount;
+    private int failedCount;
+    private List<SeatUpsertResultDto> results;
+}
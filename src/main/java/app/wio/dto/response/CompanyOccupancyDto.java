@@ -0,0 +1,18 @@
+package app.wio.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompanyOccupancyDto {
+
+    private Long companyId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<FloorOccupancyDto> floors;
+}
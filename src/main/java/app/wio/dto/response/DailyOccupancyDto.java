@@ -0,0 +1,16 @@
+package app.wio.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyOccupancyDto {
+
+    private LocalDate date;
+    private long booked;
+    private long available;
+}
@@ -0,0 +1,20 @@
+package app.wio.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FloorOccupancyDto {
+
+    private Long floorId;
+    private String floorName;
+    private Integer floorNumber;
+    private long totalSeats;
+    // seats with status AVAILABLE; the base for the daily available count
+    private long bookableSeats;
+    private List<DailyOccupancyDto> days;
+}
@@ -0,0 +1,17 @@
+package app.wio.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+// Change to one seat; a null flag means that part of the seat's state did not change.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SeatDeltaDto {
+
+    private Long seatId;
+    private Boolean booked;
+    private Boolean held;
+}
@@ -0,0 +1,18 @@
+package app.wio.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldDto {
+    private Long seatId;
+    private Long floorId;
+    private LocalDate date;
+    private Long userId;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,22 @@
+package app.wio.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatUpsertResultDto {
+
+    private int index;
+    private Long seatId;
+    private String seatNumber;
+    private SeatUpsertOutcome outcome;
+    private String message;
+
+    public enum SeatUpsertOutcome {
+        CREATED,
+        UPDATED,
+        FAILED
+    }
+}
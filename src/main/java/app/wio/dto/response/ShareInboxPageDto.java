@@ -0,0 +1,17 @@
+package app.wio.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShareInboxPageDto {
+
+    private List<ShareResponseDto> shares;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
@@ -0,0 +1,12 @@
+package app.wio.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCountDto {
+
+    private long unreadCount;
+}
@@ -8,6 +8,11 @@ import java.time.LocalDate;
 
 
 @Entity
+@NamedEntityGraph(
+        name = "Booking.withSeatAndFloor",
+        attributeNodes = @NamedAttributeNode(value = "seat", subgraph = "seat"),
+        subgraphs = @NamedSubgraph(name = "seat", attributeNodes = @NamedAttributeNode("floor"))
+)
 @Table(
         uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "date"})
 )
@@ -27,11 +32,11 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "seat_id", nullable = false)
     private Seat seat;
 }
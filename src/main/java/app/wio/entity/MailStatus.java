@@ -0,0 +1,7 @@
+package app.wio.entity;
+
+public enum MailStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -11,7 +11,10 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "one_time_codes")
+@Table(name = "one_time_codes", indexes = {
+        @Index(name = "ix_one_time_codes_company_expiry", columnList = "company_id, expiry_date"),
+        @Index(name = "ix_one_time_codes_expiry", columnList = "expiry_date")
+})
 public class OneTimeCode {
 
     @Id
@@ -30,8 +33,16 @@ public class OneTimeCode {
 
     private int usedCount;
 
+    // null means unlimited
+    private Integer maxUses;
+
     public OneTimeCode(Long companyId, int expirationInHours) {
+        this(companyId, expirationInHours, null);
+    }
+
+    public OneTimeCode(Long companyId, int expirationInHours, Integer maxUses) {
         this.companyId = companyId;
+        this.maxUses = maxUses;
         this.code = UUID.randomUUID().toString().replace("-", "")
                 .substring(0, 10).toUpperCase();
         this.expiryDate = LocalDateTime.now().plusHours(expirationInHours);
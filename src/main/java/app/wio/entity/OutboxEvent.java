@@ -0,0 +1,48 @@
+package app.wio.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Written in the same transaction as the change it describes; deleted by OutboxRelay once delivered.
+// PENDING rows become due at nextAttemptAt; a row that keeps failing is parked as DEAD for inspection.
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_events", indexes = @Index(name = "ix_outbox_events_status_next_attempt", columnList = "status, next_attempt_at"))
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String aggregateType;
+
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 100)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "varchar(20) not null default 'PENDING'")
+    private OutboxStatus status;
+
+    @Column(columnDefinition = "integer not null default 0")
+    private int attempts;
+
+    @Column(columnDefinition = "timestamp(6) not null default now()")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,6 @@
+package app.wio.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    DEAD
+}
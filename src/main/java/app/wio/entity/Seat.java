@@ -5,8 +5,13 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "seat")
+@NamedEntityGraph(name = "Seat.withFloor", attributeNodes = @NamedAttributeNode("floor"))
 @Getter
 @Setter
 @NoArgsConstructor
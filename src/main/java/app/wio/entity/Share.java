@@ -8,11 +8,16 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@NamedEntityGraph(name = "Share.withShareBookings", attributeNodes = @NamedAttributeNode("shareBookings"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "shares")
+@Table(name = "shares", indexes = {
+        @Index(name = "ix_shares_max_booking_date", columnList = "max_booking_date"),
+        @Index(name = "ix_shares_recipient_read", columnList = "recipient_id, read_at"),
+        @Index(name = "ix_shares_recipient_created", columnList = "recipient_id, created_at")
+})
 public class Share {
 
     @Id
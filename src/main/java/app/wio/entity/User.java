@@ -7,8 +7,10 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import java.util.List;
+import java.util.Objects;
 
 @Entity
+@NamedEntityGraph(name = "User.withCompany", attributeNodes = @NamedAttributeNode("company"))
 @Table(name = "users", uniqueConstraints = @UniqueConstraint(columnNames = "email"))
 @Getter
 @Setter
@@ -35,7 +37,7 @@ public class User {
     @Enumerated(EnumType.STRING)
     private UserRole role;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company_id")
     private Company company;
 
@@ -45,6 +47,11 @@ public class User {
 
     private boolean enabled;
 
+    // bumped whenever previously issued JWTs must stop working
+    @JsonIgnore
+    @Column(columnDefinition = "integer not null default 0")
+    private int tokenVersion;
+
     @JsonIgnore
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     private List<PasswordResetToken> passwordResetTokens;
@@ -53,4 +60,31 @@ public class User {
     private String department;
     private String phone;
     private String avatar;
+
+    // Tokens carry the role and enabled flag, and the company decides what they can reach. Changing any
+    // of them on an existing user makes issued tokens stale, so these setters bump tokenVersion.
+    public void setRole(UserRole role) {
+        if (id != null && this.role != role) {
+            tokenVersion++;
+        }
+        this.role = role;
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (id != null && this.enabled != enabled) {
+            tokenVersion++;
+        }
+        this.enabled = enabled;
+    }
+
+    public void setCompany(Company company) {
+        if (id != null && !Objects.equals(companyId(this.company), companyId(company))) {
+            tokenVersion++;
+        }
+        this.company = company;
+    }
+
+    private static Long companyId(Company company) {
+        return company == null ? null : company.getId();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package app.wio.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Left behind when a user is deleted, so every node keeps rejecting that user's tokens until they expire.
+@Entity
+@Table(name = "user_tombstones")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTombstone {
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -23,7 +23,7 @@ public class VerificationToken {
     @Column(nullable = false)
     private LocalDateTime expiryDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
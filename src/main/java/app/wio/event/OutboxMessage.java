@@ -0,0 +1,18 @@
+package app.wio.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// An outbox row as handed to the sinks. Delivery is at-least-once, so consumers should dedupe on id.
+@Getter
+@AllArgsConstructor
+public class OutboxMessage {
+    private final Long id;
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final String eventType;
+    private final String payload;
+    private final LocalDateTime createdAt;
+}
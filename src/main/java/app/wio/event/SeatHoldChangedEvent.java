@@ -0,0 +1,15 @@
+package app.wio.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class SeatHoldChangedEvent {
+    private final Long seatId;
+    private final Long floorId;
+    private final LocalDate date;
+    private final boolean held;
+}
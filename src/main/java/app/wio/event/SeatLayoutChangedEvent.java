@@ -0,0 +1,16 @@
+package app.wio.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// fromPeer marks a change made on another node and relayed here, so it is not relayed back.
+@Getter
+@AllArgsConstructor
+public class SeatLayoutChangedEvent {
+    private final Long floorId;
+    private final boolean fromPeer;
+
+    public SeatLayoutChangedEvent(Long floorId) {
+        this(floorId, false);
+    }
+}
@@ -0,0 +1,13 @@
+package app.wio.event;
+
+import app.wio.dto.response.ShareResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class SharesCreatedEvent {
+    private final List<ShareResponseDto> shares;
+}
@@ -0,0 +1,11 @@
+package app.wio.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UserTokensRevokedEvent {
+    private final Long userId;
+    private final int minimumTokenVersion;
+}
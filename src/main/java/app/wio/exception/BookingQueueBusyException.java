@@ -0,0 +1,7 @@
+package app.wio.exception;
+
+public class BookingQueueBusyException extends RuntimeException {
+    public BookingQueueBusyException(String message) {
+        super(message);
+    }
+}
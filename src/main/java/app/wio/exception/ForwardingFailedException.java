@@ -0,0 +1,7 @@
+package app.wio.exception;
+
+public class ForwardingFailedException extends RuntimeException {
+    public ForwardingFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
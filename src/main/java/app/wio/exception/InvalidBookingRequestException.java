@@ -0,0 +1,7 @@
+package app.wio.exception;
+
+public class InvalidBookingRequestException extends RuntimeException {
+    public InvalidBookingRequestException(String message) {
+        super(message);
+    }
+}
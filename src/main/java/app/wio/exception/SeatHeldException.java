@@ -0,0 +1,7 @@
+package app.wio.exception;
+
+public class SeatHeldException extends RuntimeException {
+    public SeatHeldException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package app.wio.repository;
+
+import java.time.LocalDate;
+
+public interface BookingDateRef {
+    Long getId();
+    LocalDate getDate();
+}
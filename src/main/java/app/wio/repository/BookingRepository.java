@@ -1,21 +1,30 @@
 package app.wio.repository;
 
+import app.wio.dto.SeatBookingInfoDto;
 import app.wio.dto.response.BookingResponseDto;
 import app.wio.entity.Booking;
 import app.wio.entity.BookingStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    @EntityGraph("Booking.withSeatAndFloor")
     Page<Booking> findByUserId(Long userId, Pageable pageable);
+    @EntityGraph("Booking.withSeatAndFloor")
+    Optional<Booking> findWithSeatAndFloorById(Long id);
     List<Booking> findBySeatId(Long seatId);
     List<Booking> findBySeatIdAndDate(Long seatId, LocalDate date);
+    @Query("SELECT b.seat.id FROM Booking b WHERE b.id = :id")
+    Optional<Long> findSeatIdById(@Param("id") Long id);
     @Query("""
         SELECT b.seat.id FROM Booking b
         WHERE b.seat.floor.id = :floorId
@@ -23,6 +32,18 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
           AND b.status = 'ACTIVE'
     """)
     List<Long> findBookedSeatIdsByFloorIdAndDate(@Param("floorId") Long floorId, @Param("date") LocalDate date);
+    @Query("""
+        SELECT b.seat.id AS seatId, b.user.id AS userId, b.status AS status FROM Booking b
+        WHERE b.seat.floor.id = :floorId
+          AND b.date = :date
+    """)
+    List<BookingSeatUserRef> findSeatUsersByFloorIdAndDate(@Param("floorId") Long floorId, @Param("date") LocalDate date);
+    @Query("""
+        SELECT b.id AS id, b.date AS date FROM Booking b
+        WHERE b.id IN :ids
+          AND b.user.id = :userId
+    """)
+    List<BookingDateRef> findDatesByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
     @Query("""
         SELECT b FROM Booking b
         WHERE b.seat.floor.id = :floorId
@@ -30,6 +51,26 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
           AND b.status = 'ACTIVE'
     """)
     List<Booking> findByFloorIdAndDate(@Param("floorId") Long floorId, @Param("date") LocalDate date);
+    @Query("""
+        SELECT new app.wio.dto.SeatBookingInfoDto(
+            s.id,
+            s.seatNumber,
+            s.xCoordinate,
+            s.yCoordinate,
+            s.angle,
+            b.id,
+            u.name
+        )
+        FROM Seat s
+        LEFT JOIN Booking b
+               ON b.seat = s
+              AND b.date = :date
+              AND b.status = 'ACTIVE'
+        LEFT JOIN b.user u
+        WHERE s.floor.id = :floorId
+        ORDER BY s.id
+    """)
+    List<SeatBookingInfoDto> findSeatOccupancyByFloorIdAndDate(@Param("floorId") Long floorId, @Param("date") LocalDate date);
     @Query("""
         SELECT new app.wio.dto.response.BookingResponseDto(
             b.id,
@@ -46,6 +87,81 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
         ORDER BY b.date DESC
     """)
     Page<BookingResponseDto> findBookingsByUserIdWithFloor(@Param("userId") Long userId, Pageable pageable);
+    // Keyset pages on (date DESC, id DESC); the (user_id, date) unique index serves both as a backward scan.
+    @Query("""
+        SELECT new app.wio.dto.response.BookingResponseDto(
+            b.id,
+            b.date,
+            CAST(b.status as string),
+            b.user.id,
+            b.seat.id,
+            b.seat.seatNumber,
+            b.seat.floor.floorNumber,
+            b.seat.floor.name
+        )
+        FROM Booking b
+        WHERE b.user.id = :userId
+        ORDER BY b.date DESC, b.id DESC
+    """)
+    List<BookingResponseDto> findBookingHistoryByUserId(@Param("userId") Long userId, Limit limit);
+    @Query("""
+        SELECT new app.wio.dto.response.BookingResponseDto(
+            b.id,
+            b.date,
+            CAST(b.status as string),
+            b.user.id,
+            b.seat.id,
+            b.seat.seatNumber,
+            b.seat.floor.floorNumber,
+            b.seat.floor.name
+        )
+        FROM Booking b
+        WHERE b.user.id = :userId
+          AND (b.date < :date OR (b.date = :date AND b.id < :id))
+        ORDER BY b.date DESC, b.id DESC
+    """)
+    List<BookingResponseDto> findBookingHistoryByUserIdAfter(
+            @Param("userId") Long userId,
+            @Param("date") LocalDate date,
+            @Param("id") Long id,
+            Limit limit
+    );
+    long countByUserId(Long userId);
+    @Query("""
+        SELECT new app.wio.dto.response.BookingResponseDto(
+            b.id,
+            b.date,
+            CAST(b.status as string),
+            b.user.id,
+            b.seat.id,
+            b.seat.seatNumber,
+            b.seat.floor.floorNumber,
+            b.seat.floor.name
+        )
+        FROM Booking b
+        WHERE b.user.id = :userId
+          AND b.date BETWEEN :startDate AND :endDate
+          AND b.status = 'ACTIVE'
+        ORDER BY b.date ASC, b.id ASC
+    """)
+    List<BookingResponseDto> findUpcomingBookingsByUserId(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+    @Query("""
+        SELECT b.seat.floor.id AS floorId, b.date AS date, COUNT(b) AS booked
+        FROM Booking b
+        WHERE b.seat.floor.company.id = :companyId
+          AND b.date BETWEEN :startDate AND :endDate
+          AND b.status = 'ACTIVE'
+        GROUP BY b.seat.floor.id, b.date
+    """)
+    List<FloorDailyBookingCount> countActiveBookingsByCompanyIdAndDateBetween(
+            @Param("companyId") Long companyId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
     @Query("""
         SELECT b FROM Booking b
         WHERE b.seat.id = :seatId
@@ -69,4 +185,24 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("status") BookingStatus status
     );
     boolean existsByUserIdAndDate(Long userId, LocalDate date);
+    boolean existsBySeatIdAndDateAndStatus(Long seatId, LocalDate date, BookingStatus status);
+    @Query("""
+        SELECT b.date FROM Booking b
+        WHERE b.user.id = :userId
+          AND b.date IN :dates
+    """)
+    List<LocalDate> findDatesByUserIdAndDateIn(
+            @Param("userId") Long userId,
+            @Param("dates") Collection<LocalDate> dates
+    );
+    @Query("""
+        SELECT b.date FROM Booking b
+        WHERE b.seat.id = :seatId
+          AND b.date IN :dates
+          AND b.status = 'ACTIVE'
+    """)
+    List<LocalDate> findActiveDatesBySeatIdAndDateIn(
+            @Param("seatId") Long seatId,
+            @Param("dates") Collection<LocalDate> dates
+    );
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package app.wio.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface BookingRepositoryCustom {
+
+    // Inserts one ACTIVE booking per date in a single INSERT ... ON CONFLICT DO NOTHING; returns the generated
+    // IDs by date. Dates a concurrent booking got first are missing from the result.
+    Map<LocalDate, Long> insertActiveBookings(Long userId, Long seatId, List<LocalDate> dates);
+
+    // Claims the seat with one INSERT ... ON CONFLICT DO NOTHING; empty when the seat or user is taken or missing.
+    Optional<SeatClaim> claimSeat(Long userId, Long seatId, LocalDate date);
+
+    // Claims several (user, seat) pairs for one date in a single multi-row INSERT ... ON CONFLICT DO NOTHING;
+    // returns only the pairs that were inserted. userIds and seatIds are matched by position.
+    List<SeatClaim> claimSeats(LocalDate date, List<Long> userIds, List<Long> seatIds);
+}
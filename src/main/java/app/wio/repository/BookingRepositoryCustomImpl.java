@@ -0,0 +1,113 @@
+package app.wio.repository;
+
+import app.wio.dto.response.BookingResponseDto;
+import app.wio.entity.BookingStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    private static final String INSERT_ACTIVE_BOOKINGS = """
+            INSERT INTO booking (date, status, user_id, seat_id)
+            SELECT d.date, 'ACTIVE', ?, ?
+            FROM unnest(CAST(? AS date[])) AS d(date)
+            ON CONFLICT DO NOTHING
+            RETURNING id, date
+            """;
+
+    private static final String CLAIM_SEAT = """
+            WITH claimed AS (
+                INSERT INTO booking (date, status, user_id, seat_id)
+                SELECT CAST(? AS date), 'ACTIVE', u.id, s.id
+                FROM users u, seats s
+                WHERE u.id = ? AND s.id = ?
+                ON CONFLICT DO NOTHING
+                RETURNING id, date, user_id, seat_id
+            )
+            SELECT c.id, c.date, c.user_id, c.seat_id, s.seat_number,
+                   f.id AS floor_id, f.floor_number, f.name AS floor_name
+            FROM claimed c
+            JOIN seats s ON s.id = c.seat_id
+            LEFT JOIN floors f ON f.id = s.floor_id
+            """;
+
+    private static final String CLAIM_SEATS = """
+            WITH claimed AS (
+                INSERT INTO booking (date, status, user_id, seat_id)
+                SELECT CAST(? AS date), 'ACTIVE', u.id, s.id
+                FROM unnest(CAST(? AS bigint[]), CAST(? AS bigint[])) AS r(user_id, seat_id)
+                JOIN users u ON u.id = r.user_id
+                JOIN seats s ON s.id = r.seat_id
+                ON CONFLICT DO NOTHING
+                RETURNING id, date, user_id, seat_id
+            )
+            SELECT c.id, c.date, c.user_id, c.seat_id, s.seat_number,
+                   f.id AS floor_id, f.floor_number, f.name AS floor_name
+            FROM claimed c
+            JOIN seats s ON s.id = c.seat_id
+            LEFT JOIN floors f ON f.id = s.floor_id
+            """;
+
+    private static final RowMapper<SeatClaim> SEAT_CLAIM_MAPPER = (rs, rowNum) -> new SeatClaim(
+            new BookingResponseDto(
+                    rs.getLong("id"),
+                    rs.getObject("date", LocalDate.class),
+                    BookingStatus.ACTIVE.name(),
+                    rs.getLong("user_id"),
+                    rs.getLong("seat_id"),
+                    rs.getString("seat_number"),
+                    rs.getObject("floor_number", Integer.class),
+                    rs.getString("floor_name")
+            ),
+            rs.getObject("floor_id", Long.class)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BookingRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<LocalDate, Long> insertActiveBookings(Long userId, Long seatId, List<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return Map.of();
+        }
+        Map<LocalDate, Long> ids = new HashMap<>();
+        jdbcTemplate.query(INSERT_ACTIVE_BOOKINGS, ps -> {
+            ps.setLong(1, userId);
+            ps.setLong(2, seatId);
+            ps.setArray(3, ps.getConnection().createArrayOf("date", dates.stream().map(Date::valueOf).toArray()));
+        }, rs -> {
+            ids.put(rs.getObject("date", LocalDate.class), rs.getLong("id"));
+        });
+        return ids;
+    }
+
+    @Override
+    public Optional<SeatClaim> claimSeat(Long userId, Long seatId, LocalDate date) {
+        List<SeatClaim> claims = jdbcTemplate.query(CLAIM_SEAT, SEAT_CLAIM_MAPPER, date, userId, seatId);
+        return claims.stream().findFirst();
+    }
+
+    @Override
+    public List<SeatClaim> claimSeats(LocalDate date, List<Long> userIds, List<Long> seatIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(CLAIM_SEATS, ps -> {
+            ps.setObject(1, date);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", userIds.toArray()));
+            ps.setArray(3, ps.getConnection().createArrayOf("bigint", seatIds.toArray()));
+        }, SEAT_CLAIM_MAPPER);
+    }
+}
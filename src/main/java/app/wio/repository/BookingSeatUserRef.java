@@ -0,0 +1,9 @@
+package app.wio.repository;
+
+import app.wio.entity.BookingStatus;
+
+public interface BookingSeatUserRef {
+    Long getSeatId();
+    Long getUserId();
+    BookingStatus getStatus();
+}
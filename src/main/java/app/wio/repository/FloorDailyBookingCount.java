@@ -0,0 +1,9 @@
+package app.wio.repository;
+
+import java.time.LocalDate;
+
+public interface FloorDailyBookingCount {
+    Long getFloorId();
+    LocalDate getDate();
+    Long getBooked();
+}
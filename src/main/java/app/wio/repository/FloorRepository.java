@@ -2,11 +2,17 @@ package app.wio.repository;
 
 import app.wio.entity.Floor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface FloorRepository extends JpaRepository<Floor, Long> {
     List<Floor> findByCompanyId(Long companyId);
-}
\ No newline at end of file
+
+    @Query("SELECT f.id FROM Floor f WHERE f.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,7 @@
+package app.wio.repository;
+
+public interface FloorSeatCount {
+    Long getFloorId();
+    Long getTotalSeats();
+    Long getBookableSeats();
+}
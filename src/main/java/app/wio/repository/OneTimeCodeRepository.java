@@ -2,9 +2,13 @@ package app.wio.repository;
 
 import app.wio.entity.OneTimeCode;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,5 +16,15 @@ public interface OneTimeCodeRepository extends JpaRepository<OneTimeCode, Long>
 
     Optional<OneTimeCode> findByCode(String code);
 
-    void deleteByExpiryDateBefore(LocalDateTime now);
+    List<OneTimeCode> findByCompanyIdAndExpiryDateAfter(Long companyId, LocalDateTime now);
+
+    // Atomic check-and-increment; returns 0 when the code is gone or has reached maxUses.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE OneTimeCode c
+        SET c.usedCount = c.usedCount + 1
+        WHERE c.id = :id
+          AND (c.maxUses IS NULL OR c.usedCount < c.maxUses)
+    """)
+    int incrementUsedCount(@Param("id") Long id);
 }
@@ -0,0 +1,14 @@
+package app.wio.repository;
+
+import app.wio.entity.MailStatus;
+import app.wio.entity.QueuedMail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QueuedMailRepository extends JpaRepository<QueuedMail, Long> {
+
+    List<QueuedMail> findByStatus(MailStatus status);
+}
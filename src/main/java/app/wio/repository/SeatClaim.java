@@ -0,0 +1,12 @@
+package app.wio.repository;
+
+import app.wio.dto.response.BookingResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SeatClaim {
+    private final BookingResponseDto booking;
+    private final Long floorId;
+}
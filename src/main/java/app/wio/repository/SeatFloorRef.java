@@ -0,0 +1,6 @@
+package app.wio.repository;
+
+public interface SeatFloorRef {
+    Long getId();
+    Long getFloorId();
+}
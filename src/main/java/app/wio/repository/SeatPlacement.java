@@ -0,0 +1,6 @@
+package app.wio.repository;
+
+public interface SeatPlacement {
+    Long getFloorId();
+    Long getCompanyId();
+}
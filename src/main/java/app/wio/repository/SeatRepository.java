@@ -2,12 +2,44 @@ package app.wio.repository;
 
 import app.wio.entity.Seat;
 import app.wio.entity.SeatStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface SeatRepository extends JpaRepository<Seat, Long> {
+public interface SeatRepository extends JpaRepository<Seat, Long>, SeatRepositoryCustom {
     List<Seat> findByFloorId(Long floorId);
+    @EntityGraph("Seat.withFloor")
+    Optional<Seat> findWithFloorById(Long id);
     List<Seat> findByFloorIdAndStatus(Long floorId, SeatStatus status);
-}
\ No newline at end of file
+
+    @Query("""
+        SELECT s.id AS id, s.floor.id AS floorId
+        FROM Seat s
+        WHERE s.id IN :ids
+    """)
+    List<SeatFloorRef> findFloorRefsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+        SELECT s.floor.id AS floorId, s.floor.company.id AS companyId
+        FROM Seat s
+        WHERE s.id = :id
+    """)
+    Optional<SeatPlacement> findPlacementById(@Param("id") Long id);
+
+    @Query("""
+        SELECT s.floor.id AS floorId,
+               COUNT(s) AS totalSeats,
+               SUM(CASE WHEN s.status = 'AVAILABLE' THEN 1 ELSE 0 END) AS bookableSeats
+        FROM Seat s
+        WHERE s.floor.company.id = :companyId
+        GROUP BY s.floor.id
+    """)
+    List<FloorSeatCount> countSeatsByCompanyId(@Param("companyId") Long companyId);
+}
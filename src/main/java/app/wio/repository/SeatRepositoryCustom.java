@@ -0,0 +1,14 @@
+package app.wio.repository;
+
+import app.wio.dto.SeatDto;
+
+import java.util.List;
+
+public interface SeatRepositoryCustom {
+
+    // Inserts the seats with JDBC batches; returns the generated IDs in input order.
+    List<Long> insertSeats(List<SeatDto> seats);
+
+    // Updates the seats by ID with JDBC batches; returns the affected row count per seat.
+    int[] updateSeats(List<SeatDto> seats);
+}
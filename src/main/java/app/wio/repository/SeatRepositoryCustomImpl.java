@@ -0,0 +1,141 @@
+package app.wio.repository;
+
+import app.wio.dto.SeatDto;
+import app.wio.entity.Floor;
+import app.wio.entity.Seat;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class SeatRepositoryCustomImpl implements SeatRepositoryCustom {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SEAT = """
+            INSERT INTO seats (seat_number, x_coordinate, y_coordinate, status, angle, floor_id, version)
+            VALUES (?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    // version is bumped so entities loaded before the import still fail their optimistic check
+    private static final String UPDATE_SEAT = """
+            UPDATE seats
+            SET seat_number = ?, x_coordinate = ?, y_coordinate = ?, status = ?, angle = ?,
+                version = COALESCE(version, 0) + 1
+            WHERE id = ?
+            """;
+
+    private static final String FLOOR_SEATS_ROLE = Floor.class.getName() + ".seats";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public SeatRepositoryCustomImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public List<Long> insertSeats(List<SeatDto> seats) {
+        List<Long> ids = new ArrayList<>(seats.size());
+        for (int from = 0; from < seats.size(); from += BATCH_SIZE) {
+            List<SeatDto> chunk = seats.subList(from, Math.min(from + BATCH_SIZE, seats.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_SEAT, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            SeatDto seat = chunk.get(i);
+                            setSeatColumns(ps, seat);
+                            ps.setLong(6, seat.getFloorId());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keyHolder
+            );
+            keyHolder.getKeyList().forEach(keys -> ids.add(((Number) keys.get("id")).longValue()));
+        }
+        Set<Long> floorIds = seats.stream().map(SeatDto::getFloorId).collect(Collectors.toSet());
+        evictFromSecondLevelCache(List.of(), floorIds);
+        return ids;
+    }
+
+    @Override
+    public int[] updateSeats(List<SeatDto> seats) {
+        int[] counts = new int[seats.size()];
+        for (int from = 0; from < seats.size(); from += BATCH_SIZE) {
+            List<SeatDto> chunk = seats.subList(from, Math.min(from + BATCH_SIZE, seats.size()));
+            int[] chunkCounts = jdbcTemplate.batchUpdate(UPDATE_SEAT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    SeatDto seat = chunk.get(i);
+                    setSeatColumns(ps, seat);
+                    ps.setLong(6, seat.getId());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            });
+            System.arraycopy(chunkCounts, 0, counts, from, chunkCounts.length);
+        }
+        evictFromSecondLevelCache(seats.stream().map(SeatDto::getId).toList(), List.of());
+        return counts;
+    }
+
+    // These batches bypass Hibernate, so the cached seats and Floor.seats collections are dropped by hand:
+    // once now, and once more after commit in case another transaction re-cached the old rows meanwhile.
+    private void evictFromSecondLevelCache(Collection<Long> seatIds, Collection<Long> floorIds) {
+        if (seatIds.isEmpty() && floorIds.isEmpty()) {
+            return;
+        }
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Runnable eviction = () -> {
+            seatIds.forEach(id -> cache.evictEntityData(Seat.class, id));
+            floorIds.forEach(id -> cache.evictCollectionData(FLOOR_SEATS_ROLE, id));
+        };
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private static void setSeatColumns(PreparedStatement ps, SeatDto seat) throws SQLException {
+        ps.setString(1, seat.getSeatNumber());
+        ps.setDouble(2, seat.getXCoordinate());
+        ps.setDouble(3, seat.getYCoordinate());
+        ps.setString(4, seat.getStatus() != null ? seat.getStatus().name() : null);
+        if (seat.getAngle() != null) {
+            ps.setInt(5, seat.getAngle());
+        } else {
+            ps.setNull(5, Types.INTEGER);
+        }
+    }
+}
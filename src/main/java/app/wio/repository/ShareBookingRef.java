@@ -0,0 +1,6 @@
+package app.wio.repository;
+
+public interface ShareBookingRef {
+    Long getShareId();
+    Long getBookingId();
+}
@@ -2,9 +2,21 @@ package app.wio.repository;
 
 import app.wio.entity.ShareBooking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ShareBookingRepository extends JpaRepository<ShareBooking, Long> {
 
-}
\ No newline at end of file
+    @Query("""
+        SELECT sb.share.id AS shareId, sb.booking.id AS bookingId
+        FROM ShareBooking sb
+        WHERE sb.share.id IN :shareIds
+        ORDER BY sb.id
+    """)
+    List<ShareBookingRef> findBookingRefsByShareIdIn(@Param("shareIds") Collection<Long> shareIds);
+}
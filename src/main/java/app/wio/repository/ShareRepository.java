@@ -1,11 +1,22 @@
 package app.wio.repository;
 
 import app.wio.entity.Share;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ShareRepository extends JpaRepository<Share, Long> {
+public interface ShareRepository extends JpaRepository<Share, Long>, ShareRepositoryCustom {
     List<Share> findByRecipientIdOrderByCreatedAtDesc(Long recipientId);
-}
\ No newline at end of file
+
+    @EntityGraph("Share.withShareBookings")
+    Optional<Share> findWithShareBookingsById(Long id);
+
+    Slice<Share> findByRecipientId(Long recipientId, Pageable pageable);
+
+    long countByRecipientIdAndReadAtIsNull(Long recipientId);
+}
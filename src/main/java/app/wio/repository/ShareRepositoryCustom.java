@@ -0,0 +1,15 @@
+package app.wio.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ShareRepositoryCustom {
+
+    // Inserts one share per recipient with a JDBC batch; returns the generated IDs in recipient order.
+    List<Long> insertShares(Long senderId, List<Long> recipientIds, String message,
+                            LocalDateTime createdAt, LocalDate maxBookingDate);
+
+    // Links every share to every booking with a JDBC batch.
+    void insertShareBookings(List<Long> shareIds, List<Long> bookingIds);
+}
@@ -0,0 +1,83 @@
+package app.wio.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ShareRepositoryCustomImpl implements ShareRepositoryCustom {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SHARE = """
+            INSERT INTO shares (sender_id, recipient_id, message, created_at, read_at, max_booking_date)
+            VALUES (?, ?, ?, ?, NULL, ?)
+            """;
+
+    private static final String INSERT_SHARE_BOOKING = """
+            INSERT INTO share_bookings (share_id, booking_id)
+            VALUES (?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ShareRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> insertShares(Long senderId, List<Long> recipientIds, String message,
+                                   LocalDateTime createdAt, LocalDate maxBookingDate) {
+        List<Long> ids = new ArrayList<>(recipientIds.size());
+        for (int from = 0; from < recipientIds.size(); from += BATCH_SIZE) {
+            List<Long> chunk = recipientIds.subList(from, Math.min(from + BATCH_SIZE, recipientIds.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_SHARE, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ps.setLong(1, senderId);
+                            ps.setLong(2, chunk.get(i));
+                            ps.setString(3, message);
+                            ps.setTimestamp(4, Timestamp.valueOf(createdAt));
+                            ps.setDate(5, maxBookingDate != null ? Date.valueOf(maxBookingDate) : null);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keyHolder
+            );
+            keyHolder.getKeyList().forEach(keys -> ids.add(((Number) keys.get("id")).longValue()));
+        }
+        return ids;
+    }
+
+    @Override
+    public void insertShareBookings(List<Long> shareIds, List<Long> bookingIds) {
+        List<long[]> rows = new ArrayList<>(shareIds.size() * bookingIds.size());
+        for (Long shareId : shareIds) {
+            for (Long bookingId : bookingIds) {
+                rows.add(new long[]{shareId, bookingId});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SHARE_BOOKING, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row[0]);
+            ps.setLong(2, row[1]);
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package app.wio.repository;
+
+public interface UserContact {
+    Long getId();
+    String getName();
+    String getEmail();
+}
@@ -1,9 +1,14 @@
 package app.wio.repository;
 
 import app.wio.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,5 +16,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    @EntityGraph("User.withCompany")
+    Optional<User> findWithCompanyByEmail(String email);
+
+    @EntityGraph("User.withCompany")
+    Optional<User> findWithCompanyById(Long id);
+
+    @Override
+    @EntityGraph("User.withCompany")
+    List<User> findAll();
+
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.id AS id, u.name AS name, u.email AS email FROM User u WHERE u.id IN :ids")
+    List<UserContact> findContactsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion FROM User u WHERE u.tokenVersion > 0")
+    List<UserTokenVersion> findRevokedTokenVersions();
 }
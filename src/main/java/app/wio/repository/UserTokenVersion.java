@@ -0,0 +1,6 @@
+package app.wio.repository;
+
+public interface UserTokenVersion {
+    Long getId();
+    int getTokenVersion();
+}
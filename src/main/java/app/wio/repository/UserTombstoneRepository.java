@@ -0,0 +1,23 @@
+package app.wio.repository;
+
+import app.wio.entity.UserTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UserTombstoneRepository extends JpaRepository<UserTombstone, Long> {
+
+    @Query("SELECT t.userId FROM UserTombstone t")
+    List<Long> findAllUserIds();
+
+    // Tokens of users deleted before the cutoff have all expired, so their tombstones are no longer needed.
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UserTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,25 +1,25 @@
 package app.wio.security;
 
-import app.wio.service.CustomUserDetailsService;
-import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.*;
 import java.io.IOException;
+import java.util.Optional;
 
+// Stateless: the principal comes from the verified claims, revocation from the in-memory version cache.
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider tokenProvider;
-    private final CustomUserDetailsService customUserDetailsService;
+    private final TokenVersionCache tokenVersionCache;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, CustomUserDetailsService customUserDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, TokenVersionCache tokenVersionCache) {
         this.tokenProvider = tokenProvider;
-        this.customUserDetailsService = customUserDetailsService;
+        this.tokenVersionCache = tokenVersionCache;
     }
 
     @Override
@@ -27,9 +27,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = getJWTfromRequest(request);
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromJWT(jwt);
-                var userDetails = customUserDetailsService.loadUserById(userId);
+            Optional<Claims> claims = StringUtils.hasText(jwt) ? tokenProvider.parseValidClaims(jwt) : Optional.empty();
+            CustomUserDetails userDetails = claims.map(tokenProvider::toUserDetails).orElse(null);
+            if (userDetails != null
+                    && userDetails.isEnabled()
+                    && tokenVersionCache.isCurrent(userDetails.getId(), tokenProvider.getTokenVersion(claims.get()))) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -37,10 +39,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             } else {
                 SecurityContextHolder.clearContext();
             }
-        } catch (UsernameNotFoundException ex) {
-            SecurityContextHolder.clearContext();
-        } catch (JwtException ex) {
-            SecurityContextHolder.clearContext();
         } catch (Exception ex) {
             SecurityContextHolder.clearContext();
         }
@@ -54,4 +52,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-}
\ No newline at end of file
+}
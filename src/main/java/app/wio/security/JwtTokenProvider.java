@@ -5,16 +5,25 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.security.Key;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtTokenProvider {
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
+    static final String ROLE_CLAIM = "role";
+    static final String EMAIL_CLAIM = "email";
+    static final String ENABLED_CLAIM = "enabled";
+    static final String VERSION_CLAIM = "ver";
+
     private final Key key;
+    private final JwtParser parser;
     private final long jwtExpirationInMs;
 
     public JwtTokenProvider(
@@ -22,6 +31,8 @@ public class JwtTokenProvider {
             @Value("${app.jwt.expiration-milliseconds}") long jwtExpirationInMs
     ) {
         this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        // the parser is immutable and thread-safe, so one instance serves every request
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
         this.jwtExpirationInMs = jwtExpirationInMs;
     }
 
@@ -30,32 +41,51 @@ public class JwtTokenProvider {
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
         return Jwts.builder()
                 .setSubject(Long.toString(user.getId()))
-                .claim("role", user.getRole().name())
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .claim(EMAIL_CLAIM, user.getEmail())
+                .claim(ENABLED_CLAIM, user.isEnabled())
+                .claim(VERSION_CLAIM, user.getTokenVersion())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    // Verifies signature and expiry once; empty when the token is malformed, expired or badly signed.
+    public Optional<Claims> parseValidClaims(String token) {
+        try {
+            return Optional.of(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException ex) {
+            logger.error("Invalid JWT token: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // Builds the principal from the claims alone. Tokens issued before the enabled/ver claims existed
+    // count as enabled and version 0.
+    public CustomUserDetails toUserDetails(Claims claims) {
+        Boolean enabled = claims.get(ENABLED_CLAIM, Boolean.class);
+        String email = claims.get(EMAIL_CLAIM, String.class);
+        return new CustomUserDetails(
+                Long.parseLong(claims.getSubject()),
+                email != null ? email : claims.getSubject(),
+                null,
+                enabled == null || enabled,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + claims.get(ROLE_CLAIM, String.class)))
+        );
+    }
+
+    public int getTokenVersion(Claims claims) {
+        Integer version = claims.get(VERSION_CLAIM, Integer.class);
+        return version != null ? version : 0;
+    }
+
     public Long getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parser.parseClaimsJws(token).getBody();
         return Long.parseLong(claims.getSubject());
     }
 
     public boolean validateToken(String authToken) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException ex) {
-            logger.error("Invalid JWT token: {}", ex.getMessage());
-        }
-        return false;
+        return parseValidClaims(authToken).isPresent();
     }
-}
\ No newline at end of file
+}
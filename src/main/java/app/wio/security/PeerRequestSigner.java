@@ -0,0 +1,79 @@
+package app.wio.security;
+
+import app.wio.service.CompanyRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// Authenticates requests one cluster node sends to another. The sender names itself, stamps the time and
+// signs both with the shared cluster secret together with the parts of the request that matter; the
+// receiver accepts the request only from a configured node and only within maxSkew of the stamp.
+@Component
+public class PeerRequestSigner {
+
+    public static final String PEER_HEADER = "X-WIO-Forwarded-By";
+    public static final String TIMESTAMP_HEADER = "X-WIO-Forwarded-At";
+    public static final String SIGNATURE_HEADER = "X-WIO-Signature";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final CompanyRouter companyRouter;
+    private final SecretKeySpec key;
+    private final long maxSkewMillis;
+
+    @Autowired
+    public PeerRequestSigner(
+            CompanyRouter companyRouter,
+            @Value("${app.cluster.secret:${app.jwt.secret}}") String secret,
+            @Value("${app.cluster.signature-max-skew-seconds:60}") long maxSkewSeconds
+    ) {
+        this.companyRouter = companyRouter;
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.maxSkewMillis = TimeUnit.SECONDS.toMillis(maxSkewSeconds);
+    }
+
+    public String sign(long timestamp, String... parts) {
+        return sign(companyRouter.getSelfUrl(), timestamp, parts);
+    }
+
+    public boolean verify(String peer, String timestamp, String signature, String... parts) {
+        if (peer == null || timestamp == null || signature == null || !companyRouter.getNodeUrls().contains(peer)) {
+            return false;
+        }
+        long stampedAt;
+        try {
+            stampedAt = Long.parseLong(timestamp);
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+        if (Math.abs(System.currentTimeMillis() - stampedAt) > maxSkewMillis) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                sign(peer, stampedAt, parts).getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String sign(String peer, long timestamp, String... parts) {
+        StringBuilder payload = new StringBuilder(peer).append('\n').append(timestamp);
+        for (String part : parts) {
+            payload.append('\n').append(part == null ? "" : part);
+        }
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(payload.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available.", e);
+        }
+    }
+}
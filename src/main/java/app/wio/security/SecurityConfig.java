@@ -1,7 +1,7 @@
 package app.wio.security;
 
-import app.wio.service.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,25 +21,25 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
     private final JwtAuthenticationEntryPoint unauthorizedHandler;
     private final CustomAccessDeniedHandler accessDeniedHandler;
-    private final CustomUserDetailsService customUserDetailsService;
+    private final TokenVersionCache tokenVersionCache;
     private final JwtTokenProvider tokenProvider;
 
     @Autowired
     public SecurityConfig(
             JwtAuthenticationEntryPoint unauthorizedHandler,
             CustomAccessDeniedHandler accessDeniedHandler,
-            CustomUserDetailsService customUserDetailsService,
+            TokenVersionCache tokenVersionCache,
             JwtTokenProvider tokenProvider
     ) {
         this.unauthorizedHandler = unauthorizedHandler;
         this.accessDeniedHandler = accessDeniedHandler;
-        this.customUserDetailsService = customUserDetailsService;
+        this.tokenVersionCache = tokenVersionCache;
         this.tokenProvider = tokenProvider;
     }
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(tokenProvider, customUserDetailsService);
+        return new JwtAuthenticationFilter(tokenProvider, tokenVersionCache);
     }
 
     @Bean
@@ -49,8 +49,8 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -78,6 +78,8 @@ public class SecurityConfig {
 
                         .requestMatchers("/api/companies/create").permitAll()
                         .requestMatchers("/api/users/register", "/api/users/login").permitAll()
+                        // authenticated by the peer signature instead of a user token
+                        .requestMatchers("/api/cluster/**").permitAll()
                         .anyRequest().authenticated()
                 );
 
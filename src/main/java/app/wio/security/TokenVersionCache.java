@@ -0,0 +1,71 @@
+package app.wio.security;
+
+import app.wio.event.UserTokensRevokedEvent;
+import app.wio.repository.UserRepository;
+import app.wio.repository.UserTokenVersion;
+import app.wio.repository.UserTombstoneRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Minimum accepted token version per user. Only users whose tokens were ever revoked have an entry, so
+// the map stays small and the filter needs no database lookup. Deleted users are pinned to MAX_VALUE.
+@Component
+public class TokenVersionCache {
+
+    private final UserRepository userRepository;
+    private final UserTombstoneRepository userTombstoneRepository;
+    private final long tokenLifetimeMillis;
+    private final ConcurrentMap<Long, Integer> minimumVersions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenVersionCache(
+            UserRepository userRepository,
+            UserTombstoneRepository userTombstoneRepository,
+            @Value("${app.jwt.expiration-milliseconds}") long tokenLifetimeMillis
+    ) {
+        this.userRepository = userRepository;
+        this.userTombstoneRepository = userTombstoneRepository;
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Integer minimum = minimumVersions.get(userId);
+        return minimum == null || tokenVersion >= minimum;
+    }
+
+    public void revokeBefore(Long userId, int version) {
+        minimumVersions.merge(userId, version, Math::max);
+    }
+
+    public void revokeAll(Long userId) {
+        revokeBefore(userId, Integer.MAX_VALUE);
+    }
+
+    // Applied after commit so a rolled-back password change cannot lock the user out.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserTokensRevoked(UserTokensRevokedEvent event) {
+        revokeBefore(event.getUserId(), event.getMinimumTokenVersion());
+    }
+
+    // Picks up revocations made on other nodes and restores the map after a restart. Deleted users are
+    // read from their tombstones, which are dropped once every token issued before the deletion has expired.
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-refresh-ms:30000}")
+    public void refresh() {
+        for (UserTokenVersion row : userRepository.findRevokedTokenVersions()) {
+            revokeBefore(row.getId(), row.getTokenVersion());
+        }
+        for (Long userId : userTombstoneRepository.findAllUserIds()) {
+            revokeAll(userId);
+        }
+        userTombstoneRepository.deleteDeletedBefore(
+                LocalDateTime.now().minus(Duration.ofMillis(tokenLifetimeMillis)));
+    }
+}
@@ -0,0 +1,164 @@
+package app.wio.service;
+
+import app.wio.exception.ForwardingFailedException;
+import app.wio.security.PeerRequestSigner;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.Optional;
+
+// Sends seat writes (bookings and holds) for companies owned by another node to that node and relays its
+// answer unchanged. Only a request that certainly never reached the owner (connection refused, unknown
+// host) is handled locally; once it may have been delivered the outcome is unknown, and handling it here
+// as well would race the owner's own attempt, so the caller gets a 504 instead.
+@Service
+public class BookingForwarder {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingForwarder.class);
+
+    private final CompanyRouter companyRouter;
+    private final SeatPlacementCache seatPlacementCache;
+    private final PeerRequestSigner peerRequestSigner;
+    private final RestClient restClient;
+
+    private final Counter forwarded;
+    private final Counter failed;
+    private final Counter unknown;
+    private final Counter untrusted;
+
+    @Autowired
+    public BookingForwarder(
+            CompanyRouter companyRouter,
+            SeatPlacementCache seatPlacementCache,
+            PeerRequestSigner peerRequestSigner,
+            RestClient.Builder restClientBuilder,
+            MeterRegistry meterRegistry,
+            @Value("${app.cluster.connect-timeout-ms:1000}") int connectTimeoutMillis,
+            @Value("${app.cluster.forward-timeout-ms:15000}") int timeoutMillis,
+            @Value("${app.booking.sequencer.timeout-ms:10000}") long sequencerTimeoutMillis
+    ) {
+        // the owner may queue a booking for up to its sequencer timeout before answering
+        if (timeoutMillis <= sequencerTimeoutMillis) {
+            throw new IllegalStateException("app.cluster.forward-timeout-ms (" + timeoutMillis
+                    + ") must exceed app.booking.sequencer.timeout-ms (" + sequencerTimeoutMillis + ").");
+        }
+        this.companyRouter = companyRouter;
+        this.seatPlacementCache = seatPlacementCache;
+        this.peerRequestSigner = peerRequestSigner;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMillis);
+        requestFactory.setReadTimeout(timeoutMillis);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.forwarded = meterRegistry.counter("wio.booking.forwarded", "result", "ok");
+        this.failed = meterRegistry.counter("wio.booking.forwarded", "result", "failed");
+        this.unknown = meterRegistry.counter("wio.booking.forwarded", "result", "unknown");
+        this.untrusted = meterRegistry.counter("wio.booking.forwarded", "result", "untrusted");
+    }
+
+    // Empty when this node owns the seat's company (or the seat is unknown), or the request was forwarded
+    // here by a peer, and this node should handle it.
+    public Optional<ResponseEntity<byte[]>> forwardIfRemote(Long seatId, Object body, HttpServletRequest request) {
+        if (!companyRouter.isClustered() || seatId == null || isForwardedByPeer(request)) {
+            return Optional.empty();
+        }
+        Long companyId = seatPlacementCache.get(seatId).map(SeatPlacementCache.Placement::companyId).orElse(null);
+        if (companyRouter.isOwnedLocally(companyId)) {
+            return Optional.empty();
+        }
+        String owner = companyRouter.ownerOf(companyId);
+        String method = request.getMethod();
+        String uri = requestUri(request);
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        long timestamp = System.currentTimeMillis();
+        try {
+            RestClient.RequestBodySpec spec = restClient.method(HttpMethod.valueOf(method))
+                    .uri(owner + uri)
+                    .headers(headers -> {
+                        if (authorization != null) {
+                            headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                        }
+                        headers.set(PeerRequestSigner.PEER_HEADER, companyRouter.getSelfUrl());
+                        headers.set(PeerRequestSigner.TIMESTAMP_HEADER, Long.toString(timestamp));
+                        headers.set(PeerRequestSigner.SIGNATURE_HEADER,
+                                peerRequestSigner.sign(timestamp, method, uri, authorization));
+                    });
+            if (body != null) {
+                spec.contentType(MediaType.APPLICATION_JSON).body(body);
+            }
+            ResponseEntity<byte[]> response = spec.exchange((req, remote) -> {
+                ResponseEntity.BodyBuilder relayed = ResponseEntity.status(remote.getStatusCode());
+                MediaType contentType = remote.getHeaders().getContentType();
+                if (contentType != null) {
+                    relayed.contentType(contentType);
+                }
+                return relayed.body(remote.getBody().readAllBytes());
+            });
+            forwarded.increment();
+            return Optional.of(response);
+        } catch (ResourceAccessException ex) {
+            if (!neverDelivered(ex)) {
+                throw unknownOutcome(uri, owner, ex);
+            }
+            logger.warn("Forwarding {} to {} failed, handling it locally: {}", uri, owner, ex.getMessage());
+            failed.increment();
+            return Optional.empty();
+        } catch (RestClientException ex) {
+            throw unknownOutcome(uri, owner, ex);
+        }
+    }
+
+    // The peer header is honored only with a valid signature from a configured node; a client that sets
+    // it itself is routed like any other client.
+    private boolean isForwardedByPeer(HttpServletRequest request) {
+        String peer = request.getHeader(PeerRequestSigner.PEER_HEADER);
+        if (peer == null) {
+            return false;
+        }
+        boolean trusted = peerRequestSigner.verify(peer,
+                request.getHeader(PeerRequestSigner.TIMESTAMP_HEADER),
+                request.getHeader(PeerRequestSigner.SIGNATURE_HEADER),
+                request.getMethod(), requestUri(request), request.getHeader(HttpHeaders.AUTHORIZATION));
+        if (!trusted) {
+            logger.warn("Ignoring unsigned or invalid {} header ({}) on {}", PeerRequestSigner.PEER_HEADER, peer,
+                    request.getRequestURI());
+            untrusted.increment();
+        }
+        return trusted;
+    }
+
+    private ForwardingFailedException unknownOutcome(String uri, String owner, RestClientException ex) {
+        logger.warn("Forwarding {} to {} failed after it may have been delivered: {}", uri, owner, ex.getMessage());
+        unknown.increment();
+        return new ForwardingFailedException(
+                "The node that handles this seat did not answer in time; the request may still have been applied.", ex);
+    }
+
+    private static boolean neverDelivered(ResourceAccessException ex) {
+        Throwable cause = ex.getMostSpecificCause();
+        return cause instanceof ConnectException
+                || cause instanceof NoRouteToHostException
+                || cause instanceof UnknownHostException;
+    }
+
+    private static String requestUri(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+    }
+}
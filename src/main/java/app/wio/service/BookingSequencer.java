@@ -0,0 +1,559 @@
+package app.wio.service;
+
+import app.wio.dto.request.BookingRequestDto;
+import app.wio.dto.response.BookingResponseDto;
+import app.wio.entity.BookingStatus;
+import app.wio.event.BookingCancelledEvent;
+import app.wio.event.BookingCreatedEvent;
+import app.wio.event.SeatLayoutChangedEvent;
+import app.wio.exception.*;
+import app.wio.repository.BookingRepository;
+import app.wio.repository.BookingSeatUserRef;
+import app.wio.repository.SeatClaim;
+import app.wio.repository.SeatRepository;
+import app.wio.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Single writer per (floor, date). Booking commands are queued on a lock-free lane and drained by one
+// consumer at a time. The lane keeps the floor's booked seats and booking users for that day in memory,
+// loaded once and kept current from committed events, so the consumer rejects losers without touching
+// the database and commits the rest with one multi-row claim. Everything that queued up while the
+// previous batch was committing forms the next batch. The database constraints still decide every claim.
+@Service
+public class BookingSequencer {
+
+    private final BookingRepository bookingRepository;
+    private final SeatRepository seatRepository;
+    private final UserRepository userRepository;
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final SeatHoldService seatHoldService;
+    private final SeatPlacementCache seatPlacementCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor consumers;
+    private final ConcurrentMap<LaneKey, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final int batchSize;
+    private final int maxPending;
+    private final long timeoutMillis;
+    private final long stateTtlNanos;
+    private final long laneIdleNanos;
+
+    private final DistributionSummary batchSizes;
+    private final Counter rejectedInMemory;
+    private final Counter stateLoads;
+    private final Counter busy;
+
+    @Autowired
+    public BookingSequencer(
+            BookingRepository bookingRepository,
+            SeatRepository seatRepository,
+            UserRepository userRepository,
+            SeatAvailabilityIndex availabilityIndex,
+            SeatHoldService seatHoldService,
+            SeatPlacementCache seatPlacementCache,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.booking.sequencer.threads:4}") int threads,
+            @Value("${app.booking.sequencer.batch-size:100}") int batchSize,
+            @Value("${app.booking.sequencer.max-pending:10000}") int maxPending,
+            @Value("${app.booking.sequencer.timeout-ms:10000}") long timeoutMillis,
+            @Value("${app.booking.sequencer.state-ttl-ms:5000}") long stateTtlMillis,
+            @Value("${app.booking.sequencer.lane-idle-ms:60000}") long laneIdleMillis
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.seatRepository = seatRepository;
+        this.userRepository = userRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.seatHoldService = seatHoldService;
+        this.seatPlacementCache = seatPlacementCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.timeoutMillis = timeoutMillis;
+        this.stateTtlNanos = TimeUnit.MILLISECONDS.toNanos(stateTtlMillis);
+        this.laneIdleNanos = TimeUnit.MILLISECONDS.toNanos(laneIdleMillis);
+        this.consumers = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new SequencerThreadFactory()
+        );
+        this.batchSizes = DistributionSummary.builder("wio.booking.sequencer.batch.size")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejectedInMemory = meterRegistry.counter("wio.booking.sequencer.rejected.in.memory");
+        this.stateLoads = meterRegistry.counter("wio.booking.sequencer.state.loads");
+        this.busy = meterRegistry.counter("wio.booking.sequencer.busy");
+        meterRegistry.gauge("wio.booking.sequencer.pending", pending);
+        meterRegistry.gauge("wio.booking.sequencer.lanes", lanes, Map::size);
+    }
+
+    // Blocking variant for request threads. A caller that already runs a transaction claims inline, so
+    // the booking sees (and commits or rolls back with) the caller's own writes.
+    public BookingResponseDto claim(BookingRequestDto dto) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return claimInline(dto);
+        }
+        Command command = enqueue(dto);
+        try {
+            return command.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            if (command.abandon()) {
+                busy.increment();
+                throw new BookingQueueBusyException("Too many concurrent bookings for this floor, please retry shortly.");
+            }
+            // already part of a batch that is committing; its outcome is the answer
+            return awaitTaken(command.result);
+        } catch (InterruptedException ex) {
+            if (command.abandon()) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a booking.", ex);
+            }
+            try {
+                return awaitTaken(command.result);
+            } finally {
+                Thread.currentThread().interrupt();
+            }
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    public CompletableFuture<BookingResponseDto> submit(BookingRequestDto dto) {
+        return enqueue(dto).result;
+    }
+
+    private Command enqueue(BookingRequestDto dto) {
+        Long floorId = seatPlacementCache.get(dto.getSeatId())
+                .map(SeatPlacementCache.Placement::floorId)
+                .orElse(null);
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            busy.increment();
+            throw new BookingQueueBusyException("Too many concurrent bookings, please retry shortly.");
+        }
+        LaneKey key = new LaneKey(floorId, dto.getDate());
+        Command command = new Command(dto);
+        // a retired lane is about to leave the map; the next lookup creates its successor
+        while (!lanes.computeIfAbsent(key, Lane::new).offer(command)) {
+            Thread.onSpinWait();
+        }
+        return command;
+    }
+
+    private BookingResponseDto claimInline(BookingRequestDto dto) {
+        if (availabilityIndex.isKnownBooked(dto.getSeatId(), dto.getDate())) {
+            throw new SeatAlreadyBookedException("Seat is already booked on " + dto.getDate() + ".");
+        }
+        // a hold by someone else wins; the holder's own hold is released once the booking commits
+        seatHoldService.checkBookable(dto.getSeatId(), dto.getDate(), dto.getUserId());
+        // The database decides: a partial unique index allows one ACTIVE booking per seat and day,
+        // and the (user_id, date) constraint one booking per user and day. No pre-read of the seat.
+        SeatClaim claim = bookingRepository.claimSeat(dto.getUserId(), dto.getSeatId(), dto.getDate())
+                .orElseThrow(() -> rejectedClaim(dto));
+        eventPublisher.publishEvent(new BookingCreatedEvent(claim.getBooking(), claim.getFloorId()));
+        return claim.getBooking();
+    }
+
+    private RuntimeException rejectedClaim(BookingRequestDto dto) {
+        if (!seatRepository.existsById(dto.getSeatId())) {
+            return new SeatNotFoundException("Seat with ID " + dto.getSeatId() + " not found.");
+        }
+        if (!userRepository.existsById(dto.getUserId())) {
+            return new UserNotFoundException("User with ID " + dto.getUserId() + " not found.");
+        }
+        if (bookingRepository.existsByUserIdAndDate(dto.getUserId(), dto.getDate())) {
+            return new DuplicateBookingException("You have already booked a seat for this date.");
+        }
+        return new SeatAlreadyBookedException("Seat is already booked on " + dto.getDate() + ".");
+    }
+
+    // Runs on the lane's consumer only.
+    private void process(Lane lane, List<Command> batch) {
+        batchSizes.record(batch.size());
+        if (lane.key.floorId() == null) {
+            // the placement lookup found no such seat
+            for (Command command : batch) {
+                rejectedInMemory.increment();
+                command.result.completeExceptionally(
+                        new SeatNotFoundException("Seat with ID " + command.dto.getSeatId() + " not found."));
+            }
+            return;
+        }
+        lane.ensureLoaded();
+
+        List<Command> accepted = new ArrayList<>();
+        Set<Long> seats = new HashSet<>();
+        Set<Long> users = new HashSet<>();
+        for (Command command : batch) {
+            BookingRequestDto dto = command.dto;
+            try {
+                seatHoldService.checkBookable(dto.getSeatId(), dto.getDate(), dto.getUserId());
+                if (seats.contains(dto.getSeatId()) || lane.takenSeats.contains(dto.getSeatId())) {
+                    throw new SeatAlreadyBookedException("Seat is already booked on " + dto.getDate() + ".");
+                }
+                if (users.contains(dto.getUserId()) || lane.bookingUsers.contains(dto.getUserId())) {
+                    throw new DuplicateBookingException("You have already booked a seat for this date.");
+                }
+            } catch (RuntimeException ex) {
+                rejectedInMemory.increment();
+                command.result.completeExceptionally(ex);
+                continue;
+            }
+            seats.add(dto.getSeatId());
+            users.add(dto.getUserId());
+            accepted.add(command);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<SeatClaim> claims;
+        try {
+            claims = transactionTemplate.execute(status -> {
+                List<SeatClaim> inserted = bookingRepository.claimSeats(lane.key.date(),
+                        accepted.stream().map(c -> c.dto.getUserId()).toList(),
+                        accepted.stream().map(c -> c.dto.getSeatId()).toList());
+                inserted.forEach(c -> eventPublisher.publishEvent(new BookingCreatedEvent(c.getBooking(), c.getFloorId())));
+                return inserted;
+            });
+        } catch (RuntimeException ex) {
+            accepted.forEach(c -> c.result.completeExceptionally(ex));
+            return;
+        }
+
+        // users are unique within the batch, so they identify the claims
+        Map<Long, BookingResponseDto> byUser = new HashMap<>();
+        claims.forEach(c -> byUser.put(c.getBooking().getUserId(), c.getBooking()));
+        List<Command> lost = new ArrayList<>();
+        for (Command command : accepted) {
+            BookingResponseDto booking = byUser.get(command.dto.getUserId());
+            if (booking != null) {
+                lane.booked(booking.getSeatId(), booking.getUserId());
+                command.result.complete(booking);
+            } else {
+                lost.add(command);
+            }
+        }
+        if (!lost.isEmpty()) {
+            rejectLost(lane, lost);
+        }
+    }
+
+    // The database refused claims the lane state allowed, so the state missed a write made elsewhere
+    // (another node, the series endpoint). One reload and one user lookup explain the whole batch.
+    private void rejectLost(Lane lane, List<Command> lost) {
+        try {
+            lane.load();
+            Set<Long> existingUsers = new HashSet<>(userRepository.findExistingIds(
+                    lost.stream().map(c -> c.dto.getUserId()).toList()));
+            for (Command command : lost) {
+                BookingRequestDto dto = command.dto;
+                RuntimeException reason;
+                if (lane.takenSeats.contains(dto.getSeatId())) {
+                    reason = new SeatAlreadyBookedException("Seat is already booked on " + dto.getDate() + ".");
+                } else if (!existingUsers.contains(dto.getUserId())) {
+                    reason = new UserNotFoundException("User with ID " + dto.getUserId() + " not found.");
+                } else {
+                    reason = new DuplicateBookingException("You have already booked a seat for this date.");
+                }
+                command.result.completeExceptionally(reason);
+            }
+        } catch (RuntimeException ex) {
+            lost.forEach(c -> c.result.completeExceptionally(ex));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        Lane lane = lanes.get(new LaneKey(event.getFloorId(), event.getBooking().getDate()));
+        if (lane != null) {
+            lane.booked(event.getBooking().getSeatId(), event.getBooking().getUserId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        Lane lane = lanes.get(new LaneKey(event.getFloorId(), event.getBooking().getDate()));
+        if (lane != null) {
+            lane.freed(event.getBooking().getSeatId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatLayoutChanged(SeatLayoutChangedEvent event) {
+        lanes.values().stream()
+                .filter(lane -> event.getFloorId().equals(lane.key.floorId()))
+                .forEach(Lane::invalidate);
+    }
+
+    // Lanes keep their state between bursts; the ones nobody used for a while are dropped.
+    @Scheduled(fixedDelayString = "${app.booking.sequencer.sweep-interval-ms:10000}")
+    public void retireIdleLanes() {
+        long now = System.nanoTime();
+        for (Lane lane : lanes.values()) {
+            if (now - lane.lastUsed > laneIdleNanos) {
+                lane.tryRetire();
+            }
+        }
+    }
+
+    public int laneCount() {
+        return lanes.size();
+    }
+
+    // Waits for a command a consumer has already taken; its batch is committing, so the wait is short.
+    private BookingResponseDto awaitTaken(CompletableFuture<BookingResponseDto> result) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                } catch (TimeoutException ex) {
+                    throw new IllegalStateException("Timed out waiting for a booking that is being committed.", ex);
+                } catch (ExecutionException ex) {
+                    throw unwrap(ex);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException ex) {
+        if (ex.getCause() instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new IllegalStateException("Booking failed.", ex.getCause());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        consumers.shutdown();
+    }
+
+    private record LaneKey(Long floorId, LocalDate date) {
+    }
+
+    // Producers only offer to the queue. The scheduled flag admits one consumer at a time, and a lane
+    // leaves the map only while that flag is held and no producer is mid-offer, so two consumers never
+    // work on the same key.
+    private final class Lane {
+        private static final int RETIRED = -1;
+
+        private final LaneKey key;
+        private final Queue<Command> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // producers currently offering, or RETIRED once the lane may no longer accept commands
+        private final AtomicInteger producers = new AtomicInteger();
+        private volatile long lastUsed = System.nanoTime();
+
+        // booked seats and users with any booking on this floor and day; swapped whole on reload
+        private volatile Set<Long> takenSeats = ConcurrentHashMap.newKeySet();
+        private volatile Set<Long> bookingUsers = ConcurrentHashMap.newKeySet();
+        private final AtomicLong version = new AtomicLong();
+        private volatile boolean stale = true;
+        private long loadedAt;
+
+        private Lane(LaneKey key) {
+            this.key = key;
+        }
+
+        private boolean offer(Command command) {
+            int current;
+            do {
+                current = producers.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+            } while (!producers.compareAndSet(current, current + 1));
+            try {
+                lastUsed = System.nanoTime();
+                queue.offer(command);
+            } finally {
+                producers.decrementAndGet();
+            }
+            schedule();
+            return true;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                submit();
+            }
+        }
+
+        // caller holds the scheduled flag
+        private void submit() {
+            try {
+                consumers.execute(this::drainBatch);
+            } catch (RejectedExecutionException ex) {
+                failAll(new BookingQueueBusyException("Booking queue is shutting down, please retry."));
+                scheduled.set(false);
+            }
+        }
+
+        // One batch per turn, then back to the pool, so a hot lane cannot starve the others.
+        private void drainBatch() {
+            List<Command> batch = new ArrayList<>(Math.min(batchSize, 16));
+            try {
+                Command command;
+                while (batch.size() < batchSize && (command = queue.poll()) != null) {
+                    pending.decrementAndGet();
+                    if (command.take()) {
+                        batch.add(command);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    process(this, batch);
+                }
+            } catch (RuntimeException ex) {
+                // keep the lane alive; commands of the batch that already have an answer keep it
+                batch.forEach(c -> c.result.completeExceptionally(ex));
+            } finally {
+                if (!queue.isEmpty()) {
+                    submit();
+                } else {
+                    scheduled.set(false);
+                    // a producer whose schedule() lost against the flag just before it was cleared
+                    if (!queue.isEmpty()) {
+                        schedule();
+                    }
+                }
+            }
+        }
+
+        private void tryRetire() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            if (queue.isEmpty() && producers.compareAndSet(0, RETIRED)) {
+                if (queue.isEmpty()) {
+                    // the flag stays set: nothing can reach this lane any more
+                    lanes.remove(key, this);
+                    return;
+                }
+                // a producer finished its offer between the two checks
+                producers.set(0);
+            }
+            scheduled.set(false);
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void ensureLoaded() {
+            if (stale || System.nanoTime() - loadedAt > stateTtlNanos) {
+                load();
+            }
+        }
+
+        // Events that arrive while the query runs bump the version and force another round.
+        private void load() {
+            long observed;
+            do {
+                stale = false;
+                observed = version.get();
+                Set<Long> seats = ConcurrentHashMap.newKeySet();
+                Set<Long> users = ConcurrentHashMap.newKeySet();
+                for (BookingSeatUserRef row : bookingRepository.findSeatUsersByFloorIdAndDate(key.floorId(), key.date())) {
+                    if (row.getStatus() == BookingStatus.ACTIVE) {
+                        seats.add(row.getSeatId());
+                    }
+                    users.add(row.getUserId());
+                }
+                takenSeats = seats;
+                bookingUsers = users;
+                stateLoads.increment();
+            } while (version.get() != observed);
+            loadedAt = System.nanoTime();
+        }
+
+        private void booked(Long seatId, Long userId) {
+            takenSeats.add(seatId);
+            bookingUsers.add(userId);
+            version.incrementAndGet();
+        }
+
+        // the user keeps their entry: (user_id, date) stays unique for cancelled bookings too
+        private void freed(Long seatId) {
+            takenSeats.remove(seatId);
+            version.incrementAndGet();
+        }
+
+        private void invalidate() {
+            stale = true;
+            version.incrementAndGet();
+        }
+
+        private void failAll(RuntimeException ex) {
+            Command command;
+            while ((command = queue.poll()) != null) {
+                pending.decrementAndGet();
+                command.result.completeExceptionally(ex);
+            }
+        }
+    }
+
+    private static final class Command {
+        private static final int QUEUED = 0;
+        private static final int TAKEN = 1;
+        private static final int ABANDONED = 2;
+
+        private final BookingRequestDto dto;
+        private final CompletableFuture<BookingResponseDto> result = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        private Command(BookingRequestDto dto) {
+            this.dto = dto;
+        }
+
+        // consumer side: false when the caller gave up waiting
+        private boolean take() {
+            return state.compareAndSet(QUEUED, TAKEN);
+        }
+
+        // caller side: false when the command is already in a batch
+        private boolean abandon() {
+            return state.compareAndSet(QUEUED, ABANDONED);
+        }
+    }
+
+    private static final class SequencerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "booking-sequencer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
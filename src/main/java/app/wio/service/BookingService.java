@@ -1,38 +1,67 @@
 package app.wio.service;
 
 import app.wio.dto.request.BookingRequestDto;
+import app.wio.dto.request.BookingSeriesRequestDto;
+import app.wio.dto.response.BookingDateResultDto;
+import app.wio.dto.response.BookingDateResultDto.BookingDateOutcome;
+import app.wio.dto.response.BookingHistoryPageDto;
 import app.wio.dto.response.BookingResponseDto;
+import app.wio.dto.response.BookingSeriesResponseDto;
 import app.wio.entity.*;
+import app.wio.event.BookingCancelledEvent;
+import app.wio.event.BookingCreatedEvent;
 import app.wio.exception.*;
 import app.wio.mapper.BookingMapper;
 import app.wio.repository.BookingRepository;
 import app.wio.repository.SeatRepository;
 import app.wio.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class BookingService {
 
+    private static final int MAX_SERIES_DATES = 366;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final String CURSOR_VERSION = "v1";
+
     private final BookingRepository bookingRepository;
     private final SeatRepository seatRepository;
     private final UserRepository userRepository;
     private final BookingMapper bookingMapper;
+    private final UpcomingBookingsView upcomingBookingsView;
+    private final BookingSequencer bookingSequencer;
+    private final SeatHoldService seatHoldService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public BookingService(
             BookingRepository bookingRepository,
             SeatRepository seatRepository,
             UserRepository userRepository,
-            BookingMapper bookingMapper
+            BookingMapper bookingMapper,
+            UpcomingBookingsView upcomingBookingsView,
+            BookingSequencer bookingSequencer,
+            SeatHoldService seatHoldService,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.bookingRepository = bookingRepository;
         this.seatRepository = seatRepository;
         this.userRepository = userRepository;
         this.bookingMapper = bookingMapper;
+        this.upcomingBookingsView = upcomingBookingsView;
+        this.bookingSequencer = bookingSequencer;
+        this.seatHoldService = seatHoldService;
+        this.eventPublisher = eventPublisher;
     }
 
     public Page<BookingResponseDto> getBookingsByUserId(Long userId, Pageable pageable) {
@@ -40,53 +69,139 @@ public class BookingService {
         return bookings.map(bookingMapper::toDto);
     }
 
-    @Transactional
+    // Claims for the same floor and day are decided by one consumer and committed in batches.
     public BookingResponseDto createBooking(BookingRequestDto dto) {
-        Seat seat = seatRepository.findById(dto.getSeatId())
-                .orElseThrow(() -> new SeatNotFoundException("Seat with ID " + dto.getSeatId() + " not found."));
+        return bookingSequencer.claim(dto);
+    }
+
+    public CompletableFuture<BookingResponseDto> submitBooking(BookingRequestDto dto) {
+        return bookingSequencer.submit(dto);
+    }
+
+    @Transactional
+    public BookingSeriesResponseDto createBookingSeries(BookingSeriesRequestDto dto) {
+        SortedSet<LocalDate> dates = expandSeriesDates(dto);
 
-        User user = userRepository.findById(dto.getUserId())
-                .orElseThrow(() -> new UserNotFoundException("User with ID " + dto.getUserId() + " not found."));
+        Seat seat = seatRepository.findWithFloorById(dto.getSeatId())
+                .orElseThrow(() -> new SeatNotFoundException("Seat with ID " + dto.getSeatId() + " not found."));
+        if (!userRepository.existsById(dto.getUserId())) {
+            throw new UserNotFoundException("User with ID " + dto.getUserId() + " not found.");
+        }
 
+        // one set-based lookup per constraint instead of one round trip per date
+        Set<LocalDate> userBooked = new HashSet<>(bookingRepository.findDatesByUserIdAndDateIn(dto.getUserId(), dates));
+        Set<LocalDate> seatTaken = new HashSet<>(bookingRepository.findActiveDatesBySeatIdAndDateIn(seat.getId(), dates));
 
-        boolean hasExistingBooking = bookingRepository.existsByUserIdAndDate(user.getId(), dto.getDate());
-        if (hasExistingBooking) {
-            throw new DuplicateBookingException("You have already booked a seat for this date.");
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, BookingDateResultDto> results = new LinkedHashMap<>();
+        List<LocalDate> toInsert = new ArrayList<>();
+        for (LocalDate date : dates) {
+            if (date.isBefore(today)) {
+                results.put(date, new BookingDateResultDto(date, BookingDateOutcome.PAST_DATE, null,
+                        "Booking date cannot be in the past."));
+            } else if (userBooked.contains(date)) {
+                results.put(date, new BookingDateResultDto(date, BookingDateOutcome.ALREADY_BOOKED, null,
+                        "You have already booked a seat for this date."));
+            } else if (seatTaken.contains(date)) {
+                results.put(date, new BookingDateResultDto(date, BookingDateOutcome.SEAT_TAKEN, null,
+                        "Seat is already booked on " + date + "."));
+            } else if (isHeldByAnotherUser(seat.getId(), date, dto.getUserId())) {
+                results.put(date, new BookingDateResultDto(date, BookingDateOutcome.SEAT_HELD, null,
+                        "Seat is currently held by another user."));
+            } else {
+                toInsert.add(date);
+            }
         }
 
-        boolean isSeatBooked = bookingRepository
-                .findBySeatIdAndDate(seat.getId(), dto.getDate())
-                .stream()
-                .anyMatch(b -> b.getStatus() == BookingStatus.ACTIVE);
+        // conflicting rows are skipped, so a date lost to a concurrent booking does not fail the whole series
+        Map<LocalDate, Long> ids = bookingRepository.insertActiveBookings(dto.getUserId(), seat.getId(), toInsert);
 
-        if (isSeatBooked) {
-            throw new SeatAlreadyBookedException("Seat is already booked on " + dto.getDate() + ".");
+        Long floorId = seat.getFloor().getId();
+        for (LocalDate date : toInsert) {
+            Long bookingId = ids.get(date);
+            if (bookingId == null) {
+                results.put(date, new BookingDateResultDto(date, BookingDateOutcome.SEAT_TAKEN, null,
+                        "Seat was concurrently booked on " + date + "."));
+                continue;
+            }
+            results.put(date, new BookingDateResultDto(date, BookingDateOutcome.BOOKED, bookingId, null));
+            BookingResponseDto booked = new BookingResponseDto(
+                    bookingId,
+                    date,
+                    BookingStatus.ACTIVE.name(),
+                    dto.getUserId(),
+                    seat.getId(),
+                    seat.getSeatNumber(),
+                    seat.getFloor().getFloorNumber(),
+                    seat.getFloor().getName()
+            );
+            eventPublisher.publishEvent(new BookingCreatedEvent(booked, floorId));
         }
 
-        Booking booking = bookingMapper.toEntity(dto);
-        booking.setStatus(BookingStatus.ACTIVE);
-        booking.setSeat(seat);
-        booking.setUser(user);
+        List<BookingDateResultDto> ordered = dates.stream().map(results::get).toList();
+        return new BookingSeriesResponseDto(
+                seat.getId(),
+                dto.getUserId(),
+                ids.size(),
+                dates.size() - ids.size(),
+                ordered
+        );
+    }
 
+    private boolean isHeldByAnotherUser(Long seatId, LocalDate date, Long userId) {
         try {
-            Booking saved = bookingRepository.save(booking);
-            return bookingMapper.toDto(saved);
-        } catch (ObjectOptimisticLockingFailureException e) {
-            throw new SeatAlreadyBookedException("Seat was concurrently booked by another user.");
+            seatHoldService.checkBookable(seatId, date, userId);
+            return false;
+        } catch (SeatHeldException e) {
+            return true;
         }
     }
 
+    private SortedSet<LocalDate> expandSeriesDates(BookingSeriesRequestDto dto) {
+        SortedSet<LocalDate> dates = new TreeSet<>();
+        if (dto.getDates() != null && !dto.getDates().isEmpty()) {
+            dates.addAll(dto.getDates());
+        } else {
+            for (LocalDate d = dto.getStartDate(); !d.isAfter(dto.getEndDate()); d = d.plusDays(1)) {
+                if (dto.getDaysOfWeek() == null || dto.getDaysOfWeek().isEmpty()
+                        || dto.getDaysOfWeek().contains(d.getDayOfWeek())) {
+                    dates.add(d);
+                }
+                if (dates.size() > MAX_SERIES_DATES) {
+                    break;
+                }
+            }
+        }
+        if (dates.isEmpty()) {
+            throw new InvalidBookingRequestException("The booking series does not contain any dates.");
+        }
+        if (dates.size() > MAX_SERIES_DATES) {
+            throw new InvalidBookingRequestException(
+                    "A booking series can contain at most " + MAX_SERIES_DATES + " dates.");
+        }
+        return dates;
+    }
+
     public BookingResponseDto getBookingById(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findWithSeatAndFloorById(id)
                 .orElseThrow(() -> new BookingNotFoundException("Booking with ID " + id + " not found."));
         return bookingMapper.toDto(booking);
     }
 
+    // Lets a cancel be routed to the node that owns the seat's company.
+    public Optional<Long> findSeatId(Long bookingId) {
+        return bookingRepository.findSeatIdById(bookingId);
+    }
+
+    @Transactional
     public void cancelBooking(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findWithSeatAndFloorById(id)
                 .orElseThrow(() -> new BookingNotFoundException("Booking with ID " + id + " not found."));
         booking.setStatus(BookingStatus.CANCELLED);
-        bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(
+                new BookingCancelledEvent(bookingMapper.toDto(saved), saved.getSeat().getFloor().getId())
+        );
     }
 
     public boolean isBookingOwner(Long bookingId, Long userId) {
@@ -96,6 +211,53 @@ public class BookingService {
         return booking.getUser().getId().equals(userId);
     }
 
+    // Cursor pages on (date DESC, id DESC): every page is an index range scan, however deep it is.
+    public BookingHistoryPageDto getBookingHistory(Long userId, String cursor, int size, boolean includeTotal) {
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new InvalidBookingRequestException("Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE + ".");
+        }
+        Limit limit = Limit.of(size + 1);
+        List<BookingResponseDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = bookingRepository.findBookingHistoryByUserId(userId, limit);
+        } else {
+            HistoryCursor position = decodeCursor(cursor);
+            rows = bookingRepository.findBookingHistoryByUserIdAfter(userId, position.date(), position.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<BookingResponseDto> page = new ArrayList<>(hasNext ? rows.subList(0, size) : rows);
+        String nextCursor = hasNext ? encodeCursor(page.get(page.size() - 1)) : null;
+        Long total = includeTotal ? bookingRepository.countByUserId(userId) : null;
+        return new BookingHistoryPageDto(page, nextCursor, total);
+    }
+
+    // Served from the per-user view; only a miss touches the database, with a single projection query.
+    public List<BookingResponseDto> getUpcomingBookings(Long userId) {
+        return upcomingBookingsView.get(userId);
+    }
+
+    private static String encodeCursor(BookingResponseDto last) {
+        String raw = CURSOR_VERSION + ":" + last.getDate() + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static HistoryCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3 || !CURSOR_VERSION.equals(parts[0])) {
+                throw new InvalidBookingRequestException("Invalid cursor.");
+            }
+            return new HistoryCursor(LocalDate.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidBookingRequestException("Invalid cursor.");
+        }
+    }
+
+    private record HistoryCursor(LocalDate date, Long id) {
+    }
+
     public Page<BookingResponseDto> findBookingsForUser(Long userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("date").descending());
         return bookingRepository.findBookingsByUserIdWithFloor(userId, pageable);
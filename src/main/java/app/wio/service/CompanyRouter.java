@@ -0,0 +1,84 @@
+package app.wio.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+// Assigns every company to the node that owns its booking writes. Nodes sit on a consistent-hash ring
+// virtualNodes times each, so adding or removing a node only moves the companies next to its points.
+// Without app.cluster.node-urls the ring is empty and this node owns everything.
+@Component
+public class CompanyRouter {
+
+    private final String selfUrl;
+    private final List<String> nodeUrls;
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    @Autowired
+    public CompanyRouter(
+            @Value("${app.cluster.self-url:}") String selfUrl,
+            @Value("${app.cluster.node-urls:}") String nodeUrls,
+            @Value("${app.cluster.virtual-nodes:128}") int virtualNodes
+    ) {
+        this.selfUrl = normalize(selfUrl);
+        this.nodeUrls = Arrays.stream(nodeUrls.split(","))
+                .map(CompanyRouter::normalize)
+                .filter(url -> !url.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+        if (!this.nodeUrls.isEmpty() && !this.nodeUrls.contains(this.selfUrl)) {
+            throw new IllegalStateException(
+                    "app.cluster.self-url (" + selfUrl + ") must be one of app.cluster.node-urls.");
+        }
+        for (String node : this.nodeUrls) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    public boolean isClustered() {
+        return !ring.isEmpty();
+    }
+
+    public String ownerOf(Long companyId) {
+        if (ring.isEmpty() || companyId == null) {
+            return selfUrl;
+        }
+        Map.Entry<Long, String> owner = ring.ceilingEntry(hash("company:" + companyId));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    public boolean isOwnedLocally(Long companyId) {
+        return ownerOf(companyId).equals(selfUrl);
+    }
+
+    public String getSelfUrl() {
+        return selfUrl;
+    }
+
+    public List<String> getNodeUrls() {
+        return nodeUrls;
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available.", e);
+        }
+    }
+
+    private static String normalize(String url) {
+        String trimmed = url == null ? "" : url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
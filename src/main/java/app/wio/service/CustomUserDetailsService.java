@@ -32,10 +32,10 @@ public class CustomUserDetailsService implements UserDetailsService {
 
 
     public UserDetails loadUserById(Long id) throws UsernameNotFoundException {
-        logger.info("Loading user by ID: {}", id);
+        logger.debug("Loading user by ID: {}", id);
         var user = userRepository.findById(id)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
-        logger.info("Found user: {}", user.getEmail());
+        logger.debug("Found user: {}", user.getEmail());
         return buildUserDetails(user);
     }
 
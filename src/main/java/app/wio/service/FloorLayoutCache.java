@@ -0,0 +1,104 @@
+package app.wio.service;
+
+import app.wio.dto.SeatDto;
+import app.wio.entity.Seat;
+import app.wio.event.SeatLayoutChangedEvent;
+import app.wio.mapper.SeatMapper;
+import app.wio.repository.SeatRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Serialized seat layout per floor. Layouts change rarely, so the JSON body and its ETag are built once
+// and served as-is until a SeatLayoutChangedEvent for the floor commits, locally or relayed by a peer.
+// Entries also expire after ttl, which bounds staleness when a relayed change is lost.
+@Component
+public class FloorLayoutCache {
+
+    private final SeatRepository seatRepository;
+    private final SeatMapper seatMapper;
+    private final ObjectMapper objectMapper;
+    private final long ttlNanos;
+
+    private final ConcurrentMap<Long, Cached> snapshots = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, AtomicLong> floorGenerations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FloorLayoutCache(
+            SeatRepository seatRepository,
+            SeatMapper seatMapper,
+            ObjectMapper objectMapper,
+            @Value("${app.layout-cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.seatRepository = seatRepository;
+        this.seatMapper = seatMapper;
+        this.objectMapper = objectMapper;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    public Snapshot get(Long floorId) {
+        long now = System.nanoTime();
+        Cached cached = snapshots.get(floorId);
+        if (cached != null && now - cached.loadedAt() <= ttlNanos) {
+            return cached.snapshot();
+        }
+        long generation = generation(floorId).get();
+        List<Seat> seats = new ArrayList<>(seatRepository.findByFloorId(floorId));
+        seats.sort(Comparator.comparing(Seat::getId));
+        List<SeatDto> dtos = seats.stream().map(seatMapper::toDto).toList();
+        byte[] json = serialize(dtos);
+        Snapshot snapshot = new Snapshot(json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+
+        // empty results are not kept, so unknown floor IDs cannot grow the map
+        if (!seats.isEmpty() && generation(floorId).get() == generation) {
+            snapshots.put(floorId, new Cached(snapshot, now));
+        }
+        return snapshot;
+    }
+
+    public void evict(Long floorId) {
+        generation(floorId).incrementAndGet();
+        snapshots.remove(floorId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatLayoutChanged(SeatLayoutChangedEvent event) {
+        evict(event.getFloorId());
+    }
+
+    private byte[] serialize(List<SeatDto> seats) {
+        try {
+            return objectMapper.writeValueAsBytes(seats);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize floor layout.", e);
+        }
+    }
+
+    private AtomicLong generation(Long floorId) {
+        return floorGenerations.computeIfAbsent(floorId, id -> new AtomicLong());
+    }
+
+    private record Cached(Snapshot snapshot, long loadedAt) {
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final byte[] json;
+        private final String etag;
+    }
+}
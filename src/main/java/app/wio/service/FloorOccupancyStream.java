@@ -0,0 +1,318 @@
+package app.wio.service;
+
+import app.wio.dto.response.SeatDeltaDto;
+import app.wio.event.BookingCancelledEvent;
+import app.wio.event.BookingCreatedEvent;
+import app.wio.event.SeatHoldChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+
+// Pushes seat changes for one (floor, date) to subscribed clients over SSE. Changes are coalesced per seat
+// and flushed on a fixed tick; each connection buffers at most bufferCapacity seats. A connection that
+// overflows is told to resync, and one that overflows while its previous write is still pending is dropped.
+// A write still blocked after sendTimeout drops the connection too. The blocked thread cannot be reclaimed
+// until the container's socket write times out, so the pool grows by one until it returns.
+@Component
+public class FloorOccupancyStream {
+
+    private static final int IDLE = 0;
+    private static final int QUEUED = 1;
+    private static final int WRITING = 2;
+    private static final int ABANDONED = 3;
+
+    private final ConcurrentMap<StreamKey, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor sender;
+    private final int senderThreads;
+    private final AtomicInteger stuckSends = new AtomicInteger();
+    private final long timeoutMillis;
+    private final int bufferCapacity;
+    private final long heartbeatNanos;
+    private final long sendTimeoutNanos;
+    private final LongFunction<SseEmitter> emitterFactory;
+    private final LongSupplier nanoClock;
+
+    private final Counter evictions;
+    private final Counter sendTimeouts;
+
+    @Autowired
+    public FloorOccupancyStream(
+            MeterRegistry meterRegistry,
+            @Value("${app.occupancy-stream.timeout-minutes:30}") long timeoutMinutes,
+            @Value("${app.occupancy-stream.buffer-capacity:1000}") int bufferCapacity,
+            @Value("${app.occupancy-stream.heartbeat-seconds:15}") long heartbeatSeconds,
+            @Value("${app.occupancy-stream.sender-threads:4}") int senderThreads,
+            @Value("${app.occupancy-stream.send-timeout-ms:5000}") long sendTimeoutMillis
+    ) {
+        this(meterRegistry, timeoutMinutes, bufferCapacity, heartbeatSeconds, senderThreads, sendTimeoutMillis,
+                SseEmitter::new, System::nanoTime);
+    }
+
+    FloorOccupancyStream(
+            MeterRegistry meterRegistry,
+            long timeoutMinutes,
+            int bufferCapacity,
+            long heartbeatSeconds,
+            int senderThreads,
+            long sendTimeoutMillis,
+            LongFunction<SseEmitter> emitterFactory,
+            LongSupplier nanoClock
+    ) {
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.bufferCapacity = bufferCapacity;
+        this.heartbeatNanos = TimeUnit.SECONDS.toNanos(heartbeatSeconds);
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        this.emitterFactory = emitterFactory;
+        this.nanoClock = nanoClock;
+        this.senderThreads = senderThreads;
+        this.sender = new ThreadPoolExecutor(
+                senderThreads, senderThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new SenderThreadFactory()
+        );
+        this.evictions = meterRegistry.counter("wio.occupancy.stream.evictions");
+        this.sendTimeouts = meterRegistry.counter("wio.occupancy.stream.send.timeouts");
+        meterRegistry.gauge("wio.occupancy.stream.sends.stuck", stuckSends);
+        meterRegistry.gauge("wio.occupancy.stream.connections", subscribers,
+                map -> map.values().stream().mapToInt(Set::size).sum());
+    }
+
+    public SseEmitter subscribe(Long floorId, LocalDate date) {
+        SseEmitter emitter = emitterFactory.apply(timeoutMillis);
+        Subscriber subscriber = new Subscriber(new StreamKey(floorId, date), emitter);
+        subscribers.computeIfAbsent(subscriber.key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> {
+            remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(ex -> remove(subscriber));
+        try {
+            // flushes the response headers so the client knows the stream is open
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException ex) {
+            remove(subscriber);
+            emitter.completeWithError(ex);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        offer(event.getFloorId(), event.getBooking().getDate(), event.getBooking().getSeatId(), true, null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        offer(event.getFloorId(), event.getBooking().getDate(), event.getBooking().getSeatId(), false, null);
+    }
+
+    @EventListener
+    public void onSeatHoldChanged(SeatHoldChangedEvent event) {
+        offer(event.getFloorId(), event.getDate(), event.getSeatId(), null, event.isHeld());
+    }
+
+    // changes written on another node, relayed by OccupancyRelay
+    public void relay(Long floorId, LocalDate date, Long seatId, Boolean booked, Boolean held) {
+        offer(floorId, date, seatId, booked, held);
+    }
+
+    @Scheduled(fixedDelayString = "${app.occupancy-stream.flush-interval-ms:250}")
+    public void flush() {
+        long now = nanoClock.getAsLong();
+        for (Set<Subscriber> group : subscribers.values()) {
+            for (Subscriber subscriber : group) {
+                int state = subscriber.state.get();
+                if (state == WRITING && now - subscriber.writeStartedAt > sendTimeoutNanos) {
+                    abandon(subscriber);
+                    continue;
+                }
+                if (state != IDLE) {
+                    if (subscriber.isOverflowed()) {
+                        evict(subscriber);
+                    }
+                    continue;
+                }
+                if (subscriber.hasWork(now) && subscriber.state.compareAndSet(IDLE, QUEUED)) {
+                    sender.execute(() -> send(subscriber));
+                }
+            }
+        }
+    }
+
+    public int stuckSendCount() {
+        return stuckSends.get();
+    }
+
+    private void offer(Long floorId, LocalDate date, Long seatId, Boolean booked, Boolean held) {
+        Set<Subscriber> group = subscribers.get(new StreamKey(floorId, date));
+        if (group == null) {
+            return;
+        }
+        for (Subscriber subscriber : group) {
+            subscriber.offer(seatId, booked, held);
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        subscriber.writeStartedAt = nanoClock.getAsLong();
+        subscriber.state.set(WRITING);
+        try {
+            SseEmitter.SseEventBuilder event = subscriber.nextEvent(subscriber.writeStartedAt);
+            if (event != null) {
+                subscriber.emitter.send(event);
+                subscriber.lastSentAt = nanoClock.getAsLong();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // client went away or the emitter already completed
+            remove(subscriber);
+        } finally {
+            if (!subscriber.state.compareAndSet(WRITING, IDLE)) {
+                // abandoned by flush; this thread was already replaced
+                stuckSends.decrementAndGet();
+                resizeSender();
+            }
+            if (subscriber.evicted) {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    // The write stays blocked, but the connection stops buffering and a fresh thread serves the others.
+    private void abandon(Subscriber subscriber) {
+        if (!subscriber.state.compareAndSet(WRITING, ABANDONED)) {
+            return;
+        }
+        sendTimeouts.increment();
+        evict(subscriber);
+        stuckSends.incrementAndGet();
+        resizeSender();
+    }
+
+    private synchronized void resizeSender() {
+        int size = senderThreads + stuckSends.get();
+        // the core size may never exceed the maximum, so grow the maximum first and shrink it last
+        if (size > sender.getMaximumPoolSize()) {
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+        } else {
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+    }
+
+    // Stops buffering for the connection right away; the emitter is completed once its pending write returns.
+    private void evict(Subscriber subscriber) {
+        subscriber.evicted = true;
+        remove(subscriber);
+        evictions.increment();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.key, (key, group) -> {
+            group.remove(subscriber);
+            return group.isEmpty() ? null : group;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        subscribers.values().forEach(group -> group.forEach(s -> s.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private record StreamKey(Long floorId, LocalDate date) {
+    }
+
+    private final class Subscriber {
+        private final StreamKey key;
+        private final SseEmitter emitter;
+        private final AtomicInteger state = new AtomicInteger(IDLE);
+        private final Map<Long, SeatDeltaDto> pending = new LinkedHashMap<>();
+        private boolean overflowed;
+        private volatile boolean evicted;
+        private volatile long writeStartedAt;
+        private volatile long lastSentAt = nanoClock.getAsLong();
+
+        private Subscriber(StreamKey key, SseEmitter emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        private synchronized void offer(Long seatId, Boolean booked, Boolean held) {
+            if (overflowed) {
+                return;
+            }
+            SeatDeltaDto delta = pending.get(seatId);
+            if (delta == null) {
+                if (pending.size() >= bufferCapacity) {
+                    overflowed = true;
+                    pending.clear();
+                    return;
+                }
+                delta = new SeatDeltaDto(seatId, null, null);
+                pending.put(seatId, delta);
+            }
+            if (booked != null) {
+                delta.setBooked(booked);
+            }
+            if (held != null) {
+                delta.setHeld(held);
+            }
+        }
+
+        private synchronized boolean isOverflowed() {
+            return overflowed;
+        }
+
+        private synchronized boolean hasWork(long now) {
+            return overflowed || !pending.isEmpty() || now - lastSentAt >= heartbeatNanos;
+        }
+
+        private synchronized SseEmitter.SseEventBuilder nextEvent(long now) {
+            if (overflowed) {
+                // too many changes to replay; the client reloads the floor instead
+                overflowed = false;
+                return SseEmitter.event().name("resync").data("");
+            }
+            if (!pending.isEmpty()) {
+                List<SeatDeltaDto> deltas = new ArrayList<>(pending.values());
+                pending.clear();
+                return SseEmitter.event().name("occupancy").data(deltas, MediaType.APPLICATION_JSON);
+            }
+            if (now - lastSentAt >= heartbeatNanos) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return null;
+        }
+    }
+
+    private static final class SenderThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "occupancy-stream-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package app.wio.service;
 
 import app.wio.dto.FloorCreationDto;
 import app.wio.entity.*;
+import app.wio.event.SeatLayoutChangedEvent;
 import app.wio.exception.CompanyNotFoundException;
 import app.wio.exception.FloorNotFoundException;
 import app.wio.exception.LockNotAvailableException;
@@ -11,6 +12,7 @@ import app.wio.repository.CompanyRepository;
 import app.wio.repository.FloorLockRepository;
 import app.wio.repository.FloorRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -23,18 +25,21 @@ public class FloorService {
     private final CompanyRepository companyRepository;
     private final FloorLockRepository floorLockRepository;
     private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public FloorService(
             FloorRepository floorRepository,
             CompanyRepository companyRepository,
             FloorLockRepository floorLockRepository,
-            BookingRepository bookingRepository
+            BookingRepository bookingRepository,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.floorRepository = floorRepository;
         this.companyRepository = companyRepository;
         this.floorLockRepository = floorLockRepository;
         this.bookingRepository = bookingRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public Floor createFloor(FloorCreationDto floorDto) {
@@ -73,6 +78,7 @@ public class FloorService {
             );
         }
         floorRepository.delete(floor);
+        eventPublisher.publishEvent(new SeatLayoutChangedEvent(id));
     }
 
     public List<Floor> getFloorsByCompanyId(Long companyId) {
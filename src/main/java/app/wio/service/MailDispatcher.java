@@ -0,0 +1,286 @@
+package app.wio.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Delivers queued mail on a small worker pool. Each worker claims a batch with SKIP LOCKED and sends it over
+// one SMTP connection. Failed messages are retried with exponential backoff until maxAttempts, and a token
+// bucket caps messages per second across all workers so the SMTP relay is not flooded.
+@Service
+public class MailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailDispatcher.class);
+
+    // claiming bumps attempts and pushes next_attempt_at out by the lease in a single statement
+    private static final String CLAIM_BATCH = """
+            UPDATE mail_queue
+            SET attempts = attempts + 1, next_attempt_at = ?
+            WHERE id IN (
+                SELECT id FROM mail_queue
+                WHERE status = 'PENDING' AND next_attempt_at <= ?
+                ORDER BY next_attempt_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id, recipient, subject, body, attempts
+            """;
+    private static final String MARK_SENT = """
+            UPDATE mail_queue
+            SET status = 'SENT', sent_at = ?, last_error = NULL
+            WHERE id = ?
+            """;
+    private static final String SCHEDULE_RETRY = "UPDATE mail_queue SET next_attempt_at = ?, last_error = ? WHERE id = ?";
+    private static final String MARK_FAILED = "UPDATE mail_queue SET status = 'FAILED', last_error = ? WHERE id = ?";
+
+    private static final RowMapper<ClaimedMail> CLAIMED_MAPPER = (rs, rowNum) -> new ClaimedMail(
+            rs.getLong("id"),
+            rs.getString("recipient"),
+            rs.getString("subject"),
+            rs.getString("body"),
+            rs.getInt("attempts")
+    );
+
+    private final JavaMailSender mailSender;
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadPoolExecutor workers;
+    private final TokenBucket rateLimiter;
+    private final boolean enabled;
+    private final String from;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffSeconds;
+    private final long maxBackoffSeconds;
+    private final long leaseSeconds;
+    private final AtomicInteger runningWorkers = new AtomicInteger();
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer batchTimer;
+
+    @Autowired
+    public MailDispatcher(
+            JavaMailSender mailSender,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.mail.dispatch.enabled:true}") boolean enabled,
+            @Value("${app.mail.from:no-reply@wio.app}") String from,
+            @Value("${app.mail.dispatch.workers:2}") int workerCount,
+            @Value("${app.mail.dispatch.batch-size:50}") int batchSize,
+            @Value("${app.mail.dispatch.rate-per-second:20}") int ratePerSecond,
+            @Value("${app.mail.dispatch.max-attempts:6}") int maxAttempts,
+            @Value("${app.mail.dispatch.backoff-seconds:30}") long backoffSeconds,
+            @Value("${app.mail.dispatch.max-backoff-seconds:3600}") long maxBackoffSeconds,
+            @Value("${app.mail.dispatch.lease-seconds:300}") long leaseSeconds
+    ) {
+        this.mailSender = mailSender;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.from = from;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffSeconds = backoffSeconds;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+        this.leaseSeconds = leaseSeconds;
+        this.rateLimiter = new TokenBucket(ratePerSecond);
+        this.workers = new ThreadPoolExecutor(
+                workerCount, workerCount,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new MailThreadFactory()
+        );
+        this.sent = meterRegistry.counter("wio.mail.sent");
+        this.retried = meterRegistry.counter("wio.mail.retried");
+        this.failed = meterRegistry.counter("wio.mail.failed");
+        this.batchTimer = meterRegistry.timer("wio.mail.batch.duration");
+        meterRegistry.gauge("wio.mail.workers.active", runningWorkers);
+    }
+
+    // Tops the pool up to its size; each worker drains until the queue is empty or the rate budget is spent.
+    @Scheduled(fixedDelayString = "${app.mail.dispatch.interval-ms:2000}")
+    public void dispatchScheduled() {
+        if (!enabled) {
+            return;
+        }
+        while (true) {
+            int running = runningWorkers.get();
+            if (running >= workers.getCorePoolSize()) {
+                return;
+            }
+            if (runningWorkers.compareAndSet(running, running + 1)) {
+                workers.execute(() -> {
+                    try {
+                        while (dispatchBatch() > 0) {
+                            // keep draining
+                        }
+                    } catch (RuntimeException ex) {
+                        logger.error("Mail worker stopped: {}", ex.getMessage());
+                    } finally {
+                        runningWorkers.decrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    // Claims and sends one batch on the calling thread; returns the number of messages claimed.
+    public int dispatchBatch() {
+        int permits = rateLimiter.tryAcquire(batchSize);
+        if (permits == 0) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<ClaimedMail> claimed = jdbcTemplate.query(CLAIM_BATCH, CLAIMED_MAPPER,
+                Timestamp.valueOf(now.plusSeconds(leaseSeconds)), Timestamp.valueOf(now), permits);
+        rateLimiter.release(permits - claimed.size());
+        if (!claimed.isEmpty()) {
+            batchTimer.record(() -> send(claimed));
+        }
+        return claimed.size();
+    }
+
+    private void send(List<ClaimedMail> batch) {
+        Map<MimeMessage, ClaimedMail> messages = new IdentityHashMap<>();
+        for (ClaimedMail mail : batch) {
+            try {
+                messages.put(toMimeMessage(mail), mail);
+            } catch (MessagingException ex) {
+                // cannot be built, so retrying will not help
+                markFailed(mail, ex);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException ex) {
+            failures = ex.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = allFailed(messages.keySet(), ex);
+            }
+        } catch (MailException ex) {
+            failures = allFailed(messages.keySet(), ex);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<MimeMessage, ClaimedMail> entry : messages.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                jdbcTemplate.update(MARK_SENT, Timestamp.valueOf(now), entry.getValue().id());
+                sent.increment();
+            } else {
+                handleFailure(entry.getValue(), failure, now);
+            }
+        }
+    }
+
+    private void handleFailure(ClaimedMail mail, Exception failure, LocalDateTime now) {
+        if (mail.attempts() >= maxAttempts) {
+            markFailed(mail, failure);
+            return;
+        }
+        long delay = Math.min(maxBackoffSeconds, backoffSeconds << Math.min(mail.attempts() - 1, 20));
+        jdbcTemplate.update(SCHEDULE_RETRY, Timestamp.valueOf(now.plusSeconds(delay)), truncate(failure), mail.id());
+        retried.increment();
+    }
+
+    private void markFailed(ClaimedMail mail, Exception failure) {
+        logger.warn("Giving up on mail {} to {} after {} attempts: {}",
+                mail.id(), mail.recipient(), mail.attempts(), failure.getMessage());
+        jdbcTemplate.update(MARK_FAILED, truncate(failure), mail.id());
+        failed.increment();
+    }
+
+    private MimeMessage toMimeMessage(ClaimedMail mail) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setFrom(from);
+        helper.setTo(mail.recipient());
+        helper.setSubject(mail.subject());
+        helper.setText(mail.body(), false);
+        return message;
+    }
+
+    private static Map<Object, Exception> allFailed(Set<MimeMessage> messages, Exception ex) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        messages.forEach(message -> failures.put(message, ex));
+        return failures;
+    }
+
+    private static String truncate(Exception ex) {
+        String message = String.valueOf(ex.getMessage());
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private record ClaimedMail(long id, String recipient, String subject, String body, int attempts) {
+    }
+
+    // Refills continuously up to one second's worth of permits.
+    private static final class TokenBucket {
+        private final double ratePerNano;
+        private final double capacity;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        private TokenBucket(int ratePerSecond) {
+            this.capacity = ratePerSecond;
+            this.ratePerNano = ratePerSecond / 1_000_000_000.0;
+            this.tokens = capacity;
+        }
+
+        private synchronized int tryAcquire(int wanted) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * ratePerNano);
+            refilledAt = now;
+            int granted = (int) Math.min(wanted, Math.floor(tokens));
+            tokens -= granted;
+            return granted;
+        }
+
+        private synchronized void release(int permits) {
+            tokens = Math.min(capacity, tokens + permits);
+        }
+    }
+
+    private static final class MailThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "mail-dispatch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
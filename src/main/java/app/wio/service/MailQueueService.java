@@ -0,0 +1,50 @@
+package app.wio.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Enqueues outgoing email. Rows are written with the caller's transaction, so a rolled-back change sends
+// nothing; MailDispatcher delivers them later, off the request thread.
+@Service
+public class MailQueueService {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_MAIL = """
+            INSERT INTO mail_queue (recipient, subject, body, status, attempts, next_attempt_at, created_at)
+            VALUES (?, ?, ?, 'PENDING', 0, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public MailQueueService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void enqueue(String recipient, String subject, String body) {
+        enqueue(List.of(new OutgoingMail(recipient, subject, body)));
+    }
+
+    public void enqueue(List<OutgoingMail> mails) {
+        if (mails.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_MAIL, mails, BATCH_SIZE, (ps, mail) -> {
+            ps.setString(1, mail.recipient());
+            ps.setString(2, mail.subject());
+            ps.setString(3, mail.body());
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+        });
+    }
+
+    public record OutgoingMail(String recipient, String subject, String body) {
+    }
+}
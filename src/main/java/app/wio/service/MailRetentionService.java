@@ -0,0 +1,98 @@
+package app.wio.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Deletes sent and failed mail from mail_queue. Bodies carry reset links and codes, so sent rows are kept only
+// briefly; failed rows stay longer for troubleshooting. Chunks run in short transactions with SKIP LOCKED,
+// like ShareRetentionService.
+@Service
+public class MailRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailRetentionService.class);
+
+    private static final String SELECT_EXPIRED_MAIL = """
+            SELECT id FROM mail_queue
+            WHERE (status = 'SENT' AND sent_at < ?)
+               OR (status = 'FAILED' AND created_at < ?)
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+    private static final String DELETE_MAIL = "DELETE FROM mail_queue WHERE id = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long sentRetentionHours;
+    private final int failedRetentionDays;
+    private final int chunkSize;
+
+    private final Counter mailDeleted;
+    private final Timer purgeTimer;
+
+    @Autowired
+    public MailRetentionService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.mail.retention.sent-hours:24}") long sentRetentionHours,
+            @Value("${app.mail.retention.failed-days:7}") int failedRetentionDays,
+            @Value("${app.mail.retention.chunk-size:500}") int chunkSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sentRetentionHours = sentRetentionHours;
+        this.failedRetentionDays = failedRetentionDays;
+        this.chunkSize = chunkSize;
+        this.mailDeleted = meterRegistry.counter("wio.retention.rows.deleted", "table", "mail_queue");
+        this.purgeTimer = meterRegistry.timer("wio.retention.mail.duration");
+    }
+
+    // Returns the number of messages deleted.
+    public int purgeFinishedMail() {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp sentCutoff = Timestamp.valueOf(now.minusHours(sentRetentionHours));
+        Timestamp failedCutoff = Timestamp.valueOf(now.minusDays(failedRetentionDays));
+        return purgeTimer.record(() -> {
+            int total = 0;
+            int deleted;
+            do {
+                deleted = transactionTemplate.execute(status -> deleteChunk(sentCutoff, failedCutoff));
+                total += deleted;
+            } while (deleted == chunkSize);
+            if (total > 0) {
+                logger.info("Deleted {} sent or failed messages from the mail queue", total);
+            }
+            return total;
+        });
+    }
+
+    private int deleteChunk(Timestamp sentCutoff, Timestamp failedCutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_EXPIRED_MAIL, Long.class, sentCutoff, failedCutoff, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        mailDeleted.increment(jdbcTemplate.update(DELETE_MAIL, ps -> ps.setArray(1, idArray(ps.getConnection(), ids))));
+        return ids.size();
+    }
+
+    private static Array idArray(Connection connection, List<Long> ids) throws SQLException {
+        return connection.createArrayOf("bigint", ids.toArray());
+    }
+}
@@ -0,0 +1,220 @@
+package app.wio.service;
+
+import app.wio.dto.request.LayoutChangeRequestDto;
+import app.wio.dto.request.SeatChangeRequestDto;
+import app.wio.entity.Company;
+import app.wio.entity.Floor;
+import app.wio.entity.Seat;
+import app.wio.event.BookingCancelledEvent;
+import app.wio.event.BookingCreatedEvent;
+import app.wio.event.SeatHoldChangedEvent;
+import app.wio.event.SeatLayoutChangedEvent;
+import app.wio.security.PeerRequestSigner;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Seat writes happen on the node that owns the company, but clients may stream a floor's occupancy from
+// any node. Every local seat change is posted to the other nodes, which feed it to their own streams.
+// Layout changes are posted too, and replayed on each peer as a SeatLayoutChangedEvent so its node-local
+// caches drop the floor. Delivery is best effort: a change that cannot be sent is dropped, the stream's
+// heartbeat and resync keep clients from waiting on it, and the layout caches expire on their own.
+@Component
+public class OccupancyRelay {
+
+    public static final String PATH = "/api/cluster/occupancy";
+    public static final String LAYOUT_PATH = "/api/cluster/layout";
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyRelay.class);
+
+    private final CompanyRouter companyRouter;
+    private final PeerRequestSigner peerRequestSigner;
+    private final FloorOccupancyStream floorOccupancyStream;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final RestClient restClient;
+    private final ThreadPoolExecutor sender;
+
+    private final Counter relayed;
+    private final Counter failed;
+    private final Counter dropped;
+
+    @Autowired
+    public OccupancyRelay(
+            CompanyRouter companyRouter,
+            PeerRequestSigner peerRequestSigner,
+            FloorOccupancyStream floorOccupancyStream,
+            ApplicationEventPublisher eventPublisher,
+            EntityManagerFactory entityManagerFactory,
+            RestClient.Builder restClientBuilder,
+            MeterRegistry meterRegistry,
+            @Value("${app.cluster.connect-timeout-ms:1000}") int connectTimeoutMillis,
+            @Value("${app.cluster.relay-timeout-ms:2000}") int timeoutMillis,
+            @Value("${app.cluster.relay-queue-capacity:10000}") int queueCapacity
+    ) {
+        this.companyRouter = companyRouter;
+        this.peerRequestSigner = peerRequestSigner;
+        this.floorOccupancyStream = floorOccupancyStream;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMillis);
+        requestFactory.setReadTimeout(timeoutMillis);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        // one thread keeps every peer's changes in commit order
+        this.sender = new ThreadPoolExecutor(
+                1, 1,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                new RelayThreadFactory()
+        );
+        this.relayed = meterRegistry.counter("wio.occupancy.relay", "result", "ok");
+        this.failed = meterRegistry.counter("wio.occupancy.relay", "result", "failed");
+        this.dropped = meterRegistry.counter("wio.occupancy.relay", "result", "dropped");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        publish(new SeatChangeRequestDto(event.getFloorId(), event.getBooking().getDate(),
+                event.getBooking().getSeatId(), true, null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        publish(new SeatChangeRequestDto(event.getFloorId(), event.getBooking().getDate(),
+                event.getBooking().getSeatId(), false, null));
+    }
+
+    @EventListener
+    public void onSeatHoldChanged(SeatHoldChangedEvent event) {
+        publish(new SeatChangeRequestDto(event.getFloorId(), event.getDate(), event.getSeatId(), null, event.isHeld()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatLayoutChanged(SeatLayoutChangedEvent event) {
+        if (event.isFromPeer() || event.getFloorId() == null) {
+            return;
+        }
+        LayoutChangeRequestDto change = new LayoutChangeRequestDto(event.getFloorId());
+        publish(LAYOUT_PATH, change, signedParts(change));
+    }
+
+    // Applies a change posted by a peer; false when the request is not signed by a configured node.
+    public boolean receive(String peer, String timestamp, String signature, SeatChangeRequestDto change) {
+        if (!peerRequestSigner.verify(peer, timestamp, signature, signedParts(change))) {
+            return false;
+        }
+        floorOccupancyStream.relay(change.getFloorId(), change.getDate(), change.getSeatId(),
+                change.getBooked(), change.getHeld());
+        return true;
+    }
+
+    public boolean receiveLayout(String peer, String timestamp, String signature, LayoutChangeRequestDto change) {
+        if (!peerRequestSigner.verify(peer, timestamp, signature, signedParts(change))) {
+            return false;
+        }
+        // this node's second-level cache still holds the old rows; the layout caches would rebuild from them
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Floor.class, change.getFloorId());
+        cache.evictCollectionData(Floor.class.getName() + ".seats", change.getFloorId());
+        cache.evictEntityData(Seat.class);
+        cache.evictCollectionData(Company.class.getName() + ".floors");
+        eventPublisher.publishEvent(new SeatLayoutChangedEvent(change.getFloorId(), true));
+        return true;
+    }
+
+    private void publish(SeatChangeRequestDto change) {
+        if (change.getFloorId() == null) {
+            return;
+        }
+        publish(PATH, change, signedParts(change));
+    }
+
+    private void publish(String path, Object change, String[] signedParts) {
+        if (!companyRouter.isClustered()) {
+            return;
+        }
+        for (String peer : companyRouter.getNodeUrls()) {
+            if (peer.equals(companyRouter.getSelfUrl())) {
+                continue;
+            }
+            try {
+                sender.execute(() -> send(peer, path, change, signedParts));
+            } catch (RejectedExecutionException ex) {
+                dropped.increment();
+            }
+        }
+    }
+
+    private void send(String peer, String path, Object change, String[] signedParts) {
+        long timestamp = System.currentTimeMillis();
+        try {
+            restClient.post()
+                    .uri(peer + path)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .headers(headers -> {
+                        headers.set(PeerRequestSigner.PEER_HEADER, companyRouter.getSelfUrl());
+                        headers.set(PeerRequestSigner.TIMESTAMP_HEADER, Long.toString(timestamp));
+                        headers.set(PeerRequestSigner.SIGNATURE_HEADER,
+                                peerRequestSigner.sign(timestamp, signedParts));
+                    })
+                    .body(change)
+                    .retrieve()
+                    .toBodilessEntity();
+            relayed.increment();
+        } catch (RestClientException ex) {
+            logger.debug("Relaying {} to {} failed: {}", path, peer, ex.getMessage());
+            failed.increment();
+        }
+    }
+
+    private static String[] signedParts(SeatChangeRequestDto change) {
+        return new String[]{
+                PATH,
+                Objects.toString(change.getFloorId(), ""),
+                Objects.toString(change.getDate(), ""),
+                Objects.toString(change.getSeatId(), ""),
+                Objects.toString(change.getBooked(), ""),
+                Objects.toString(change.getHeld(), "")
+        };
+    }
+
+    private static String[] signedParts(LayoutChangeRequestDto change) {
+        return new String[]{LAYOUT_PATH, Objects.toString(change.getFloorId(), "")};
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private static final class RelayThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "occupancy-relay-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
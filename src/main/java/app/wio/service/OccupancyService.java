@@ -0,0 +1,84 @@
+package app.wio.service;
+
+import app.wio.dto.response.CompanyOccupancyDto;
+import app.wio.dto.response.DailyOccupancyDto;
+import app.wio.dto.response.FloorOccupancyDto;
+import app.wio.entity.Floor;
+import app.wio.exception.CompanyNotFoundException;
+import app.wio.exception.InvalidBookingRequestException;
+import app.wio.repository.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+
+// Booked/available seat counts per floor and day for a whole company. The floors, the seat totals and the
+// booking counts come from one query each (the latter two grouped in the database), whatever the range.
+@Service
+public class OccupancyService {
+
+    private static final int MAX_DAYS = 31;
+
+    private final CompanyRepository companyRepository;
+    private final FloorRepository floorRepository;
+    private final SeatRepository seatRepository;
+    private final BookingRepository bookingRepository;
+
+    @Autowired
+    public OccupancyService(
+            CompanyRepository companyRepository,
+            FloorRepository floorRepository,
+            SeatRepository seatRepository,
+            BookingRepository bookingRepository
+    ) {
+        this.companyRepository = companyRepository;
+        this.floorRepository = floorRepository;
+        this.seatRepository = seatRepository;
+        this.bookingRepository = bookingRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public CompanyOccupancyDto getCompanyOccupancy(Long companyId, LocalDate startDate, int days) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new InvalidBookingRequestException("Days must be between 1 and " + MAX_DAYS + ".");
+        }
+        if (!companyRepository.existsById(companyId)) {
+            throw new CompanyNotFoundException("Company with ID " + companyId + " not found.");
+        }
+        LocalDate endDate = startDate.plusDays(days - 1L);
+
+        List<Floor> floors = new ArrayList<>(floorRepository.findByCompanyId(companyId));
+        floors.sort(Comparator.comparing(Floor::getFloorNumber, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Floor::getId));
+
+        Map<Long, FloorSeatCount> seatCounts = new HashMap<>();
+        for (FloorSeatCount count : seatRepository.countSeatsByCompanyId(companyId)) {
+            seatCounts.put(count.getFloorId(), count);
+        }
+        Map<Long, Map<LocalDate, Long>> booked = new HashMap<>();
+        for (FloorDailyBookingCount count :
+                bookingRepository.countActiveBookingsByCompanyIdAndDateBetween(companyId, startDate, endDate)) {
+            booked.computeIfAbsent(count.getFloorId(), id -> new HashMap<>()).put(count.getDate(), count.getBooked());
+        }
+
+        List<FloorOccupancyDto> result = new ArrayList<>(floors.size());
+        for (Floor floor : floors) {
+            FloorSeatCount seats = seatCounts.get(floor.getId());
+            long totalSeats = seats != null ? seats.getTotalSeats() : 0;
+            long bookableSeats = seats != null && seats.getBookableSeats() != null ? seats.getBookableSeats() : 0;
+            Map<LocalDate, Long> floorBooked = booked.getOrDefault(floor.getId(), Map.of());
+
+            List<DailyOccupancyDto> daily = new ArrayList<>(days);
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                long bookedSeats = floorBooked.getOrDefault(date, 0L);
+                daily.add(new DailyOccupancyDto(date, bookedSeats, Math.max(0, bookableSeats - bookedSeats)));
+            }
+            result.add(new FloorOccupancyDto(
+                    floor.getId(), floor.getName(), floor.getFloorNumber(), totalSeats, bookableSeats, daily
+            ));
+        }
+        return new CompanyOccupancyDto(companyId, startDate, endDate, result);
+    }
+}
@@ -1,37 +1,77 @@
 package app.wio.service;
 
-import app.wio.entity.Company;
 import app.wio.entity.OneTimeCode;
 import app.wio.exception.CompanyNotFoundException;
+import app.wio.exception.ResourceConflictException;
 import app.wio.exception.ResourceNotFoundException;
 import app.wio.repository.CompanyRepository;
 import app.wio.repository.OneTimeCodeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class OneTimeCodeService {
 
+    private static final Logger logger = LoggerFactory.getLogger(OneTimeCodeService.class);
+    private static final int MAX_CACHED_CODES = 1000;
+
+    // plain JDBC: a native delete through JPA declares no query spaces, and Hibernate would clear every
+    // second-level cache region on each chunk
+    private static final String DELETE_EXPIRED_CHUNK = """
+            DELETE FROM one_time_codes
+            WHERE id IN (
+                SELECT id FROM one_time_codes
+                WHERE expiry_date < ?
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            """;
+
     private final OneTimeCodeRepository oneTimeCodeRepository;
     private final CompanyRepository companyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long cacheTtlNanos;
+    private final int purgeChunkSize;
+
+    // code value -> immutable snapshot; only codes that exist are cached, so guessing cannot fill it
+    private final ConcurrentMap<String, CachedCode> codeCache = new ConcurrentHashMap<>();
 
     @Autowired
     public OneTimeCodeService(
             OneTimeCodeRepository oneTimeCodeRepository,
-            CompanyRepository companyRepository
+            CompanyRepository companyRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.one-time-code.cache-ttl-seconds:300}") long cacheTtlSeconds,
+            @Value("${app.one-time-code.purge-chunk-size:500}") int purgeChunkSize
     ) {
         this.oneTimeCodeRepository = oneTimeCodeRepository;
         this.companyRepository = companyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheTtlNanos = TimeUnit.SECONDS.toNanos(cacheTtlSeconds);
+        this.purgeChunkSize = purgeChunkSize;
     }
 
-    public OneTimeCode generateCode(Long companyId, int expirationInHours) {
+    public OneTimeCode generateCode(Long companyId, int expirationInHours, Integer maxUses) {
         companyRepository.findById(companyId)
                 .orElseThrow(() -> new CompanyNotFoundException("Company not found."));
-        OneTimeCode code = new OneTimeCode(companyId, expirationInHours);
+        OneTimeCode code = new OneTimeCode(companyId, expirationInHours, maxUses);
         return oneTimeCodeRepository.save(code);
     }
 
@@ -45,14 +85,61 @@ public class OneTimeCodeService {
         return code;
     }
 
-    public void cleanUpExpiredCodes() {
-        oneTimeCodeRepository.deleteByExpiryDateBefore(LocalDateTime.now());
+    // Lookup used on the registration path. Codes never change after creation apart from their usage
+    // count, which is not part of the snapshot, so a cached entry can be served until its TTL runs out.
+    public Optional<CachedCode> findCode(String codeValue) {
+        CachedCode cached = codeCache.get(codeValue);
+        if (cached != null && System.nanoTime() - cached.cachedAt() < cacheTtlNanos) {
+            return Optional.of(cached);
+        }
+        Optional<CachedCode> loaded = oneTimeCodeRepository.findByCode(codeValue)
+                .map(code -> new CachedCode(code.getId(), code.getCompanyId(), code.getExpiryDate(), System.nanoTime()));
+        if (loaded.isPresent()) {
+            if (codeCache.size() >= MAX_CACHED_CODES) {
+                codeCache.values().removeIf(entry -> System.nanoTime() - entry.cachedAt() >= cacheTtlNanos);
+            }
+            if (codeCache.size() < MAX_CACHED_CODES) {
+                codeCache.put(codeValue, loaded.get());
+            }
+        } else {
+            codeCache.remove(codeValue);
+        }
+        return loaded;
+    }
+
+    // Counts one registration with a single conditional UPDATE, so concurrent registrations never lose
+    // increments. Call it last in the registration transaction to keep the row lock short.
+    public void recordUse(Long codeId) {
+        if (oneTimeCodeRepository.incrementUsedCount(codeId) == 0) {
+            throw new ResourceConflictException("One-time code has reached its usage limit.");
+        }
+    }
+
+    // Deletes expired codes in short transactions; SKIP LOCKED keeps concurrent nodes from colliding.
+    public int cleanUpExpiredCodes() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    jdbcTemplate.update(DELETE_EXPIRED_CHUNK, Timestamp.valueOf(now), purgeChunkSize));
+            total += deleted;
+        } while (deleted == purgeChunkSize);
+        codeCache.values().removeIf(entry -> entry.expiryDate().isBefore(now));
+        if (total > 0) {
+            logger.info("Deleted {} expired one-time codes", total);
+        }
+        return total;
     }
 
     public List<OneTimeCode> getActiveCodesForCompany(Long companyId) {
-        List<OneTimeCode> all = oneTimeCodeRepository.findAll();
-        return all.stream()
-                .filter(code -> code.getCompanyId().equals(companyId) && !code.isExpired())
-                .collect(Collectors.toList());
+        return oneTimeCodeRepository.findByCompanyIdAndExpiryDateAfter(companyId, LocalDateTime.now());
+    }
+
+    public record CachedCode(Long id, Long companyId, LocalDateTime expiryDate, long cachedAt) {
+
+        public boolean isExpired() {
+            return LocalDateTime.now().isAfter(expiryDate);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,203 @@
+package app.wio.service;
+
+import app.wio.entity.OutboxStatus;
+import app.wio.event.OutboxMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drains outbox_events in batches and hands them to every OutboxSink. A batch is locked with SKIP LOCKED,
+// delivered, and deleted in one transaction, so several nodes can relay in parallel. Delivery is
+// at-least-once: if any sink fails, the batch stays in the outbox and is offered again to all sinks once its
+// exponential backoff has passed. A row that fails maxAttempts times is marked DEAD and no longer offered.
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String SELECT_BATCH = """
+            SELECT id, aggregate_type, aggregate_id, event_type, payload, created_at
+            FROM outbox_events
+            WHERE status = 'PENDING' AND next_attempt_at <= ?
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+    private static final String DELETE_BATCH = "DELETE FROM outbox_events WHERE id = ANY (?)";
+    // the delay doubles with each attempt, as in MailDispatcher; right-hand side values are the pre-update ones
+    private static final String RECORD_FAILURE = """
+            UPDATE outbox_events
+            SET attempts = attempts + 1,
+                last_error = ?,
+                next_attempt_at = CAST(? AS timestamp) + LEAST(?, ? * power(2, LEAST(attempts, 20))) * INTERVAL '1 second',
+                status = CASE WHEN attempts + 1 >= ? THEN 'DEAD' ELSE status END
+            WHERE id = ANY (?)
+            RETURNING id, status
+            """;
+    private static final String SELECT_OLDEST = "SELECT MIN(created_at) FROM outbox_events WHERE status = 'PENDING'";
+    private static final String COUNT_DEAD = "SELECT COUNT(*) FROM outbox_events WHERE status = 'DEAD'";
+
+    private static final RowMapper<OutboxMessage> MESSAGE_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getString("aggregate_type"),
+            rs.getObject("aggregate_id", Long.class),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toLocalDateTime()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<OutboxSink> sinks;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxAttempts;
+    private final long backoffSeconds;
+    private final long maxBackoffSeconds;
+
+    private final Counter delivered;
+    private final Counter failures;
+    private final Counter deadLettered;
+    private final DistributionSummary deliveryLag;
+    private final AtomicLong oldestPendingAgeMillis = new AtomicLong();
+    private final AtomicLong deadCount = new AtomicLong();
+
+    @Autowired
+    public OutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            List<OutboxSink> sinks,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.relay.enabled:true}") boolean enabled,
+            @Value("${app.outbox.relay.batch-size:200}") int batchSize,
+            @Value("${app.outbox.relay.max-batches-per-run:50}") int maxBatchesPerRun,
+            @Value("${app.outbox.relay.max-attempts:10}") int maxAttempts,
+            @Value("${app.outbox.relay.backoff-seconds:5}") long backoffSeconds,
+            @Value("${app.outbox.relay.max-backoff-seconds:600}") long maxBackoffSeconds
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sinks = sinks;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxAttempts = maxAttempts;
+        this.backoffSeconds = backoffSeconds;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+        this.delivered = meterRegistry.counter("wio.outbox.delivered");
+        this.failures = meterRegistry.counter("wio.outbox.delivery.failures");
+        this.deadLettered = meterRegistry.counter("wio.outbox.dead.lettered");
+        this.deliveryLag = DistributionSummary.builder("wio.outbox.delivery.lag")
+                .baseUnit("milliseconds")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("wio.outbox.oldest.pending.age", oldestPendingAgeMillis, AtomicLong::get);
+        meterRegistry.gauge("wio.outbox.dead", deadCount, AtomicLong::get);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:1000}")
+    public void relayScheduled() {
+        if (enabled) {
+            relay();
+        }
+    }
+
+    // Returns the number of messages delivered in this run.
+    public int relay() {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            BatchResult result = transactionTemplate.execute(status -> deliverBatch());
+            total += result.delivered();
+            if (result.failed() || result.delivered() < batchSize) {
+                break;
+            }
+        }
+        updateGauges();
+        return total;
+    }
+
+    private BatchResult deliverBatch() {
+        List<OutboxMessage> messages = jdbcTemplate.query(SELECT_BATCH, MESSAGE_MAPPER,
+                Timestamp.valueOf(LocalDateTime.now()), batchSize);
+        if (messages.isEmpty()) {
+            return new BatchResult(0, false);
+        }
+        List<Long> ids = messages.stream().map(OutboxMessage::getId).toList();
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.deliver(messages);
+            } catch (Exception ex) {
+                // the rows stay locked until this transaction commits the attempt counter
+                logger.warn("Outbox sink {} failed for {} messages: {}", sink.name(), messages.size(), ex.getMessage());
+                recordFailure(ids, ex);
+                failures.increment(messages.size());
+                return new BatchResult(0, true);
+            }
+        }
+        jdbcTemplate.update(DELETE_BATCH, ps -> ps.setArray(1, idArray(ps.getConnection(), ids)));
+
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxMessage message : messages) {
+            deliveryLag.record(Duration.between(message.getCreatedAt(), now).toMillis());
+        }
+        delivered.increment(messages.size());
+        return new BatchResult(messages.size(), false);
+    }
+
+    private void recordFailure(List<Long> ids, Exception ex) {
+        String error = String.valueOf(ex.getMessage());
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dead = jdbcTemplate.query(RECORD_FAILURE, ps -> {
+            ps.setString(1, error.length() > 1000 ? error.substring(0, 1000) : error);
+            ps.setTimestamp(2, Timestamp.valueOf(now));
+            ps.setLong(3, maxBackoffSeconds);
+            ps.setLong(4, backoffSeconds);
+            ps.setInt(5, maxAttempts);
+            ps.setArray(6, idArray(ps.getConnection(), ids));
+        }, (rs, rowNum) -> OutboxStatus.DEAD.name().equals(rs.getString("status")) ? rs.getLong("id") : null)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+        if (!dead.isEmpty()) {
+            logger.warn("Giving up on outbox messages {} after {} attempts: {}", dead, maxAttempts, error);
+            deadLettered.increment(dead.size());
+        }
+    }
+
+    private void updateGauges() {
+        Timestamp oldest = jdbcTemplate.queryForObject(SELECT_OLDEST, Timestamp.class);
+        oldestPendingAgeMillis.set(oldest == null
+                ? 0
+                : Math.max(0, Duration.between(oldest.toLocalDateTime(), LocalDateTime.now()).toMillis()));
+        Long dead = jdbcTemplate.queryForObject(COUNT_DEAD, Long.class);
+        deadCount.set(dead == null ? 0 : dead);
+    }
+
+    private static Array idArray(Connection connection, List<Long> ids) throws SQLException {
+        return connection.createArrayOf("bigint", ids.toArray());
+    }
+
+    private record BatchResult(int delivered, boolean failed) {
+    }
+}
@@ -0,0 +1,13 @@
+package app.wio.service;
+
+import app.wio.event.OutboxMessage;
+
+import java.util.List;
+
+// Destination for relayed outbox messages. Throwing leaves the whole batch in the outbox for a retry.
+public interface OutboxSink {
+
+    String name();
+
+    void deliver(List<OutboxMessage> messages) throws Exception;
+}
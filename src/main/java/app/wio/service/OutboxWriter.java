@@ -0,0 +1,119 @@
+package app.wio.service;
+
+import app.wio.dto.response.ShareResponseDto;
+import app.wio.event.BookingCancelledEvent;
+import app.wio.event.BookingCreatedEvent;
+import app.wio.event.SharesCreatedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+// Turns domain events into outbox rows. Rows are buffered per transaction and inserted with one JDBC batch
+// right before commit, so they commit or roll back together with the change that produced them.
+@Component
+public class OutboxWriter {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_OUTBOX_EVENT = """
+            INSERT INTO outbox_events
+                (aggregate_type, aggregate_id, event_type, payload, created_at, status, attempts, next_attempt_at)
+            VALUES (?, ?, ?, ?, ?, 'PENDING', 0, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+        append("Booking", event.getBooking().getId(), "BookingCreated", event.getBooking());
+    }
+
+    @EventListener
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        append("Booking", event.getBooking().getId(), "BookingCancelled", event.getBooking());
+    }
+
+    @EventListener
+    public void onSharesCreated(SharesCreatedEvent event) {
+        for (ShareResponseDto share : event.getShares()) {
+            append("Share", share.getId(), "ShareCreated", share);
+        }
+    }
+
+    public void append(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        PendingRow row = new PendingRow(aggregateType, aggregateId, eventType, serialize(payload),
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            insert(List.of(row));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<PendingRow> buffer = (List<PendingRow>) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            List<PendingRow> rows = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, rows);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    insert(rows);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OutboxWriter.this);
+                }
+            });
+            buffer = rows;
+        }
+        buffer.add(row);
+    }
+
+    private void insert(List<PendingRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX_EVENT, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setString(1, row.aggregateType());
+            if (row.aggregateId() != null) {
+                ps.setLong(2, row.aggregateId());
+            } else {
+                ps.setNull(2, Types.BIGINT);
+            }
+            ps.setString(3, row.eventType());
+            ps.setString(4, row.payload());
+            ps.setTimestamp(5, Timestamp.valueOf(row.createdAt()));
+            ps.setTimestamp(6, Timestamp.valueOf(row.createdAt()));
+        });
+    }
+
+    private String serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload.", e);
+        }
+    }
+
+    private record PendingRow(String aggregateType, Long aggregateId, String eventType, String payload,
+                              LocalDateTime createdAt) {
+    }
+}
@@ -1,50 +1,46 @@
 package app.wio.service;
 
-import app.wio.entity.Share;
 import app.wio.repository.PasswordResetTokenRepository;
-import app.wio.repository.ShareRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class ScheduledTasks {
 
     private final PasswordResetTokenRepository passwordResetTokenRepository;
-    private final ShareRepository shareRepository;
+    private final ShareRetentionService shareRetentionService;
+    private final OneTimeCodeService oneTimeCodeService;
+    private final MailRetentionService mailRetentionService;
 
     @Autowired
     public ScheduledTasks(
             PasswordResetTokenRepository passwordResetTokenRepository,
-            ShareRepository shareRepository
+            ShareRetentionService shareRetentionService,
+            OneTimeCodeService oneTimeCodeService,
+            MailRetentionService mailRetentionService
     ) {
         this.passwordResetTokenRepository = passwordResetTokenRepository;
-        this.shareRepository = shareRepository;
+        this.shareRetentionService = shareRetentionService;
+        this.oneTimeCodeService = oneTimeCodeService;
+        this.mailRetentionService = mailRetentionService;
     }
 
     @Scheduled(cron = "0 0 * * * *")
     public void cleanUpExpiredTokensAndShares() {
         LocalDateTime now = LocalDateTime.now();
         passwordResetTokenRepository.deleteByExpiryDateBefore(now);
-        cleanUpExpiredShares();
+        shareRetentionService.purgeExpiredShares();
     }
 
-    private void cleanUpExpiredShares() {
-        LocalDate today = LocalDate.now();
-        List<Share> allShares = shareRepository.findAll();
-        List<Share> expiredShares = allShares.stream()
-                .filter(s -> s.getMaxBookingDate() != null)
-                .filter(s -> {
-                    LocalDate cutoff = s.getMaxBookingDate().plusDays(30);
-                    return today.isAfter(cutoff);
-                })
-                .collect(Collectors.toList());
-        if (!expiredShares.isEmpty()) {
-            shareRepository.deleteAllInBatch(expiredShares);
-        }
+    @Scheduled(cron = "0 30 * * * *")
+    public void cleanUpExpiredOneTimeCodes() {
+        oneTimeCodeService.cleanUpExpiredCodes();
     }
-}
\ No newline at end of file
+
+    @Scheduled(cron = "0 45 * * * *")
+    public void cleanUpFinishedMail() {
+        mailRetentionService.purgeFinishedMail();
+    }
+}
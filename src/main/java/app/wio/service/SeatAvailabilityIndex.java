@@ -0,0 +1,257 @@
+package app.wio.service;
+
+import app.wio.dto.SeatDto;
+import app.wio.entity.Seat;
+import app.wio.entity.SeatStatus;
+import app.wio.event.BookingCancelledEvent;
+import app.wio.event.BookingCreatedEvent;
+import app.wio.event.SeatLayoutChangedEvent;
+import app.wio.mapper.SeatMapper;
+import app.wio.repository.BookingRepository;
+import app.wio.repository.SeatRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Booked-seat bitmaps per (floor, date). Slots are the floor's seat IDs in ascending order; entries are
+// replaced copy-on-write and expire after a TTL so writes made by other nodes are eventually picked up.
+// Committed bookings and cancellations update the entry for their day, loading it first if it is missing.
+@Component
+public class SeatAvailabilityIndex {
+
+    private final SeatRepository seatRepository;
+    private final BookingRepository bookingRepository;
+    private final SeatMapper seatMapper;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentMap<Long, FloorLayout> layouts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<SlotKey, DateSlots> bookedSlots = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Long> seatFloors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, AtomicLong> floorGenerations = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter rebuilds;
+
+    @Autowired
+    public SeatAvailabilityIndex(
+            SeatRepository seatRepository,
+            BookingRepository bookingRepository,
+            SeatMapper seatMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.availability-index.ttl-seconds:60}") long ttlSeconds
+    ) {
+        this(seatRepository, bookingRepository, seatMapper, meterRegistry, ttlSeconds, System::nanoTime);
+    }
+
+    SeatAvailabilityIndex(
+            SeatRepository seatRepository,
+            BookingRepository bookingRepository,
+            SeatMapper seatMapper,
+            MeterRegistry meterRegistry,
+            long ttlSeconds,
+            LongSupplier nanoClock
+    ) {
+        this.nanoClock = nanoClock;
+        this.seatRepository = seatRepository;
+        this.bookingRepository = bookingRepository;
+        this.seatMapper = seatMapper;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.hits = meterRegistry.counter("wio.availability.index.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("wio.availability.index.lookups", "result", "miss");
+        this.rebuilds = meterRegistry.counter("wio.availability.index.rebuilds");
+        meterRegistry.gauge("wio.availability.index.entries", bookedSlots, Map::size);
+    }
+
+    public List<SeatDto> findFreeSeats(Long floorId, LocalDate date) {
+        FloorLayout layout = layoutFor(floorId);
+        BitSet booked = bookedFor(floorId, date, layout);
+        List<SeatDto> free = new ArrayList<>();
+        for (int slot = layout.available.nextSetBit(0); slot >= 0; slot = layout.available.nextSetBit(slot + 1)) {
+            if (!booked.get(slot)) {
+                free.add(layout.seats.get(slot));
+            }
+        }
+        return free;
+    }
+
+    // Cache-only answer: false when the entry is not cached, so callers still have to check the database.
+    public boolean isKnownBooked(Long seatId, LocalDate date) {
+        Long floorId = seatFloors.get(seatId);
+        if (floorId == null) {
+            return false;
+        }
+        FloorLayout layout = layouts.get(floorId);
+        DateSlots slots = bookedSlots.get(new SlotKey(floorId, date));
+        if (layout == null || slots == null || isStale(slots)) {
+            return false;
+        }
+        int slot = layout.slotOf(seatId);
+        return slot >= 0 && slots.bits.get(slot);
+    }
+
+    public void markBooked(Long floorId, Long seatId, LocalDate date) {
+        update(floorId, seatId, date, true);
+    }
+
+    public void markFree(Long floorId, Long seatId, LocalDate date) {
+        update(floorId, seatId, date, false);
+    }
+
+    public void evictFloor(Long floorId) {
+        generation(floorId).incrementAndGet();
+        FloorLayout removed = layouts.remove(floorId);
+        if (removed != null) {
+            for (long seatId : removed.seatIds) {
+                seatFloors.remove(seatId, floorId);
+            }
+        }
+        bookedSlots.keySet().removeIf(key -> key.floorId().equals(floorId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        markBooked(event.getFloorId(), event.getBooking().getSeatId(), event.getBooking().getDate());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        markFree(event.getFloorId(), event.getBooking().getSeatId(), event.getBooking().getDate());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatLayoutChanged(SeatLayoutChangedEvent event) {
+        evictFloor(event.getFloorId());
+    }
+
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDates() {
+        LocalDate today = LocalDate.now();
+        bookedSlots.keySet().removeIf(key -> key.date().isBefore(today));
+    }
+
+    private void update(Long floorId, Long seatId, LocalDate date, boolean booked) {
+        generation(floorId).incrementAndGet();
+        FloorLayout layout = layoutFor(floorId);
+        int slot = layout.slotOf(seatId);
+        if (slot < 0) {
+            // seat unknown to the cached layout; drop the floor and let the next lookup rebuild it
+            evictFloor(floorId);
+            return;
+        }
+        SlotKey key = new SlotKey(floorId, date);
+        if (bookedSlots.computeIfPresent(key, (k, current) -> current.with(slot, booked)) == null) {
+            // the write is committed, so a fresh load already contains it
+            load(key, layout);
+        }
+    }
+
+    private FloorLayout layoutFor(Long floorId) {
+        FloorLayout layout = layouts.get(floorId);
+        if (layout != null) {
+            return layout;
+        }
+        long generation = generation(floorId).get();
+        List<Seat> seats = new ArrayList<>(seatRepository.findByFloorId(floorId));
+        seats.sort(Comparator.comparing(Seat::getId));
+        layout = new FloorLayout(seats, seatMapper);
+        if (generation(floorId).get() == generation) {
+            layouts.put(floorId, layout);
+            for (long seatId : layout.seatIds) {
+                seatFloors.put(seatId, floorId);
+            }
+        }
+        return layout;
+    }
+
+    private BitSet bookedFor(Long floorId, LocalDate date, FloorLayout layout) {
+        SlotKey key = new SlotKey(floorId, date);
+        DateSlots slots = bookedSlots.get(key);
+        if (slots != null && !isStale(slots)) {
+            hits.increment();
+            return slots.bits;
+        }
+        misses.increment();
+        return load(key, layout);
+    }
+
+    // Loads outside of any map lock so the query never runs while holding a bin monitor. The result is only
+    // cached if no write for the floor arrived meanwhile; the caller still gets it for this one lookup.
+    private BitSet load(SlotKey key, FloorLayout layout) {
+        Long floorId = key.floorId();
+        LocalDate date = key.date();
+        long generation = generation(floorId).get();
+        BitSet bits = new BitSet(layout.seatIds.length);
+        for (Long seatId : bookingRepository.findBookedSeatIdsByFloorIdAndDate(floorId, date)) {
+            int slot = layout.slotOf(seatId);
+            if (slot >= 0) {
+                bits.set(slot);
+            }
+        }
+        rebuilds.increment();
+        DateSlots loaded = new DateSlots(bits, nanoClock.getAsLong());
+        if (generation(floorId).get() == generation && layouts.get(floorId) == layout) {
+            bookedSlots.put(key, loaded);
+        }
+        return bits;
+    }
+
+    private boolean isStale(DateSlots slots) {
+        return nanoClock.getAsLong() - slots.loadedAt() > ttlNanos;
+    }
+
+    private AtomicLong generation(Long floorId) {
+        return floorGenerations.computeIfAbsent(floorId, id -> new AtomicLong());
+    }
+
+    private record SlotKey(Long floorId, LocalDate date) {
+    }
+
+    private record DateSlots(BitSet bits, long loadedAt) {
+
+        DateSlots with(int slot, boolean booked) {
+            BitSet copy = (BitSet) bits.clone();
+            copy.set(slot, booked);
+            return new DateSlots(copy, loadedAt);
+        }
+    }
+
+    private static final class FloorLayout {
+        private final long[] seatIds;
+        private final List<SeatDto> seats;
+        private final BitSet available;
+
+        private FloorLayout(List<Seat> sortedSeats, SeatMapper seatMapper) {
+            this.seatIds = new long[sortedSeats.size()];
+            this.available = new BitSet(sortedSeats.size());
+            List<SeatDto> dtos = new ArrayList<>(sortedSeats.size());
+            for (int slot = 0; slot < sortedSeats.size(); slot++) {
+                Seat seat = sortedSeats.get(slot);
+                seatIds[slot] = seat.getId();
+                dtos.add(seatMapper.toDto(seat));
+                if (seat.getStatus() == SeatStatus.AVAILABLE) {
+                    available.set(slot);
+                }
+            }
+            this.seats = Collections.unmodifiableList(dtos);
+        }
+
+        private int slotOf(long seatId) {
+            int slot = Arrays.binarySearch(seatIds, seatId);
+            return slot >= 0 ? slot : -1;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package app.wio.service;
+
+import app.wio.dto.response.SeatHoldDto;
+import app.wio.entity.BookingStatus;
+import app.wio.entity.Seat;
+import app.wio.event.BookingCreatedEvent;
+import app.wio.event.SeatHoldChangedEvent;
+import app.wio.exception.InvalidBookingRequestException;
+import app.wio.exception.SeatAlreadyBookedException;
+import app.wio.exception.SeatHeldException;
+import app.wio.exception.SeatNotFoundException;
+import app.wio.repository.BookingRepository;
+import app.wio.repository.SeatRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Short-lived, node-local seat reservations between "seat looks free" and createBooking.
+// Expiry is driven by a hashed timer wheel with one-second ticks; lookups also check the deadline,
+// so a hold is never honoured after it expires even if its wheel slot has not been swept yet.
+// Wheel entries point at the hold they were scheduled for; renewing or releasing a hold leaves its old
+// entry behind, and the sweep drops such entries instead of rescheduling them.
+@Service
+public class SeatHoldService {
+
+    private static final int WHEEL_SLOTS = 1024;
+
+    private final SeatRepository seatRepository;
+    private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final int defaultTtlSeconds;
+    private final int maxTtlSeconds;
+
+    private final ConcurrentMap<HoldKey, Hold> holds = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UserDateKey, HoldKey> holdsByUser = new ConcurrentHashMap<>();
+    private final Queue<WheelEntry>[] wheel;
+    private final AtomicLong sweptUpTo;
+
+    @Autowired
+    public SeatHoldService(
+            SeatRepository seatRepository,
+            BookingRepository bookingRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.seat-hold.default-ttl-seconds:120}") int defaultTtlSeconds,
+            @Value("${app.seat-hold.max-ttl-seconds:600}") int maxTtlSeconds
+    ) {
+        this(seatRepository, bookingRepository, eventPublisher, defaultTtlSeconds, maxTtlSeconds,
+                Clock.systemDefaultZone());
+    }
+
+    @SuppressWarnings("unchecked")
+    SeatHoldService(
+            SeatRepository seatRepository,
+            BookingRepository bookingRepository,
+            ApplicationEventPublisher eventPublisher,
+            int defaultTtlSeconds,
+            int maxTtlSeconds,
+            Clock clock
+    ) {
+        if (maxTtlSeconds >= WHEEL_SLOTS) {
+            throw new IllegalArgumentException("Seat hold TTL must be below " + WHEEL_SLOTS + " seconds.");
+        }
+        this.seatRepository = seatRepository;
+        this.bookingRepository = bookingRepository;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.defaultTtlSeconds = defaultTtlSeconds;
+        this.maxTtlSeconds = maxTtlSeconds;
+        this.wheel = new Queue[WHEEL_SLOTS];
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.sweptUpTo = new AtomicLong(Math.floorDiv(clock.millis(), 1000L));
+    }
+
+    public SeatHoldDto hold(Long seatId, LocalDate date, Long userId, Integer ttlSeconds) {
+        int ttl = ttlSeconds == null ? defaultTtlSeconds : ttlSeconds;
+        if (ttl < 1 || ttl > maxTtlSeconds) {
+            throw new InvalidBookingRequestException("Hold duration must be between 1 and " + maxTtlSeconds + " seconds.");
+        }
+        if (date.isBefore(LocalDate.now(clock))) {
+            throw new InvalidBookingRequestException("Booking date cannot be in the past.");
+        }
+        Seat seat = seatRepository.findById(seatId)
+                .orElseThrow(() -> new SeatNotFoundException("Seat with ID " + seatId + " not found."));
+        if (bookingRepository.existsBySeatIdAndDateAndStatus(seatId, date, BookingStatus.ACTIVE)) {
+            throw new SeatAlreadyBookedException("Seat is already booked on " + date + ".");
+        }
+
+        HoldKey key = new HoldKey(seatId, date);
+        long now = clock.millis();
+        Hold hold = new Hold(userId, seat.getFloor().getId(), now + ttl * 1000L);
+        holds.compute(key, (k, current) -> {
+            if (current != null && !current.isExpired(now) && !current.userId().equals(userId)) {
+                throw new SeatHeldException("Seat is currently held by another user.");
+            }
+            return hold;
+        });
+
+        // one hold per user and day: picking another seat releases the previous one
+        HoldKey previous = holdsByUser.put(new UserDateKey(userId, date), key);
+        if (previous != null && !previous.equals(key)) {
+            removeOwnHold(previous, userId);
+        }
+        schedule(key, hold);
+        eventPublisher.publishEvent(new SeatHoldChangedEvent(seatId, hold.floorId(), date, true));
+        return toDto(key, hold);
+    }
+
+    public void release(Long seatId, LocalDate date, Long userId) {
+        HoldKey key = new HoldKey(seatId, date);
+        removeOwnHold(key, userId);
+        holdsByUser.remove(new UserDateKey(userId, date), key);
+    }
+
+    public Optional<SeatHoldDto> findActiveHold(Long seatId, LocalDate date) {
+        HoldKey key = new HoldKey(seatId, date);
+        Hold hold = holds.get(key);
+        if (hold == null || hold.isExpired(clock.millis())) {
+            return Optional.empty();
+        }
+        return Optional.of(toDto(key, hold));
+    }
+
+    public boolean isHeld(Long seatId, LocalDate date) {
+        Hold hold = holds.get(new HoldKey(seatId, date));
+        return hold != null && !hold.isExpired(clock.millis());
+    }
+
+    // Rejects a booking attempt for a seat that somebody else is holding.
+    public void checkBookable(Long seatId, LocalDate date, Long userId) {
+        Hold hold = holds.get(new HoldKey(seatId, date));
+        if (hold != null && !hold.isExpired(clock.millis()) && !hold.userId().equals(userId)) {
+            throw new SeatHeldException("Seat is currently held by another user.");
+        }
+    }
+
+    // The hold has served its purpose once the booking is committed.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        release(event.getBooking().getSeatId(), event.getBooking().getDate(), event.getBooking().getUserId());
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void advanceWheel() {
+        long now = clock.millis();
+        long target = Math.floorDiv(now, 1000L);
+        long from = sweptUpTo.get();
+        if (target <= from || !sweptUpTo.compareAndSet(from, target)) {
+            return;
+        }
+        // never sweep more than one revolution, older slots are the same buckets
+        for (long second = Math.max(from + 1, target - WHEEL_SLOTS + 1); second <= target; second++) {
+            Queue<WheelEntry> bucket = wheel[(int) (second % WHEEL_SLOTS)];
+            List<WheelEntry> notDue = new ArrayList<>();
+            WheelEntry entry;
+            while ((entry = bucket.poll()) != null) {
+                HoldKey key = entry.key();
+                Hold hold = entry.hold();
+                if (holds.get(key) != hold) {
+                    // renewed or released; a renewed hold has an entry of its own
+                    continue;
+                }
+                if (!hold.isExpired(now)) {
+                    // scheduled a full revolution ahead
+                    notDue.add(entry);
+                } else if (holds.remove(key, hold)) {
+                    holdsByUser.remove(new UserDateKey(hold.userId(), key.date()), key);
+                    publishReleased(key, hold);
+                }
+            }
+            for (WheelEntry pending : notDue) {
+                schedule(pending.key(), pending.hold());
+            }
+        }
+    }
+
+    private void removeOwnHold(HoldKey key, Long userId) {
+        Hold hold = holds.get(key);
+        if (hold != null && hold.userId().equals(userId) && holds.remove(key, hold)) {
+            publishReleased(key, hold);
+        }
+    }
+
+    private void publishReleased(HoldKey key, Hold hold) {
+        eventPublisher.publishEvent(new SeatHoldChangedEvent(key.seatId(), hold.floorId(), key.date(), false));
+    }
+
+    private void schedule(HoldKey key, Hold hold) {
+        long dueSecond = Math.floorDiv(hold.expiresAt(), 1000L) + 1;
+        wheel[(int) (dueSecond % WHEEL_SLOTS)].add(new WheelEntry(key, hold));
+    }
+
+    int scheduledCount() {
+        int count = 0;
+        for (Queue<WheelEntry> bucket : wheel) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    private SeatHoldDto toDto(HoldKey key, Hold hold) {
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(hold.expiresAt()), clock.getZone());
+        return new SeatHoldDto(key.seatId(), hold.floorId(), key.date(), hold.userId(), expiresAt);
+    }
+
+    private record HoldKey(Long seatId, LocalDate date) {
+    }
+
+    private record UserDateKey(Long userId, LocalDate date) {
+    }
+
+    // holds are compared by identity, two holds with equal fields are still different schedules
+    private record WheelEntry(HoldKey key, Hold hold) {
+    }
+
+    private record Hold(Long userId, Long floorId, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
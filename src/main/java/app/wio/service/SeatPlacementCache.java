@@ -0,0 +1,64 @@
+package app.wio.service;
+
+import app.wio.event.SeatLayoutChangedEvent;
+import app.wio.repository.SeatRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+// Floor and company of a seat, needed to route and serialize booking commands before any transaction starts.
+// Seats do not move between floors, so entries go away when their floor's layout changes (locally or relayed
+// by a peer), or after ttl in case a relayed change was lost.
+@Component
+public class SeatPlacementCache {
+
+    private static final int MAX_CACHED_SEATS = 100_000;
+
+    private final SeatRepository seatRepository;
+    private final long ttlNanos;
+    private final ConcurrentMap<Long, Cached> placements = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SeatPlacementCache(
+            SeatRepository seatRepository,
+            @Value("${app.layout-cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.seatRepository = seatRepository;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    // Empty for unknown seats; those are not cached, so guessing IDs cannot fill the map.
+    public Optional<Placement> get(Long seatId) {
+        long now = System.nanoTime();
+        Cached cached = placements.get(seatId);
+        if (cached != null && now - cached.loadedAt() <= ttlNanos) {
+            return Optional.of(cached.placement());
+        }
+        Optional<Placement> loaded = seatRepository.findPlacementById(seatId)
+                .map(p -> new Placement(p.getFloorId(), p.getCompanyId()));
+        loaded.ifPresent(p -> {
+            if (placements.size() >= MAX_CACHED_SEATS) {
+                placements.clear();
+            }
+            placements.put(seatId, new Cached(p, now));
+        });
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatLayoutChanged(SeatLayoutChangedEvent event) {
+        placements.values().removeIf(c -> event.getFloorId().equals(c.placement().floorId()));
+    }
+
+    private record Cached(Placement placement, long loadedAt) {
+    }
+
+    public record Placement(Long floorId, Long companyId) {
+    }
+}
@@ -2,16 +2,24 @@ package app.wio.service;
 
 import app.wio.dto.SeatDto;
 import app.wio.dto.SeatBookingInfoDto;
+import app.wio.dto.response.BulkSeatUpdateResponseDto;
+import app.wio.dto.response.SeatHoldDto;
+import app.wio.dto.response.SeatUpsertResultDto;
+import app.wio.dto.response.SeatUpsertResultDto.SeatUpsertOutcome;
 import app.wio.entity.*;
+import app.wio.event.SeatLayoutChangedEvent;
 import app.wio.exception.ResourceConflictException;
 import app.wio.exception.ResourceNotFoundException;
 import app.wio.mapper.SeatMapper;
 import app.wio.repository.BookingRepository;
 import app.wio.repository.FloorRepository;
+import app.wio.repository.SeatFloorRef;
 import app.wio.repository.SeatRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -24,18 +32,33 @@ public class SeatService {
     private final FloorRepository floorRepository;
     private final SeatMapper seatMapper;
     private final BookingRepository bookingRepository;
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final SeatHoldService seatHoldService;
+    private final FloorLayoutCache floorLayoutCache;
+    private final FloorOccupancyStream occupancyStream;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public SeatService(
             SeatRepository seatRepository,
             FloorRepository floorRepository,
             SeatMapper seatMapper,
-            BookingRepository bookingRepository
+            BookingRepository bookingRepository,
+            SeatAvailabilityIndex availabilityIndex,
+            SeatHoldService seatHoldService,
+            FloorLayoutCache floorLayoutCache,
+            FloorOccupancyStream occupancyStream,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.seatRepository = seatRepository;
         this.floorRepository = floorRepository;
         this.seatMapper = seatMapper;
         this.bookingRepository = bookingRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.seatHoldService = seatHoldService;
+        this.floorLayoutCache = floorLayoutCache;
+        this.occupancyStream = occupancyStream;
+        this.eventPublisher = eventPublisher;
     }
 
 
@@ -46,6 +69,7 @@ public class SeatService {
         Seat seat = seatMapper.toEntity(seatDto);
         seat.setFloor(floor);
         Seat saved = seatRepository.save(seat);
+        eventPublisher.publishEvent(new SeatLayoutChangedEvent(floor.getId()));
         return seatMapper.toDto(saved);
     }
 
@@ -68,6 +92,7 @@ public class SeatService {
         seat.setStatus(seatDto.getStatus());
 
         Seat saved = seatRepository.save(seat);
+        eventPublisher.publishEvent(new SeatLayoutChangedEvent(saved.getFloor().getId()));
         return seatMapper.toDto(saved);
     }
 
@@ -85,7 +110,9 @@ public class SeatService {
             );
         }
 
+        Long floorId = seat.getFloor().getId();
         seatRepository.delete(seat);
+        eventPublisher.publishEvent(new SeatLayoutChangedEvent(floorId));
     }
 
     public List<SeatDto> getSeatsByFloorId(Long floorId) {
@@ -96,6 +123,11 @@ public class SeatService {
     }
 
 
+    public FloorLayoutCache.Snapshot getFloorLayout(Long floorId) {
+        return floorLayoutCache.get(floorId);
+    }
+
+
     public List<SeatDto> getAvailableSeatsByFloorId(Long floorId) {
         return getSeatsByFloorId(floorId).stream()
                 .filter(s -> s.getStatus() != null && s.getStatus().name().equals("AVAILABLE"))
@@ -103,44 +135,119 @@ public class SeatService {
     }
 
 
+    public List<SeatDto> getFreeSeatsByFloorIdAndDate(Long floorId, LocalDate date) {
+        return availabilityIndex.findFreeSeats(floorId, date).stream()
+                .filter(s -> !seatHoldService.isHeld(s.getId(), date))
+                .collect(Collectors.toList());
+    }
+
+
     public List<SeatBookingInfoDto> getSeatsWithOccupants(Long floorId, LocalDate date) {
-        // fetch seats for the floor
-        List<Seat> seats = seatRepository.findByFloorId(floorId);
+        // seats, their active booking for the date and the occupant in a single round trip
+        List<SeatBookingInfoDto> seats = bookingRepository.findSeatOccupancyByFloorIdAndDate(floorId, date);
+        for (SeatBookingInfoDto seat : seats) {
+            seat.setHeld(!seat.isBooked() && seatHoldService.isHeld(seat.getId(), date));
+        }
+        return seats;
+    }
 
-        return seats.stream().map(seat -> {
-            SeatBookingInfoDto dto = new SeatBookingInfoDto();
-            dto.setId(seat.getId());
-            dto.setSeatNumber(seat.getSeatNumber());
-            dto.setXCoordinate(seat.getXCoordinate());
-            dto.setYCoordinate(seat.getYCoordinate());
-            dto.setAngle(seat.getAngle());
-
-            List<Booking> seatBookings = bookingRepository.findBySeatIdAndDate(seat.getId(), date);
-            Optional<Booking> activeBooking = seatBookings.stream()
-                    .filter(b -> b.getStatus() == BookingStatus.ACTIVE)
-                    .findFirst();
-
-            if (activeBooking.isPresent()) {
-                Booking b = activeBooking.get();
-                dto.setBooked(true);
-                dto.setOccupantName(b.getUser() != null ? b.getUser().getName() : "Unknown");
-            } else {
-                dto.setBooked(false);
-                dto.setOccupantName(null);
-            }
+    public SeatHoldDto holdSeat(Long seatId, LocalDate date, Long userId, Integer ttlSeconds) {
+        return seatHoldService.hold(seatId, date, userId, ttlSeconds);
+    }
 
-            return dto;
-        }).collect(Collectors.toList());
+    public void releaseSeatHold(Long seatId, LocalDate date, Long userId) {
+        seatHoldService.release(seatId, date, userId);
     }
 
+    public SseEmitter subscribeToOccupancy(Long floorId, LocalDate date) {
+        if (!floorRepository.existsById(floorId)) {
+            throw new ResourceNotFoundException("Floor not found");
+        }
+        return occupancyStream.subscribe(floorId, date);
+    }
+
+    // Floors and existing seats are resolved with one query each, then inserts and updates go out as
+    // JDBC batches (IDENTITY keys rule out Hibernate insert batching). Bad rows are reported, not thrown.
     @Transactional
-    public void bulkUpdateSeats(List<SeatDto> seatDtos) {
+    public BulkSeatUpdateResponseDto bulkUpdateSeats(List<SeatDto> seatDtos) {
+        Set<Long> floorIds = new HashSet<>();
+        Set<Long> seatIds = new HashSet<>();
         for (SeatDto dto : seatDtos) {
-            if (dto.getId() == null) {
-                createSeat(dto);
+            if (dto.getId() != null) {
+                seatIds.add(dto.getId());
+            } else if (dto.getFloorId() != null) {
+                floorIds.add(dto.getFloorId());
+            }
+        }
+        Set<Long> knownFloors = floorIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(floorRepository.findExistingIds(floorIds));
+        Map<Long, Long> seatFloors = seatIds.isEmpty()
+                ? Map.of()
+                : seatRepository.findFloorRefsByIdIn(seatIds).stream()
+                        .collect(Collectors.toMap(SeatFloorRef::getId, SeatFloorRef::getFloorId));
+
+        SeatUpsertResultDto[] results = new SeatUpsertResultDto[seatDtos.size()];
+        List<Integer> inserts = new ArrayList<>();
+        List<Integer> updates = new ArrayList<>();
+        for (int i = 0; i < seatDtos.size(); i++) {
+            SeatDto dto = seatDtos.get(i);
+            String problem = validateSeatRow(dto);
+            if (problem == null && dto.getId() == null && !knownFloors.contains(dto.getFloorId())) {
+                problem = "Floor not found";
+            }
+            if (problem == null && dto.getId() != null && !seatFloors.containsKey(dto.getId())) {
+                problem = "Seat not found";
+            }
+            if (problem != null) {
+                results[i] = upsertResult(i, dto, dto.getId(), SeatUpsertOutcome.FAILED, problem);
+            } else if (dto.getId() == null) {
+                inserts.add(i);
+            } else {
+                updates.add(i);
+            }
+        }
+
+        Set<Long> changedFloors = new HashSet<>();
+        List<Long> newIds = seatRepository.insertSeats(inserts.stream().map(seatDtos::get).toList());
+        for (int j = 0; j < inserts.size(); j++) {
+            int i = inserts.get(j);
+            results[i] = upsertResult(i, seatDtos.get(i), newIds.get(j), SeatUpsertOutcome.CREATED, null);
+            changedFloors.add(seatDtos.get(i).getFloorId());
+        }
+        int[] counts = seatRepository.updateSeats(updates.stream().map(seatDtos::get).toList());
+        int updated = 0;
+        for (int j = 0; j < updates.size(); j++) {
+            int i = updates.get(j);
+            SeatDto dto = seatDtos.get(i);
+            if (counts[j] == 0) {
+                results[i] = upsertResult(i, dto, dto.getId(), SeatUpsertOutcome.FAILED, "Seat not found");
             } else {
-                updateSeat(dto.getId(), dto);
+                results[i] = upsertResult(i, dto, dto.getId(), SeatUpsertOutcome.UPDATED, null);
+                updated++;
+                changedFloors.add(seatFloors.get(dto.getId()));
             }
         }
+        changedFloors.forEach(floorId -> eventPublisher.publishEvent(new SeatLayoutChangedEvent(floorId)));
+
+        int failed = seatDtos.size() - inserts.size() - updated;
+        return new BulkSeatUpdateResponseDto(inserts.size(), updated, failed, Arrays.asList(results));
+    }
+
+    private String validateSeatRow(SeatDto dto) {
+        if (dto.getSeatNumber() == null || dto.getSeatNumber().isBlank()) {
+            return "Seat number is required.";
+        }
+        if (dto.getXCoordinate() == null || dto.getYCoordinate() == null) {
+            return "X and Y coordinates are required.";
+        }
+        if (dto.getId() == null && dto.getFloorId() == null) {
+            return "Floor ID is required.";
+        }
+        return null;
+    }
+
+    private SeatUpsertResultDto upsertResult(int index, SeatDto dto, Long seatId, SeatUpsertOutcome outcome, String message) {
+        return new SeatUpsertResultDto(index, seatId, dto.getSeatNumber(), outcome, message);
     }
 }
@@ -0,0 +1,74 @@
+package app.wio.service;
+
+import app.wio.dto.response.ShareResponseDto;
+import app.wio.event.SharesCreatedEvent;
+import app.wio.repository.UserContact;
+import app.wio.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Queues one notification mail per created share; contacts for the whole batch come from one query.
+@Component
+public class ShareMailNotifier {
+
+    private final UserRepository userRepository;
+    private final MailQueueService mailQueueService;
+    private final String frontendUrl;
+
+    @Autowired
+    public ShareMailNotifier(
+            UserRepository userRepository,
+            MailQueueService mailQueueService,
+            @Value("${app.frontend.url:http://localhost:3000}") String frontendUrl
+    ) {
+        this.userRepository = userRepository;
+        this.mailQueueService = mailQueueService;
+        this.frontendUrl = frontendUrl;
+    }
+
+    @EventListener
+    public void onSharesCreated(SharesCreatedEvent event) {
+        if (event.getShares().isEmpty()) {
+            return;
+        }
+        Set<Long> userIds = new HashSet<>();
+        for (ShareResponseDto share : event.getShares()) {
+            userIds.add(share.getSenderId());
+            userIds.add(share.getRecipientId());
+        }
+        Map<Long, UserContact> contacts = userRepository.findContactsByIdIn(userIds).stream()
+                .collect(Collectors.toMap(UserContact::getId, Function.identity()));
+
+        List<MailQueueService.OutgoingMail> mails = new ArrayList<>();
+        for (ShareResponseDto share : event.getShares()) {
+            UserContact recipient = contacts.get(share.getRecipientId());
+            UserContact sender = contacts.get(share.getSenderId());
+            if (recipient == null || recipient.getEmail() == null) {
+                continue;
+            }
+            String senderName = sender != null ? sender.getName() : "A colleague";
+            mails.add(new MailQueueService.OutgoingMail(
+                    recipient.getEmail(),
+                    senderName + " shared their bookings with you",
+                    body(senderName, share)
+            ));
+        }
+        mailQueueService.enqueue(mails);
+    }
+
+    private String body(String senderName, ShareResponseDto share) {
+        StringBuilder body = new StringBuilder()
+                .append(senderName).append(" shared ").append(share.getBookingIds().size())
+                .append(share.getBookingIds().size() == 1 ? " booking" : " bookings").append(" with you on WIO.\n");
+        if (share.getMessage() != null && !share.getMessage().isBlank()) {
+            body.append("\n").append(share.getMessage()).append("\n");
+        }
+        return body.append("\nOpen your inbox: ").append(frontendUrl).append("/inbox\n").toString();
+    }
+}
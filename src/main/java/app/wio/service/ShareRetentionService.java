@@ -0,0 +1,97 @@
+package app.wio.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+// Deletes shares whose last booking date is past the retention window, together with their share_bookings.
+// Each chunk runs in its own short transaction; SKIP LOCKED lets several nodes purge without blocking.
+@Service
+public class ShareRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShareRetentionService.class);
+
+    private static final String SELECT_EXPIRED_SHARES = """
+            SELECT id FROM shares
+            WHERE max_booking_date < ?
+            ORDER BY max_booking_date
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+    private static final String DELETE_SHARE_BOOKINGS = "DELETE FROM share_bookings WHERE share_id = ANY (?)";
+    private static final String DELETE_SHARES = "DELETE FROM shares WHERE id = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int chunkSize;
+
+    private final Counter sharesDeleted;
+    private final Counter shareBookingsDeleted;
+    private final Timer purgeTimer;
+
+    @Autowired
+    public ShareRetentionService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.share-retention.days:30}") int retentionDays,
+            @Value("${app.share-retention.chunk-size:500}") int chunkSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.sharesDeleted = meterRegistry.counter("wio.retention.rows.deleted", "table", "shares");
+        this.shareBookingsDeleted = meterRegistry.counter("wio.retention.rows.deleted", "table", "share_bookings");
+        this.purgeTimer = meterRegistry.timer("wio.retention.shares.duration");
+    }
+
+    // Returns the number of shares deleted.
+    public int purgeExpiredShares() {
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        return purgeTimer.record(() -> {
+            int total = 0;
+            int deleted;
+            do {
+                deleted = transactionTemplate.execute(status -> deleteChunk(cutoff));
+                total += deleted;
+            } while (deleted == chunkSize);
+            if (total > 0) {
+                logger.info("Deleted {} shares with max booking date before {}", total, cutoff);
+            }
+            return total;
+        });
+    }
+
+    private int deleteChunk(LocalDate cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_EXPIRED_SHARES, Long.class, cutoff, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int links = jdbcTemplate.update(DELETE_SHARE_BOOKINGS, ps -> ps.setArray(1, idArray(ps.getConnection(), ids)));
+        int shares = jdbcTemplate.update(DELETE_SHARES, ps -> ps.setArray(1, idArray(ps.getConnection(), ids)));
+        shareBookingsDeleted.increment(links);
+        sharesDeleted.increment(shares);
+        // a share deleted concurrently still counts as handled, so keep paging on the selected size
+        return ids.size();
+    }
+
+    private static Array idArray(Connection connection, List<Long> ids) throws SQLException {
+        return connection.createArrayOf("bigint", ids.toArray());
+    }
+}
@@ -1,19 +1,30 @@
 package app.wio.service;
 
+import app.wio.dto.request.ShareBatchRequestDto;
 import app.wio.dto.request.ShareRequestDto;
+import app.wio.dto.response.ShareInboxPageDto;
 import app.wio.dto.response.ShareResponseDto;
+import app.wio.dto.response.UnreadCountDto;
 import app.wio.entity.*;
+import app.wio.event.SharesCreatedEvent;
 import app.wio.exception.ResourceNotFoundException;
+import app.wio.repository.BookingDateRef;
 import app.wio.repository.BookingRepository;
+import app.wio.repository.ShareBookingRef;
 import app.wio.repository.ShareBookingRepository;
 import app.wio.repository.ShareRepository;
 import app.wio.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,72 +35,97 @@ public class ShareService {
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final ShareBookingRepository shareBookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public ShareService(
             ShareRepository shareRepository,
             UserRepository userRepository,
             BookingRepository bookingRepository,
-            ShareBookingRepository shareBookingRepository
+            ShareBookingRepository shareBookingRepository,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.shareRepository = shareRepository;
         this.userRepository = userRepository;
         this.bookingRepository = bookingRepository;
         this.shareBookingRepository = shareBookingRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public ShareResponseDto createShare(Long senderId, ShareRequestDto dto) {
-        userRepository.findById(dto.getRecipientId())
-                .orElseThrow(() -> new ResourceNotFoundException("Recipient not found."));
+        if (dto.getRecipientId() == null) {
+            throw new ResourceNotFoundException("Recipient not found.");
+        }
+        return createShares(senderId, List.of(dto.getRecipientId()), dto.getBookingIds(), dto.getMessage()).get(0);
+    }
+
+    // Fans the same bookings out to many recipients. Recipients and bookings are validated with one query each,
+    // and shares and their booking links are inserted with JDBC batches, so the statement count stays flat.
+    @Transactional
+    public List<ShareResponseDto> createShares(Long senderId, ShareBatchRequestDto dto) {
+        return createShares(senderId, dto.getRecipientIds(), dto.getBookingIds(), dto.getMessage());
+    }
 
-        List<Long> bookingIds = dto.getBookingIds();
+    private List<ShareResponseDto> createShares(Long senderId, List<Long> recipientIds, List<Long> bookingIds, String message) {
+        List<Long> recipients = recipientIds.stream().distinct().toList();
+        if (userRepository.findExistingIds(recipients).size() != recipients.size()) {
+            throw new ResourceNotFoundException("Recipient not found.");
+        }
+
+        List<Long> bookings = bookingIds == null ? List.of() : bookingIds.stream().distinct().toList();
         LocalDate maxDate = LocalDate.now();
-        if (!bookingIds.isEmpty()) {
-            List<Booking> sharedBookings = bookingRepository.findAllById(bookingIds);
-            Optional<LocalDate> possibleMax = sharedBookings.stream()
-                    .map(Booking::getDate)
-                    .max(LocalDate::compareTo);
-            if (possibleMax.isPresent()) {
-                maxDate = possibleMax.get();
+        if (!bookings.isEmpty()) {
+            // only the sender's own bookings can be shared; anything else is reported as not found
+            List<BookingDateRef> owned = bookingRepository.findDatesByIdInAndUserId(bookings, senderId);
+            if (owned.size() != bookings.size()) {
+                Set<Long> found = owned.stream().map(BookingDateRef::getId).collect(Collectors.toSet());
+                Long missing = bookings.stream().filter(id -> !found.contains(id)).findFirst().orElseThrow();
+                throw new ResourceNotFoundException("Booking not found (ID=" + missing + ")");
             }
+            maxDate = owned.stream().map(BookingDateRef::getDate).max(LocalDate::compareTo).orElse(maxDate);
         }
 
-
-        Share share = new Share();
-        share.setSenderId(senderId);
-        share.setRecipientId(dto.getRecipientId());
-        share.setMessage(dto.getMessage());
-        share.setCreatedAt(LocalDateTime.now());
-        share.setReadAt(null);
-        share.setMaxBookingDate(maxDate);
-        // Bemærk, shareBookings-listen er tom lige nu
-        Share saved = shareRepository.save(share);
-
-        // Opret ShareBooking-rækker for hver booking
-        for (Long bookingId : bookingIds) {
-            Booking booking = bookingRepository.findById(bookingId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Booking not found (ID=" + bookingId + ")"));
-
-            ShareBooking sb = new ShareBooking(saved, booking);
-            shareBookingRepository.save(sb);
-            // Tilføj til share-objektets liste i memory, hvis du vil have en fuldverdig referencesynkronisering
-            saved.getShareBookings().add(sb);
+        // the column keeps microseconds, so the returned DTOs match what a later read sees
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Long> shareIds = shareRepository.insertShares(senderId, recipients, message, createdAt, maxDate);
+        if (!bookings.isEmpty()) {
+            shareRepository.insertShareBookings(shareIds, bookings);
         }
 
-        // Returner en DTO
-        return toDto(saved);
+        List<ShareResponseDto> result = new ArrayList<>(shareIds.size());
+        for (int i = 0; i < shareIds.size(); i++) {
+            result.add(new ShareResponseDto(
+                    shareIds.get(i), senderId, recipients.get(i), bookings, message, createdAt, null, maxDate
+            ));
+        }
+        eventPublisher.publishEvent(new SharesCreatedEvent(result));
+        return result;
     }
 
     @Transactional(readOnly = true)
     public List<ShareResponseDto> getSharesForRecipient(Long recipientId) {
-        var shares = shareRepository.findByRecipientIdOrderByCreatedAtDesc(recipientId);
-        return shares.stream().map(this::toDto).collect(Collectors.toList());
+        return toDtos(shareRepository.findByRecipientIdOrderByCreatedAtDesc(recipientId));
+    }
+
+    // One query for the page of shares and one for their booking IDs, independent of the page size.
+    @Transactional(readOnly = true)
+    public ShareInboxPageDto getInboxPage(Long recipientId, int page, int size) {
+        Slice<Share> shares = shareRepository.findByRecipientId(
+                recipientId,
+                PageRequest.of(page, size, Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")))
+        );
+        return new ShareInboxPageDto(toDtos(shares.getContent()), page, size, shares.hasNext());
+    }
+
+    @Transactional(readOnly = true)
+    public UnreadCountDto getUnreadCount(Long recipientId) {
+        return new UnreadCountDto(shareRepository.countByRecipientIdAndReadAtIsNull(recipientId));
     }
 
     @Transactional
     public ShareResponseDto markShareAsRead(Long shareId, Long recipientId) {
-        Share share = shareRepository.findById(shareId)
+        Share share = shareRepository.findWithShareBookingsById(shareId)
                 .orElseThrow(() -> new ResourceNotFoundException("Share not found"));
 
         if (!share.getRecipientId().equals(recipientId)) {
@@ -105,7 +141,7 @@ public class ShareService {
 
     @Transactional
     public ShareResponseDto markShareAsUnread(Long shareId, Long recipientId) {
-        Share share = shareRepository.findById(shareId)
+        Share share = shareRepository.findWithShareBookingsById(shareId)
                 .orElseThrow(() -> new ResourceNotFoundException("Share not found"));
         if (!share.getRecipientId().equals(recipientId)) {
             throw new ResourceNotFoundException("Not your share to mark unread");
@@ -124,7 +160,25 @@ public class ShareService {
                 .map(ShareBooking::getBooking)
                 .map(Booking::getId)
                 .collect(Collectors.toList());
+        return toDto(s, bookingIds);
+    }
+
+    // Loads the booking IDs of all shares with a single query instead of walking each share's collection.
+    private List<ShareResponseDto> toDtos(List<Share> shares) {
+        if (shares.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> shareIds = shares.stream().map(Share::getId).toList();
+        Map<Long, List<Long>> bookingIdsByShare = new HashMap<>();
+        for (ShareBookingRef ref : shareBookingRepository.findBookingRefsByShareIdIn(shareIds)) {
+            bookingIdsByShare.computeIfAbsent(ref.getShareId(), id -> new ArrayList<>()).add(ref.getBookingId());
+        }
+        return shares.stream()
+                .map(s -> toDto(s, bookingIdsByShare.getOrDefault(s.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
 
+    private ShareResponseDto toDto(Share s, List<Long> bookingIds) {
         return new ShareResponseDto(
                 s.getId(),
                 s.getSenderId(),
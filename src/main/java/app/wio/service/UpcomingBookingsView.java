@@ -0,0 +1,187 @@
+package app.wio.service;
+
+import app.wio.dto.response.BookingResponseDto;
+import app.wio.entity.BookingStatus;
+import app.wio.event.BookingCancelledEvent;
+import app.wio.event.BookingCreatedEvent;
+import app.wio.event.SeatLayoutChangedEvent;
+import app.wio.repository.BookingRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// Active bookings per user from today to WINDOW_DAYS ahead, kept in a bounded Caffeine cache of at most
+// maxUsers entries. Hits read the cache without locking; loads and committed creates and cancels, which patch
+// cached entries in place, are serialized on this object. Entries are reloaded when the day rolls over or
+// after a TTL counted from their load, so bookings written by other nodes are eventually picked up.
+@Component
+public class UpcomingBookingsView {
+
+    public static final int WINDOW_DAYS = 30;
+
+    private static final Comparator<BookingResponseDto> BY_DATE =
+            Comparator.comparing(BookingResponseDto::getDate).thenComparing(BookingResponseDto::getId);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, Entry> entries;
+    // users with a load in progress; any change to such a user discards the result of the load
+    private final Map<Long, PendingLoad> pendingLoads = new HashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public UpcomingBookingsView(
+            BookingRepository bookingRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.upcoming-bookings.max-users:10000}") int maxUsers,
+            @Value("${app.upcoming-bookings.ttl-seconds:60}") long ttlSeconds
+    ) {
+        this.bookingRepository = bookingRepository;
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                // patches keep the entry's load time, so they do not extend its life
+                .expireAfter(new Expiry<Long, Entry>() {
+                    @Override
+                    public long expireAfterCreate(Long userId, Entry entry, long currentTime) {
+                        return Math.max(0, ttlNanos - (currentTime - entry.loadedAt));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long userId, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(userId, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long userId, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.hits = meterRegistry.counter("wio.upcoming.bookings.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("wio.upcoming.bookings.lookups", "result", "miss");
+        meterRegistry.gauge("wio.upcoming.bookings.entries", this, UpcomingBookingsView::size);
+    }
+
+    public List<BookingResponseDto> get(Long userId) {
+        LocalDate today = LocalDate.now();
+        Entry entry = entries.getIfPresent(userId);
+        if (entry != null && entry.from.equals(today)) {
+            hits.increment();
+            return entry.bookings;
+        }
+        PendingLoad load;
+        long generation;
+        synchronized (this) {
+            load = pendingLoads.computeIfAbsent(userId, id -> new PendingLoad());
+            load.loaders++;
+            generation = load.generation;
+        }
+        misses.increment();
+
+        // the query runs outside the lock; PendingLoad.generation tells whether it raced with a change
+        List<BookingResponseDto> bookings = null;
+        try {
+            bookings = List.copyOf(bookingRepository.findUpcomingBookingsByUserId(
+                    userId, today, today.plusDays(WINDOW_DAYS)));
+            return bookings;
+        } finally {
+            synchronized (this) {
+                if (bookings != null && load.generation == generation) {
+                    entries.put(userId, new Entry(today, bookings, System.nanoTime()));
+                }
+                if (--load.loaders == 0) {
+                    pendingLoads.remove(userId);
+                }
+            }
+        }
+    }
+
+    public synchronized void evict(Long userId) {
+        touch(userId);
+        entries.invalidate(userId);
+    }
+
+    public synchronized void evictAll() {
+        pendingLoads.values().forEach(load -> load.generation++);
+        entries.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        BookingResponseDto booking = event.getBooking();
+        if (!BookingStatus.ACTIVE.name().equals(booking.getStatus())) {
+            return;
+        }
+        synchronized (this) {
+            touch(booking.getUserId());
+            Entry entry = entries.getIfPresent(booking.getUserId());
+            if (entry == null || booking.getDate().isBefore(entry.from)
+                    || booking.getDate().isAfter(entry.from.plusDays(WINDOW_DAYS))) {
+                return;
+            }
+            List<BookingResponseDto> bookings = new ArrayList<>(entry.bookings);
+            bookings.removeIf(b -> b.getId().equals(booking.getId()));
+            bookings.add(booking);
+            bookings.sort(BY_DATE);
+            entries.put(booking.getUserId(), entry.with(List.copyOf(bookings)));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        BookingResponseDto booking = event.getBooking();
+        synchronized (this) {
+            touch(booking.getUserId());
+            Entry entry = entries.getIfPresent(booking.getUserId());
+            if (entry == null) {
+                return;
+            }
+            List<BookingResponseDto> bookings = entry.bookings.stream()
+                    .filter(b -> !b.getId().equals(booking.getId()))
+                    .toList();
+            entries.put(booking.getUserId(), entry.with(bookings));
+        }
+    }
+
+    // seat numbers and floor names are copied into the entries; layout changes are rare, so drop everything
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatLayoutChanged(SeatLayoutChangedEvent event) {
+        evictAll();
+    }
+
+    public int size() {
+        entries.cleanUp();
+        return (int) entries.estimatedSize();
+    }
+
+    private void touch(Long userId) {
+        PendingLoad load = pendingLoads.get(userId);
+        if (load != null) {
+            load.generation++;
+        }
+    }
+
+    private record Entry(LocalDate from, List<BookingResponseDto> bookings, long loadedAt) {
+
+        Entry with(List<BookingResponseDto> bookings) {
+            return new Entry(from, bookings, loadedAt);
+        }
+    }
+
+    private static final class PendingLoad {
+        private long generation;
+        private int loaders;
+    }
+}
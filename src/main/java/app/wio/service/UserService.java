@@ -6,10 +6,11 @@ import app.wio.dto.UserRegistrationDto;
 import app.wio.dto.UserUpdateDto;
 import app.wio.dto.response.UserResponseDto;
 import app.wio.entity.Company;
-import app.wio.entity.OneTimeCode;
 import app.wio.entity.PasswordResetToken;
 import app.wio.entity.User;
 import app.wio.entity.UserRole;
+import app.wio.entity.UserTombstone;
+import app.wio.event.UserTokensRevokedEvent;
 import app.wio.exception.EmailAlreadyInUseException;
 import app.wio.exception.InvalidCredentialsException;
 import app.wio.exception.InvalidOldPasswordException;
@@ -18,47 +19,61 @@ import app.wio.exception.ResourceConflictException;
 import app.wio.exception.ResourceNotFoundException;
 import app.wio.mapper.UserMapper;
 import app.wio.repository.CompanyRepository;
-import app.wio.repository.OneTimeCodeRepository;
 import app.wio.repository.PasswordResetTokenRepository;
 import app.wio.repository.UserRepository;
+import app.wio.repository.UserTombstoneRepository;
 import app.wio.security.CustomUserDetails;
 import app.wio.security.JwtTokenProvider;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class UserService {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final UserMapper userMapper;
     private final CompanyRepository companyRepository;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final UserTombstoneRepository userTombstoneRepository;
     private final JwtTokenProvider jwtTokenProvider;
-    private final OneTimeCodeRepository oneTimeCodeRepository;
+    private final OneTimeCodeService oneTimeCodeService;
+    private final MailQueueService mailQueueService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String frontendUrl;
 
     @Autowired
     public UserService(
             UserRepository userRepository,
-            PasswordEncoder passwordEncoder,
+            PasswordHashingService passwordHashingService,
             UserMapper userMapper,
             CompanyRepository companyRepository,
             PasswordResetTokenRepository passwordResetTokenRepository,
+            UserTombstoneRepository userTombstoneRepository,
             JwtTokenProvider jwtTokenProvider,
-            OneTimeCodeRepository oneTimeCodeRepository
+            OneTimeCodeService oneTimeCodeService,
+            MailQueueService mailQueueService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.frontend.url:http://localhost:3000}") String frontendUrl
     ) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.userMapper = userMapper;
         this.companyRepository = companyRepository;
         this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.userTombstoneRepository = userTombstoneRepository;
         this.jwtTokenProvider = jwtTokenProvider;
-        this.oneTimeCodeRepository = oneTimeCodeRepository;
+        this.oneTimeCodeService = oneTimeCodeService;
+        this.mailQueueService = mailQueueService;
+        this.eventPublisher = eventPublisher;
+        this.frontendUrl = frontendUrl;
     }
 
     public User createAdminForCompany(Company company, String name, String email, String password) {
@@ -68,7 +83,7 @@ public class UserService {
         User user = new User();
         user.setName(name);
         user.setEmail(email);
-        user.setPassword(passwordEncoder.encode(password));
+        user.setPassword(passwordHashingService.encode(password));
         user.setRole(UserRole.ADMIN);
         user.setCompany(company);
         user.setEnabled(true);
@@ -81,7 +96,7 @@ public class UserService {
             throw new EmailAlreadyInUseException("Email already exists.");
         }
         User user = userMapper.toEntity(dto);
-        user.setPassword(passwordEncoder.encode(dto.getPassword()));
+        user.setPassword(passwordHashingService.encode(dto.getPassword()));
         user.setEnabled(true);
         if (dto.getRole() != null && dto.getRole().name().equals("ADMIN")) {
             user.setRole(UserRole.ADMIN);
@@ -90,25 +105,26 @@ public class UserService {
                 throw new ResourceNotFoundException("One-time code is required for EMPLOYEE registrations.");
             }
             user.setRole(UserRole.EMPLOYEE);
-            OneTimeCode code = oneTimeCodeRepository.findByCode(dto.getOneTimeCode())
+            OneTimeCodeService.CachedCode code = oneTimeCodeService.findCode(dto.getOneTimeCode())
                     .orElseThrow(() -> new InvalidTokenException("Invalid one-time code."));
             if (code.isExpired()) {
                 throw new ResourceNotFoundException("One-time code has expired.");
             }
-            Company company = companyRepository.findById(code.getCompanyId())
+            Company company = companyRepository.findById(code.companyId())
                     .orElseThrow(() -> new ResourceNotFoundException("Company not found for code."));
             user.setCompany(company);
-            code.setUsedCount(code.getUsedCount() + 1);
-            oneTimeCodeRepository.save(code);
+            User savedUser = userRepository.save(user);
+            oneTimeCodeService.recordUse(code.id());
+            return userMapper.toDto(savedUser);
         }
         User savedUser = userRepository.save(user);
         return userMapper.toDto(savedUser);
     }
 
     public UserResponseDto authenticateUser(UserLoginDto loginDto) {
-        User user = userRepository.findByEmail(loginDto.getEmail())
+        User user = userRepository.findWithCompanyByEmail(loginDto.getEmail())
                 .orElseThrow(() -> new InvalidCredentialsException("Invalid email or password."));
-        if (!passwordEncoder.matches(loginDto.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(loginDto.getPassword(), user.getPassword())) {
             throw new InvalidCredentialsException("Invalid email or password.");
         }
         String token = jwtTokenProvider.generateToken(user);
@@ -118,14 +134,14 @@ public class UserService {
     }
 
     public UserResponseDto getUserById(Long id) {
-        User user = userRepository.findById(id)
+        User user = userRepository.findWithCompanyById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found."));
         return userMapper.toDto(user);
     }
 
     @Transactional
     public UserResponseDto updateUser(Long userId, UserUpdateDto userUpdateDto) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findWithCompanyById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found."));
         if (userUpdateDto.getName() != null) {
             user.setName(userUpdateDto.getName());
@@ -155,18 +171,23 @@ public class UserService {
     public void changePassword(Long userId, ChangePasswordDto changePasswordDto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found."));
-        if (!passwordEncoder.matches(changePasswordDto.getOldPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(changePasswordDto.getOldPassword(), user.getPassword())) {
             throw new InvalidOldPasswordException("Old password is incorrect.");
         }
-        user.setPassword(passwordEncoder.encode(changePasswordDto.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(changePasswordDto.getNewPassword()));
+        revokeTokens(user);
         userRepository.save(user);
     }
 
+    // The tombstone is what other nodes, and this one after a restart, revoke the deleted user's tokens from.
+    @Transactional
     public void deleteUser(Long userId) {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("User not found.");
         }
         userRepository.deleteById(userId);
+        userTombstoneRepository.save(new UserTombstone(userId, LocalDateTime.now()));
+        eventPublisher.publishEvent(new UserTokensRevokedEvent(userId, Integer.MAX_VALUE));
     }
 
     public List<UserResponseDto> getAllUsers() {
@@ -174,11 +195,21 @@ public class UserService {
         return users.stream().map(userMapper::toDto).collect(Collectors.toList());
     }
 
+    // The mail is only queued here; MailDispatcher sends it once this transaction has committed.
+    @Transactional
     public void initiatePasswordReset(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found."));
         PasswordResetToken newResetToken = new PasswordResetToken(user, 24);
         passwordResetTokenRepository.save(newResetToken);
+        mailQueueService.enqueue(
+                user.getEmail(),
+                "Reset your WIO password",
+                "Hi " + user.getName() + ",\n\n"
+                        + "Use the link below to choose a new password. It is valid for 24 hours.\n\n"
+                        + frontendUrl + "/reset-password?token=" + newResetToken.getToken() + "\n\n"
+                        + "If you did not ask for a password reset, you can ignore this email.\n"
+        );
     }
 
     @Transactional
@@ -186,11 +217,17 @@ public class UserService {
         PasswordResetToken resetToken = passwordResetTokenRepository.findByToken(token)
                 .orElseThrow(() -> new InvalidTokenException("Invalid or expired password reset token."));
         User user = resetToken.getUser();
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingService.encode(newPassword));
+        revokeTokens(user);
         userRepository.save(user);
         passwordResetTokenRepository.delete(resetToken);
     }
 
+    private void revokeTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        eventPublisher.publishEvent(new UserTokensRevokedEvent(user.getId(), user.getTokenVersion()));
+    }
+
     @Transactional
     public void removeEmployeeFromCompany(Long employeeId) {
         CustomUserDetails currentUser = (CustomUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -208,7 +245,9 @@ public class UserService {
         if (employee.getCompany() == null || !employee.getCompany().getId().equals(admin.getCompany().getId())) {
             throw new AccessDeniedException("You cannot remove an employee from another company.");
         }
+        // setCompany bumps tokenVersion; publishing it revokes the old tokens on this node right away
         employee.setCompany(null);
         userRepository.save(employee);
+        eventPublisher.publishEvent(new UserTokensRevokedEvent(employee.getId(), employee.getTokenVersion()));
     }
 }
\ No newline at end of file
@@ -1,8 +1,14 @@
 package app.wio.controller;
 
 import app.wio.dto.request.BookingRequestDto;
+import app.wio.dto.request.BookingSeriesRequestDto;
+import app.wio.dto.response.BookingDateResultDto;
+import app.wio.dto.response.BookingDateResultDto.BookingDateOutcome;
+import app.wio.dto.response.BookingHistoryPageDto;
 import app.wio.dto.response.BookingResponseDto;
+import app.wio.dto.response.BookingSeriesResponseDto;
 import app.wio.security.TestSecurityConfig;
+import app.wio.service.BookingForwarder;
 import app.wio.service.BookingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -18,9 +24,14 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -35,6 +46,9 @@ class BookingControllerTest {
     @MockBean
     BookingService bookingService;
 
+    @MockBean
+    BookingForwarder bookingForwarder;
+
     @Autowired
     ObjectMapper objectMapper;
 
@@ -66,6 +80,84 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status").value("ACTIVE"));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testGetBookingHistory() throws Exception {
+        BookingResponseDto booking = new BookingResponseDto();
+        booking.setId(7L);
+        booking.setDate(LocalDate.of(2030, 1, 7));
+        booking.setStatus("ACTIVE");
+        BookingHistoryPageDto page = new BookingHistoryPageDto(List.of(booking), "djE6MjAzMC0wMS0wNzo3", null);
+
+        Mockito.when(bookingService.getBookingHistory(eq(2L), eq("abc"), eq(1), eq(false))).thenReturn(page);
+
+        mockMvc.perform(get("/api/bookings/user/2/history")
+                        .param("cursor", "abc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings[0].id").value(7))
+                .andExpect(jsonPath("$.nextCursor").value("djE6MjAzMC0wMS0wNzo3"))
+                .andExpect(jsonPath("$.totalCount").isEmpty());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testGetUpcomingBookings() throws Exception {
+        BookingResponseDto booking = new BookingResponseDto();
+        booking.setId(9L);
+        booking.setDate(LocalDate.now().plusDays(2));
+        booking.setStatus("ACTIVE");
+        booking.setSeatNumber("B4");
+
+        Mockito.when(bookingService.getUpcomingBookings(2L)).thenReturn(List.of(booking));
+
+        mockMvc.perform(get("/api/bookings/user/2/upcoming"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(9))
+                .andExpect(jsonPath("$[0].seatNumber").value("B4"));
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void testCreateBookingSeries() throws Exception {
+        LocalDate start = LocalDate.now().plusDays(7);
+        BookingSeriesRequestDto request = new BookingSeriesRequestDto();
+        request.setSeatId(1L);
+        request.setUserId(2L);
+        request.setStartDate(start);
+        request.setEndDate(start.plusWeeks(2));
+        request.setDaysOfWeek(Set.of(DayOfWeek.TUESDAY));
+
+        BookingSeriesResponseDto response = new BookingSeriesResponseDto(1L, 2L, 1, 1, List.of(
+                new BookingDateResultDto(start, BookingDateOutcome.BOOKED, 100L, null),
+                new BookingDateResultDto(start.plusWeeks(1), BookingDateOutcome.SEAT_TAKEN, null, "Seat is already booked.")
+        ));
+
+        Mockito.when(bookingService.createBookingSeries(any(BookingSeriesRequestDto.class)))
+                .thenReturn(response);
+
+        mockMvc.perform(post("/api/bookings/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.bookedCount").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("BOOKED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("SEAT_TAKEN"));
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void testCreateBookingSeriesRequiresDates() throws Exception {
+        BookingSeriesRequestDto request = new BookingSeriesRequestDto();
+        request.setSeatId(1L);
+        request.setUserId(2L);
+
+        mockMvc.perform(post("/api/bookings/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testCreateBookingUnauthorized() throws Exception {
         // No @WithMockUser means no authentication → should be 401
@@ -2,8 +2,12 @@ package app.wio.controller;
 
 import app.wio.dto.CompanyCreationDto;
 import app.wio.dto.response.CompanyDto;
+import app.wio.dto.response.CompanyOccupancyDto;
+import app.wio.dto.response.DailyOccupancyDto;
+import app.wio.dto.response.FloorOccupancyDto;
 import app.wio.security.TestSecurityConfig;
 import app.wio.service.CompanyService;
+import app.wio.service.OccupancyService;
 import app.wio.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -16,12 +20,17 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.util.Collections;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -39,6 +48,9 @@ class CompanyControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private OccupancyService occupancyService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -71,4 +83,24 @@ class CompanyControllerTest {
                 .andExpect(jsonPath("$.floorIds.length()").value(0))
                 .andExpect(jsonPath("$.userIds.length()").value(1));
     }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testGetCompanyOccupancy() throws Exception {
+        LocalDate date = LocalDate.of(2030, 1, 7);
+        FloorOccupancyDto floor = new FloorOccupancyDto(
+                3L, "Ground", 0, 10, 8, List.of(new DailyOccupancyDto(date, 5, 3))
+        );
+        CompanyOccupancyDto occupancy = new CompanyOccupancyDto(1L, date, date, List.of(floor));
+
+        Mockito.when(occupancyService.getCompanyOccupancy(eq(1L), eq(date), eq(1))).thenReturn(occupancy);
+
+        mockMvc.perform(get("/api/companies/1/occupancy")
+                        .param("from", "2030-01-07")
+                        .param("days", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.floors[0].floorName").value("Ground"))
+                .andExpect(jsonPath("$.floors[0].days[0].booked").value(5))
+                .andExpect(jsonPath("$.floors[0].days[0].available").value(3));
+    }
 }
@@ -1,8 +1,12 @@
 package app.wio.controller;
 
 import app.wio.dto.SeatDto;
+import app.wio.dto.response.SeatHoldDto;
 import app.wio.entity.SeatStatus;
+import app.wio.security.CustomUserDetails;
 import app.wio.security.TestSecurityConfig;
+import app.wio.service.BookingForwarder;
+import app.wio.service.FloorLayoutCache;
 import app.wio.service.SeatService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -13,11 +17,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 
 import static org.mockito.ArgumentMatchers.eq;
@@ -25,6 +33,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 
 @WebMvcTest(SeatController.class)
 @ActiveProfiles("test")
@@ -37,6 +46,9 @@ class SeatControllerTest {
     @MockBean
     SeatService seatService;
 
+    @MockBean
+    BookingForwarder bookingForwarder;
+
     @Autowired
     ObjectMapper objectMapper;
 
@@ -95,10 +107,82 @@ class SeatControllerTest {
                 .andExpect(jsonPath("$[0].status").value("AVAILABLE"));
     }
 
+    @Test
+    @WithMockUser
+    void testGetAvailableSeatsForDate() throws Exception {
+        SeatDto seat = new SeatDto();
+        seat.setId(2L);
+        seat.setSeatNumber("A2");
+        seat.setXCoordinate(15.0);
+        seat.setYCoordinate(25.0);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        seat.setFloorId(1L);
+
+        Mockito.when(seatService.getFreeSeatsByFloorIdAndDate(eq(1L), eq(LocalDate.of(2030, 1, 7))))
+                .thenReturn(Collections.singletonList(seat));
+
+        mockMvc.perform(get("/api/seats/available")
+                        .param("floorId", "1")
+                        .param("date", "2030-01-07"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].seatNumber").value("A2"));
+    }
+
     @Test
     void testGetAvailableSeatsUnauthorized() throws Exception {
         mockMvc.perform(get("/api/seats/available")
                         .param("floorId", "1"))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void testHoldSeat() throws Exception {
+        CustomUserDetails principal = new CustomUserDetails(
+                5L, "employee@example.com", "password", true,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_EMPLOYEE"))
+        );
+        LocalDate date = LocalDate.of(2030, 1, 7);
+        SeatHoldDto hold = new SeatHoldDto(2L, 1L, date, 5L, LocalDateTime.of(2030, 1, 6, 9, 2));
+
+        Mockito.when(seatService.holdSeat(eq(2L), eq(date), eq(5L), eq(60))).thenReturn(hold);
+
+        mockMvc.perform(post("/api/seats/2/hold")
+                        .param("date", "2030-01-07")
+                        .param("ttlSeconds", "60")
+                        .with(user(principal)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.seatId").value(2))
+                .andExpect(jsonPath("$.userId").value(5))
+                .andExpect(jsonPath("$.floorId").value(1));
+    }
+
+    @Test
+    @WithMockUser
+    void testStreamFloorOccupancy() throws Exception {
+        LocalDate date = LocalDate.of(2030, 1, 7);
+        Mockito.when(seatService.subscribeToOccupancy(1L, date)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/seats/floor/1/stream")
+                        .param("date", "2030-01-07")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        Mockito.verify(seatService).subscribeToOccupancy(1L, date);
+    }
+
+    @Test
+    @WithMockUser
+    void testGetSeatsByFloorIdNotModified() throws Exception {
+        byte[] json = "[{\"id\":1,\"seatNumber\":\"A1\"}]".getBytes();
+        Mockito.when(seatService.getFloorLayout(1L)).thenReturn(new FloorLayoutCache.Snapshot(json, "\"abc\""));
+
+        mockMvc.perform(get("/api/seats/floor/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(jsonPath("$[0].seatNumber").value("A1"));
+
+        mockMvc.perform(get("/api/seats/floor/1").header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified());
+    }
 }
@@ -1,9 +1,11 @@
 package app.wio.controller;
 
+import app.wio.dto.UserLoginDto;
 import app.wio.dto.UserRegistrationDto;
 import app.wio.dto.UserRoleDto;
 import app.wio.dto.response.UserResponseDto;
 import app.wio.entity.UserRole;
+import app.wio.exception.PasswordHashingBusyException;
 import app.wio.security.TestSecurityConfig;
 import app.wio.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -67,4 +69,21 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.role").value("EMPLOYEE"))
                 .andExpect(jsonPath("$.token").value("MOCKED_JWT_TOKEN"));
     }
+
+    @Test
+    void testLoginReturnsTooManyRequestsWhenHashingPoolIsFull() throws Exception {
+        UserLoginDto dto = new UserLoginDto();
+        dto.setEmail("john@example.com");
+        dto.setPassword("Password123");
+
+        Mockito.when(userService.authenticateUser(any(UserLoginDto.class)))
+                .thenThrow(new PasswordHashingBusyException("Too many concurrent sign-in requests, please retry shortly."));
+
+        mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(429));
+    }
 }
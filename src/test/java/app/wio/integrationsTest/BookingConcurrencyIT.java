@@ -0,0 +1,139 @@
+package app.wio.integrationsTest;
+
+import app.wio.dto.request.BookingRequestDto;
+import app.wio.entity.*;
+import app.wio.exception.SeatAlreadyBookedException;
+import app.wio.repository.BookingRepository;
+import app.wio.repository.CompanyRepository;
+import app.wio.repository.FloorRepository;
+import app.wio.repository.SeatRepository;
+import app.wio.repository.UserRepository;
+import app.wio.service.BookingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Not @Transactional: every claim has to commit on its own connection for the race to be real.
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingConcurrencyIT {
+
+    private static final int PARALLEL_REQUESTS = 300;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long seatId;
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Company company = new Company();
+        company.setName("Rush Hour");
+        company.setAddress("9 Rush Street");
+        company = companyRepository.save(company);
+
+        Floor floor = new Floor();
+        floor.setName("Hot Desk Floor");
+        floor.setFloorNumber(1);
+        floor.setCompany(company);
+        floor = floorRepository.save(floor);
+
+        Seat seat = new Seat();
+        seat.setSeatNumber("WINDOW-1");
+        seat.setXCoordinate(1.0);
+        seat.setYCoordinate(1.0);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        seat.setFloor(floor);
+        seatId = seatRepository.save(seat).getId();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < PARALLEL_REQUESTS; i++) {
+            User user = new User();
+            user.setName("Employee " + i);
+            user.setEmail("rush" + i + "@example.com");
+            user.setPassword("Password123");
+            user.setRole(UserRole.EMPLOYEE);
+            user.setEnabled(true);
+            user.setCompany(company);
+            users.add(user);
+        }
+        userRepository.saveAll(users).forEach(u -> userIds.add(u.getId()));
+    }
+
+    @Test
+    void testParallelClaimsProduceExactlyOneBooking() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long userId : userIds) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    bookingService.createBooking(new BookingRequestDto(seatId, userId, date));
+                    booked.incrementAndGet();
+                } catch (SeatAlreadyBookedException ex) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        long activeBookings = bookingRepository.findBySeatIdAndDate(seatId, date).stream()
+                .filter(b -> b.getStatus() == BookingStatus.ACTIVE)
+                .count();
+        assertEquals(1, booked.get());
+        assertEquals(PARALLEL_REQUESTS - 1, rejected.get());
+        assertEquals(1, activeBookings);
+    }
+
+    @Test
+    void testSeatCanBeClaimedAgainAfterCancellation() {
+        LocalDate date = LocalDate.now().plusDays(2);
+        Long bookingId = bookingService.createBooking(new BookingRequestDto(seatId, userIds.get(0), date)).getId();
+        bookingService.cancelBooking(bookingId);
+
+        bookingService.createBooking(new BookingRequestDto(seatId, userIds.get(1), date));
+
+        long activeBookings = bookingRepository.findBySeatIdAndDate(seatId, date).stream()
+                .filter(b -> b.getStatus() == BookingStatus.ACTIVE)
+                .count();
+        assertEquals(1, activeBookings);
+    }
+}
@@ -0,0 +1,157 @@
+package app.wio.integrationsTest;
+
+import app.wio.dto.response.BookingHistoryPageDto;
+import app.wio.dto.response.BookingResponseDto;
+import app.wio.entity.*;
+import app.wio.exception.InvalidBookingRequestException;
+import app.wio.repository.*;
+import app.wio.service.BookingService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingHistoryIT {
+
+    private static final int BOOKINGS = 40;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Company company = new Company();
+        company.setName("History Company");
+        company.setAddress("1 History Street");
+        company = companyRepository.save(company);
+
+        Floor floor = new Floor();
+        floor.setName("History Floor");
+        floor.setFloorNumber(1);
+        floor.setCompany(company);
+        floor = floorRepository.save(floor);
+
+        Seat seat = new Seat();
+        seat.setSeatNumber("H1");
+        seat.setXCoordinate(1.0);
+        seat.setYCoordinate(1.0);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        seat.setFloor(floor);
+        seat = seatRepository.save(seat);
+
+        user = new User();
+        user.setName("History User");
+        user.setEmail("history@example.com");
+        user.setPassword("Password123");
+        user.setRole(UserRole.EMPLOYEE);
+        user.setEnabled(true);
+        user.setCompany(company);
+        user = userRepository.save(user);
+
+        LocalDate start = LocalDate.now().minusYears(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = new Booking();
+            booking.setDate(start.plusDays(i * 3L));
+            booking.setStatus(i % 5 == 0 ? BookingStatus.CANCELLED : BookingStatus.ACTIVE);
+            booking.setSeat(seat);
+            booking.setUser(user);
+            bookingRepository.save(booking);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testCursorWalksAllBookingsNewestFirst() {
+        List<BookingResponseDto> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            BookingHistoryPageDto page = bookingService.getBookingHistory(user.getId(), cursor, 7, false);
+            assertNull(page.getTotalCount());
+            seen.addAll(page.getBookings());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(6, pages);
+        assertEquals(BOOKINGS, seen.size());
+        assertEquals(BOOKINGS, seen.stream().map(BookingResponseDto::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1).getDate().isAfter(seen.get(i).getDate()));
+        }
+        assertEquals("History Floor", seen.get(0).getFloorName());
+    }
+
+    @Test
+    void testDeepPageCostsOneStatementWithoutCount() {
+        BookingHistoryPageDto first = bookingService.getBookingHistory(user.getId(), null, 5, false);
+        BookingHistoryPageDto second = bookingService.getBookingHistory(user.getId(), first.getNextCursor(), 5, false);
+        String deepCursor = second.getNextCursor();
+        for (int i = 0; i < 5; i++) {
+            deepCursor = bookingService.getBookingHistory(user.getId(), deepCursor, 5, false).getNextCursor();
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        BookingHistoryPageDto deep = bookingService.getBookingHistory(user.getId(), deepCursor, 5, false);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(5, deep.getBookings().size());
+    }
+
+    @Test
+    void testTotalCountOnlyWhenRequested() {
+        BookingHistoryPageDto page = bookingService.getBookingHistory(user.getId(), null, 10, true);
+
+        assertEquals(BOOKINGS, page.getTotalCount());
+    }
+
+    @Test
+    void testInvalidCursorIsRejected() {
+        assertThrows(InvalidBookingRequestException.class,
+                () -> bookingService.getBookingHistory(user.getId(), "not-a-cursor", 10, false));
+        assertThrows(InvalidBookingRequestException.class,
+                () -> bookingService.getBookingHistory(user.getId(), null, 0, false));
+    }
+}
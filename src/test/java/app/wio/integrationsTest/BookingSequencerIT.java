@@ -0,0 +1,235 @@
+package app.wio.integrationsTest;
+
+import app.wio.dto.request.BookingRequestDto;
+import app.wio.dto.response.BookingResponseDto;
+import app.wio.entity.*;
+import app.wio.exception.DuplicateBookingException;
+import app.wio.exception.SeatAlreadyBookedException;
+import app.wio.repository.BookingRepository;
+import app.wio.repository.CompanyRepository;
+import app.wio.repository.FloorRepository;
+import app.wio.repository.SeatRepository;
+import app.wio.repository.UserRepository;
+import app.wio.service.BookingSequencer;
+import app.wio.service.BookingService;
+import app.wio.service.SeatPlacementCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: callers inside a transaction claim inline and would bypass the sequencer.
+// Lanes count as idle at once; the tests run the sweep themselves.
+@SpringBootTest(properties = {
+        "app.booking.sequencer.lane-idle-ms=0",
+        "app.booking.sequencer.sweep-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingSequencerIT {
+
+    private static final int USERS = 100;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SeatPlacementCache seatPlacementCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BookingSequencer bookingSequencer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> seatIds = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Company company = new Company();
+        company.setName("Sequenced");
+        company.setAddress("1 Queue Lane");
+        company = companyRepository.save(company);
+
+        Floor floor = new Floor();
+        floor.setName("Busy Floor");
+        floor.setFloorNumber(1);
+        floor.setCompany(company);
+        floor = floorRepository.save(floor);
+
+        List<Seat> seats = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            Seat seat = new Seat();
+            seat.setSeatNumber("Q-" + i);
+            seat.setXCoordinate((double) i);
+            seat.setYCoordinate(1.0);
+            seat.setStatus(SeatStatus.AVAILABLE);
+            seat.setFloor(floor);
+            seats.add(seat);
+        }
+        seatRepository.saveAll(seats).forEach(s -> seatIds.add(s.getId()));
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("Queued " + i);
+            user.setEmail("queued" + i + "@example.com");
+            user.setPassword("Password123");
+            user.setRole(UserRole.EMPLOYEE);
+            user.setEnabled(true);
+            user.setCompany(company);
+            users.add(user);
+        }
+        userRepository.saveAll(users).forEach(u -> userIds.add(u.getId()));
+    }
+
+    @Test
+    void testSubmittedClaimsForOneSeatHaveExactlyOneWinner() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        List<CompletableFuture<BookingResponseDto>> results = new ArrayList<>();
+        for (Long userId : userIds) {
+            results.add(bookingService.submitBooking(new BookingRequestDto(seatIds.get(0), userId, date)));
+        }
+
+        int booked = 0;
+        int rejected = 0;
+        for (CompletableFuture<BookingResponseDto> result : results) {
+            try {
+                result.orTimeout(30, TimeUnit.SECONDS).join();
+                booked++;
+            } catch (CompletionException ex) {
+                assertInstanceOf(SeatAlreadyBookedException.class, ex.getCause());
+                rejected++;
+            }
+        }
+
+        assertEquals(1, booked);
+        assertEquals(USERS - 1, rejected);
+        assertEquals(1, activeBookings(seatIds.get(0), date));
+    }
+
+    @Test
+    void testClaimsForDifferentSeatsAreCommittedInBatches() {
+        LocalDate date = LocalDate.now().plusDays(2);
+        // placements are looked up before queueing; warm them so submitting is not paced by those reads
+        seatIds.forEach(seatPlacementCache::get);
+        List<CompletableFuture<BookingResponseDto>> results = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            results.add(bookingService.submitBooking(new BookingRequestDto(seatIds.get(i), userIds.get(i), date)));
+        }
+
+        for (int i = 0; i < USERS; i++) {
+            BookingResponseDto booking = results.get(i).orTimeout(30, TimeUnit.SECONDS).join();
+            assertEquals(seatIds.get(i), booking.getSeatId());
+            assertEquals(userIds.get(i), booking.getUserId());
+            assertEquals("Busy Floor", booking.getFloorName());
+        }
+        assertEquals(USERS, bookingRepository.count());
+
+        // fewer batches than bookings: requests that queued behind a commit were claimed together
+        long batches = meterRegistry.get("wio.booking.sequencer.batch.size").summary().count();
+        assertTrue(batches < USERS, "expected batching, got " + batches + " batches");
+    }
+
+    @Test
+    void testSecondSeatForSameUserAndDateIsRejected() {
+        LocalDate date = LocalDate.now().plusDays(3);
+        Long userId = userIds.get(0);
+        CompletableFuture<BookingResponseDto> first =
+                bookingService.submitBooking(new BookingRequestDto(seatIds.get(0), userId, date));
+        CompletableFuture<BookingResponseDto> second =
+                bookingService.submitBooking(new BookingRequestDto(seatIds.get(1), userId, date));
+
+        assertEquals(seatIds.get(0), first.orTimeout(30, TimeUnit.SECONDS).join().getSeatId());
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> second.orTimeout(30, TimeUnit.SECONDS).join());
+        assertInstanceOf(DuplicateBookingException.class, ex.getCause());
+        assertEquals(0, activeBookings(seatIds.get(1), date));
+    }
+
+    @Test
+    void testBlockingCreateBookingReportsConflict() {
+        LocalDate date = LocalDate.now().plusDays(4);
+        bookingService.createBooking(new BookingRequestDto(seatIds.get(0), userIds.get(0), date));
+
+        assertThrows(SeatAlreadyBookedException.class,
+                () -> bookingService.createBooking(new BookingRequestDto(seatIds.get(0), userIds.get(1), date)));
+        assertEquals(1, activeBookings(seatIds.get(0), date));
+    }
+
+    @Test
+    void testLoserIsExplainedFromReloadedLaneState() {
+        LocalDate date = LocalDate.now().plusDays(5);
+        // loads the lane state for the floor and day
+        bookingService.createBooking(new BookingRequestDto(seatIds.get(0), userIds.get(0), date));
+        // a write that publishes no event, like one from another node
+        jdbcTemplate.update("INSERT INTO booking (date, status, user_id, seat_id) VALUES (?, 'ACTIVE', ?, ?)",
+                date, userIds.get(1), seatIds.get(1));
+        double loads = meterRegistry.get("wio.booking.sequencer.state.loads").counter().count();
+
+        assertThrows(SeatAlreadyBookedException.class,
+                () -> bookingService.createBooking(new BookingRequestDto(seatIds.get(1), userIds.get(2), date)));
+        // the database rejected the claim and a single reload explained it
+        assertEquals(loads + 1, meterRegistry.get("wio.booking.sequencer.state.loads").counter().count());
+
+        // the reloaded state rejects the next attempt without a claim
+        double rejected = meterRegistry.get("wio.booking.sequencer.rejected.in.memory").counter().count();
+        assertThrows(DuplicateBookingException.class,
+                () -> bookingService.createBooking(new BookingRequestDto(seatIds.get(2), userIds.get(1), date)));
+        assertEquals(rejected + 1, meterRegistry.get("wio.booking.sequencer.rejected.in.memory").counter().count());
+    }
+
+    @Test
+    void testIdleLanesAreRetiredAndRecreated() {
+        LocalDate date = LocalDate.now().plusDays(6);
+        bookingService.createBooking(new BookingRequestDto(seatIds.get(0), userIds.get(0), date));
+        assertEquals(1, bookingSequencer.laneCount());
+
+        bookingSequencer.retireIdleLanes();
+        assertEquals(0, bookingSequencer.laneCount());
+
+        // a fresh lane loads the floor's bookings again
+        assertThrows(SeatAlreadyBookedException.class,
+                () -> bookingService.createBooking(new BookingRequestDto(seatIds.get(0), userIds.get(1), date)));
+        bookingService.createBooking(new BookingRequestDto(seatIds.get(1), userIds.get(1), date));
+        assertEquals(1, activeBookings(seatIds.get(1), date));
+    }
+
+    private long activeBookings(Long seatId, LocalDate date) {
+        return bookingRepository.findBySeatIdAndDate(seatId, date).stream()
+                .filter(b -> b.getStatus() == BookingStatus.ACTIVE)
+                .count();
+    }
+}
@@ -0,0 +1,218 @@
+package app.wio.integrationsTest;
+
+import app.wio.dto.request.BookingSeriesRequestDto;
+import app.wio.dto.response.BookingDateResultDto;
+import app.wio.dto.response.BookingDateResultDto.BookingDateOutcome;
+import app.wio.dto.response.BookingSeriesResponseDto;
+import app.wio.entity.*;
+import app.wio.repository.BookingRepository;
+import app.wio.repository.CompanyRepository;
+import app.wio.repository.FloorRepository;
+import app.wio.repository.SeatRepository;
+import app.wio.repository.UserRepository;
+import app.wio.service.BookingService;
+import app.wio.service.SeatHoldService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingSeriesIT {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // the series insert runs through JdbcTemplate, which Hibernate statistics do not see
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    private Company company;
+    private Seat seat;
+    private User booker;
+    private User colleague;
+
+    @BeforeEach
+    void setUp() {
+        company = new Company();
+        company.setName("Series Company");
+        company.setAddress("1 Series Street");
+        company = companyRepository.save(company);
+
+        Floor floor = new Floor();
+        floor.setName("Series Floor");
+        floor.setFloorNumber(1);
+        floor.setCompany(company);
+        floor = floorRepository.save(floor);
+
+        seat = new Seat();
+        seat.setSeatNumber("S1");
+        seat.setXCoordinate(1.0);
+        seat.setYCoordinate(1.0);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        seat.setFloor(floor);
+        seat = seatRepository.save(seat);
+
+        booker = createUser("Booker", "series-booker@example.com");
+        colleague = createUser("Colleague", "series-colleague@example.com");
+    }
+
+    @Test
+    void testStatementCountDoesNotGrowWithDateCount() {
+        LocalDate start = LocalDate.now().plusDays(1);
+
+        long oneDate = countStatements(dates(start, 1));
+        long manyDates = countStatements(dates(start.plusDays(10), 40));
+
+        assertEquals(oneDate, manyDates);
+        assertEquals(41, bookingRepository.count());
+    }
+
+    @Test
+    void testOutcomesAreReportedPerDate() {
+        LocalDate past = LocalDate.now().minusDays(1);
+        LocalDate free = LocalDate.now().plusDays(1);
+        LocalDate alreadyBooked = LocalDate.now().plusDays(2);
+        LocalDate seatTaken = LocalDate.now().plusDays(3);
+        LocalDate held = LocalDate.now().plusDays(4);
+
+        Seat otherSeat = new Seat();
+        otherSeat.setSeatNumber("S2");
+        otherSeat.setXCoordinate(2.0);
+        otherSeat.setYCoordinate(1.0);
+        otherSeat.setStatus(SeatStatus.AVAILABLE);
+        otherSeat.setFloor(seat.getFloor());
+        otherSeat = seatRepository.save(otherSeat);
+        createBooking(booker, otherSeat, alreadyBooked);
+        createBooking(colleague, seat, seatTaken);
+        seatHoldService.hold(seat.getId(), held, colleague.getId(), 60);
+
+        BookingSeriesResponseDto series = bookingService.createBookingSeries(
+                seriesOf(List.of(past, free, alreadyBooked, seatTaken, held)));
+
+        assertEquals(List.of(BookingDateOutcome.PAST_DATE, BookingDateOutcome.BOOKED, BookingDateOutcome.ALREADY_BOOKED,
+                        BookingDateOutcome.SEAT_TAKEN, BookingDateOutcome.SEAT_HELD),
+                series.getResults().stream().map(BookingDateResultDto::getOutcome).toList());
+        assertNotNull(series.getResults().get(1).getBookingId());
+        assertEquals(1, series.getBookedCount());
+        assertEquals(4, series.getConflictCount());
+    }
+
+    @Test
+    void testDateLostToConcurrentBookingIsReportedAsSeatTaken() {
+        LocalDate first = LocalDate.now().plusDays(1);
+        LocalDate contested = LocalDate.now().plusDays(2);
+        // the colleague's booking lands between the availability check and the insert
+        doAnswer(invocation -> {
+            jdbcTemplate.update("INSERT INTO booking (date, status, user_id, seat_id) VALUES (?, 'ACTIVE', ?, ?)",
+                    contested, colleague.getId(), seat.getId());
+            return invocation.callRealMethod();
+        }).when(jdbcTemplate).query(ArgumentMatchers.<String>argThat(sql -> sql != null && sql.contains("date[]")),
+                any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+        BookingSeriesResponseDto series = bookingService.createBookingSeries(seriesOf(List.of(first, contested)));
+
+        assertEquals(List.of(BookingDateOutcome.BOOKED, BookingDateOutcome.SEAT_TAKEN),
+                series.getResults().stream().map(BookingDateResultDto::getOutcome).toList());
+        assertEquals(1, series.getBookedCount());
+        assertEquals(1, series.getConflictCount());
+    }
+
+    private long countStatements(List<LocalDate> dates) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Mockito.clearInvocations(jdbcTemplate);
+
+        BookingSeriesResponseDto series = bookingService.createBookingSeries(seriesOf(dates));
+
+        assertEquals(dates.size(), series.getBookedCount());
+        return statistics.getPrepareStatementCount()
+                + Mockito.mockingDetails(jdbcTemplate).getInvocations().size();
+    }
+
+    private BookingSeriesRequestDto seriesOf(List<LocalDate> dates) {
+        BookingSeriesRequestDto dto = new BookingSeriesRequestDto();
+        dto.setSeatId(seat.getId());
+        dto.setUserId(booker.getId());
+        dto.setDates(dates);
+        return dto;
+    }
+
+    private static List<LocalDate> dates(LocalDate start, int count) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            dates.add(start.plusDays(i));
+        }
+        return dates;
+    }
+
+    private void createBooking(User user, Seat bookedSeat, LocalDate date) {
+        Booking booking = new Booking();
+        booking.setDate(date);
+        booking.setStatus(BookingStatus.ACTIVE);
+        booking.setUser(user);
+        booking.setSeat(bookedSeat);
+        bookingRepository.save(booking);
+    }
+
+    private User createUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("Password123");
+        user.setRole(UserRole.EMPLOYEE);
+        user.setEnabled(true);
+        user.setCompany(company);
+        return userRepository.save(user);
+    }
+}
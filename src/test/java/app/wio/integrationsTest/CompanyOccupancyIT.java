@@ -0,0 +1,169 @@
+package app.wio.integrationsTest;
+
+import app.wio.dto.response.CompanyOccupancyDto;
+import app.wio.dto.response.DailyOccupancyDto;
+import app.wio.dto.response.FloorOccupancyDto;
+import app.wio.entity.*;
+import app.wio.repository.*;
+import app.wio.service.OccupancyService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CompanyOccupancyIT {
+
+    @Autowired
+    private OccupancyService occupancyService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Company company;
+    private LocalDate today;
+    private int userCount;
+
+    @BeforeEach
+    void setUp() {
+        company = new Company();
+        company.setName("Occupancy Dashboard Company");
+        company.setAddress("1 Dashboard Street");
+        company = companyRepository.save(company);
+        today = LocalDate.now();
+    }
+
+    @Test
+    void testCountsPerFloorAndDay() {
+        Floor ground = createFloor("Ground", 1);
+        Floor first = createFloor("First", 2);
+        List<Seat> groundSeats = createSeats(ground, 4);
+        createSeats(first, 2);
+        Seat broken = createSeats(ground, 1).get(0);
+        broken.setStatus(SeatStatus.UNAVAILABLE);
+        seatRepository.save(broken);
+
+        book(groundSeats.get(0), today, BookingStatus.ACTIVE);
+        book(groundSeats.get(1), today, BookingStatus.ACTIVE);
+        book(groundSeats.get(2), today, BookingStatus.CANCELLED);
+        book(groundSeats.get(0), today.plusDays(1), BookingStatus.ACTIVE);
+        book(groundSeats.get(0), today.plusDays(5), BookingStatus.ACTIVE);
+        entityManager.flush();
+        entityManager.clear();
+
+        CompanyOccupancyDto occupancy = occupancyService.getCompanyOccupancy(company.getId(), today, 3);
+
+        assertEquals(today.plusDays(2), occupancy.getEndDate());
+        assertEquals(List.of("Ground", "First"), occupancy.getFloors().stream().map(FloorOccupancyDto::getFloorName).toList());
+        FloorOccupancyDto groundOccupancy = occupancy.getFloors().get(0);
+        assertEquals(5, groundOccupancy.getTotalSeats());
+        assertEquals(4, groundOccupancy.getBookableSeats());
+        assertEquals(List.of(2L, 1L, 0L), groundOccupancy.getDays().stream().map(DailyOccupancyDto::getBooked).toList());
+        assertEquals(List.of(2L, 3L, 4L), groundOccupancy.getDays().stream().map(DailyOccupancyDto::getAvailable).toList());
+        FloorOccupancyDto firstOccupancy = occupancy.getFloors().get(1);
+        assertTrue(firstOccupancy.getDays().stream().allMatch(d -> d.getBooked() == 0 && d.getAvailable() == 2));
+    }
+
+    @Test
+    void testStatementCountDoesNotGrowWithFloorsOrDays() {
+        for (int i = 0; i < 10; i++) {
+            Floor floor = createFloor("Floor " + i, i + 1);
+            List<Seat> seats = createSeats(floor, 3);
+            book(seats.get(0), today.plusDays(i), BookingStatus.ACTIVE);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        occupancyService.getCompanyOccupancy(company.getId(), today, 1);
+        long singleDay = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        CompanyOccupancyDto month = occupancyService.getCompanyOccupancy(company.getId(), today, 30);
+        long thirtyDays = statistics.getPrepareStatementCount();
+
+        assertEquals(4, singleDay);
+        assertEquals(singleDay, thirtyDays);
+        assertEquals(10, month.getFloors().size());
+        assertEquals(10, month.getFloors().stream()
+                .flatMap(f -> f.getDays().stream())
+                .mapToLong(DailyOccupancyDto::getBooked)
+                .sum());
+    }
+
+    private Floor createFloor(String name, int number) {
+        Floor floor = new Floor();
+        floor.setName(name);
+        floor.setFloorNumber(number);
+        floor.setCompany(company);
+        return floorRepository.save(floor);
+    }
+
+    private List<Seat> createSeats(Floor floor, int count) {
+        List<Seat> seats = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Seat seat = new Seat();
+            seat.setSeatNumber(floor.getName() + "-" + seats.size() + "-" + System.nanoTime());
+            seat.setXCoordinate(1.0);
+            seat.setYCoordinate(1.0);
+            seat.setStatus(SeatStatus.AVAILABLE);
+            seat.setFloor(floor);
+            seats.add(seatRepository.save(seat));
+        }
+        return seats;
+    }
+
+    // every booking gets its own user, so the (user_id, date) constraint never interferes
+    private void book(Seat seat, LocalDate date, BookingStatus status) {
+        User user = new User();
+        user.setName("Occupant " + userCount);
+        user.setEmail("occupant" + userCount++ + "@example.com");
+        user.setPassword("Password123");
+        user.setRole(UserRole.EMPLOYEE);
+        user.setEnabled(true);
+        user.setCompany(company);
+        user = userRepository.save(user);
+
+        Booking booking = new Booking();
+        booking.setDate(date);
+        booking.setStatus(status);
+        booking.setSeat(seat);
+        booking.setUser(user);
+        bookingRepository.save(booking);
+    }
+}
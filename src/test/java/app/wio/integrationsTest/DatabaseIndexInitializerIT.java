@@ -0,0 +1,136 @@
+package app.wio.integrationsTest;
+
+import app.wio.config.DatabaseIndexInitializer;
+import app.wio.entity.*;
+import app.wio.repository.CompanyRepository;
+import app.wio.repository.FloorRepository;
+import app.wio.repository.SeatRepository;
+import app.wio.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Simulates a database from before the partial unique index, when racing claims could double-book a seat.
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class DatabaseIndexInitializerIT {
+
+    private static final String INSERT_BOOKING =
+            "INSERT INTO booking (date, status, user_id, seat_id) VALUES (?, ?, ?, ?) RETURNING id";
+
+    @Autowired
+    private DatabaseIndexInitializer databaseIndexInitializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long seatId;
+    private Long firstUserId;
+    private Long secondUserId;
+    private Long thirdUserId;
+
+    @BeforeEach
+    void setUp() {
+        Company company = new Company();
+        company.setName("Legacy Company");
+        company.setAddress("1 Legacy Road");
+        company = companyRepository.save(company);
+
+        Floor floor = new Floor();
+        floor.setName("Legacy Floor");
+        floor.setFloorNumber(1);
+        floor.setCompany(company);
+        floor = floorRepository.save(floor);
+
+        Seat seat = new Seat();
+        seat.setSeatNumber("L1");
+        seat.setXCoordinate(1.0);
+        seat.setYCoordinate(1.0);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        seat.setFloor(floor);
+        seatId = seatRepository.save(seat).getId();
+
+        firstUserId = createUser("first@example.com", company);
+        secondUserId = createUser("second@example.com", company);
+        thirdUserId = createUser("third@example.com", company);
+
+        jdbcTemplate.execute("DROP INDEX ux_booking_active_seat_date");
+    }
+
+    @Test
+    void testDuplicateActiveBookingsAreCancelledBeforeTheIndexIsCreated() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        Long kept = insertBooking(date, BookingStatus.ACTIVE, firstUserId);
+        Long duplicate = insertBooking(date, BookingStatus.ACTIVE, secondUserId);
+        Long otherDay = insertBooking(date.plusDays(1), BookingStatus.ACTIVE, secondUserId);
+
+        databaseIndexInitializer.createIndexes();
+
+        assertEquals("ACTIVE", statusOf(kept));
+        assertEquals("CANCELLED", statusOf(duplicate));
+        assertEquals("ACTIVE", statusOf(otherDay));
+        assertEquals(List.of("ux_booking_active_seat_date"), jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE indexname = 'ux_booking_active_seat_date'", String.class));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> insertBooking(date, BookingStatus.ACTIVE, thirdUserId));
+    }
+
+    @Test
+    void testStartupWithoutDuplicatesLeavesBookingsUntouched() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        Long active = insertBooking(date, BookingStatus.ACTIVE, firstUserId);
+        Long cancelled = insertBooking(date, BookingStatus.CANCELLED, secondUserId);
+
+        databaseIndexInitializer.createIndexes();
+        // a second run finds the index and skips the clean-up
+        databaseIndexInitializer.createIndexes();
+
+        assertEquals("ACTIVE", statusOf(active));
+        assertEquals("CANCELLED", statusOf(cancelled));
+    }
+
+    private Long insertBooking(LocalDate date, BookingStatus status, Long userId) {
+        return jdbcTemplate.queryForObject(INSERT_BOOKING, Long.class, date, status.name(), userId, seatId);
+    }
+
+    private String statusOf(Long bookingId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM booking WHERE id = ?", String.class, bookingId);
+    }
+
+    private Long createUser(String email, Company company) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("Password123");
+        user.setRole(UserRole.EMPLOYEE);
+        user.setEnabled(true);
+        user.setCompany(company);
+        return userRepository.save(user).getId();
+    }
+}
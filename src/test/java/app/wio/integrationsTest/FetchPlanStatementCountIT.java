@@ -0,0 +1,219 @@
+package app.wio.integrationsTest;
+
+import app.wio.entity.*;
+import app.wio.repository.*;
+import app.wio.security.TestJwtTokenUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Pins the number of SQL statements per endpoint. If one of these fails, an association is being
+// loaded outside of its fetch plan; fix the query or entity graph rather than the expected count.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class FetchPlanStatementCountIT {
+
+    private static final int BOOKINGS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestJwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ShareRepository shareRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User employee;
+    private User recipient;
+    private User admin;
+    private List<Booking> bookings = new ArrayList<>();
+    private Share share;
+
+    @BeforeEach
+    void setUp() {
+        Company company = new Company();
+        company.setName("Fetch Plan Company");
+        company.setAddress("1 Fetch Street");
+        company = companyRepository.save(company);
+
+        Floor floor = new Floor();
+        floor.setName("Fetch Floor");
+        floor.setFloorNumber(2);
+        floor.setCompany(company);
+        floor = floorRepository.save(floor);
+
+        Seat seat = new Seat();
+        seat.setSeatNumber("F1");
+        seat.setXCoordinate(1.0);
+        seat.setYCoordinate(1.0);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        seat.setFloor(floor);
+        seat = seatRepository.save(seat);
+
+        employee = createUser("Fetch Employee", "fetch.employee@example.com", UserRole.EMPLOYEE, company);
+        recipient = createUser("Fetch Recipient", "fetch.recipient@example.com", UserRole.EMPLOYEE, company);
+        admin = createUser("Fetch Admin", "fetch.admin@example.com", UserRole.ADMIN, company);
+
+        LocalDate start = LocalDate.now().plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = new Booking();
+            booking.setDate(start.plusDays(i));
+            booking.setStatus(BookingStatus.ACTIVE);
+            booking.setSeat(seat);
+            booking.setUser(employee);
+            bookings.add(bookingRepository.save(booking));
+        }
+
+        share = new Share();
+        share.setSenderId(employee.getId());
+        share.setRecipientId(recipient.getId());
+        share.setMessage("Sit with me");
+        share.setCreatedAt(LocalDateTime.now());
+        share.setMaxBookingDate(bookings.get(2).getDate());
+        for (int i = 0; i < 3; i++) {
+            share.getShareBookings().add(new ShareBooking(share, bookings.get(i)));
+        }
+        share = shareRepository.save(share);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testUserBookingsPageLoadsSeatAndFloorWithThePage() throws Exception {
+        long statements = count(get("/api/bookings/user/" + employee.getId())
+                .param("page", "0")
+                .param("size", "10")
+                .header("Authorization", bearer(employee)), 200);
+
+        // page select with seat and floor joined, plus the count query
+        assertEquals(2, statements);
+    }
+
+    @Test
+    void testBookingHistoryIsOneStatement() throws Exception {
+        assertEquals(1, count(get("/api/bookings/user/" + employee.getId() + "/history")
+                .param("size", "5")
+                .header("Authorization", bearer(employee)), 200));
+    }
+
+    @Test
+    void testUpcomingBookingsIsOneStatement() throws Exception {
+        assertEquals(1, count(get("/api/bookings/user/" + employee.getId() + "/upcoming")
+                .header("Authorization", bearer(employee)), 200));
+    }
+
+    @Test
+    void testCancelBookingByOwner() throws Exception {
+        // ownership check, booking with seat and floor, and the status update
+        assertEquals(3, count(post("/api/bookings/cancel/" + bookings.get(5).getId())
+                .header("Authorization", bearer(employee)), 204));
+    }
+
+    @Test
+    void testGetUserLoadsCompanyInSameStatement() throws Exception {
+        assertEquals(1, count(get("/api/users/" + employee.getId())
+                .header("Authorization", bearer(employee)), 200));
+    }
+
+    @Test
+    void testGetAllUsersDoesNotGrowWithUserCount() throws Exception {
+        assertEquals(1, count(get("/api/users")
+                .header("Authorization", bearer(admin)), 200));
+    }
+
+    @Test
+    void testInboxIsTwoStatements() throws Exception {
+        assertEquals(2, count(get("/api/shares/inbox")
+                .header("Authorization", bearer(recipient)), 200));
+    }
+
+    @Test
+    void testMarkShareAsReadLoadsShareBookingsWithTheShare() throws Exception {
+        reset();
+        mockMvc.perform(patch("/api/shares/" + share.getId() + "/read")
+                        .header("Authorization", bearer(recipient)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingIds.length()").value(3));
+        entityManager.flush();
+
+        // share with its share_bookings, plus the read_at update
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    // Runs the request against an empty persistence context and returns the statements it prepared,
+    // including the ones flushed at the end of the request's transaction.
+    private long count(RequestBuilder request, int expectedStatus) throws Exception {
+        reset();
+        mockMvc.perform(request).andExpect(status().is(expectedStatus));
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void reset() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtTokenUtil.generateToken(user);
+    }
+
+    private User createUser(String name, String email, UserRole role, Company company) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("Password123");
+        user.setRole(role);
+        user.setEnabled(true);
+        user.setCompany(company);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,140 @@
+package app.wio.integrationsTest;
+
+import app.wio.entity.*;
+import app.wio.repository.CompanyRepository;
+import app.wio.repository.QueuedMailRepository;
+import app.wio.repository.UserRepository;
+import app.wio.service.MailDispatcher;
+import app.wio.service.MailQueueService;
+import app.wio.service.UserService;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sends through GreenMail on localhost:3025 (ServerSetupTest.SMTP).
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "app.mail.dispatch.batch-size=10",
+        "app.mail.dispatch.rate-per-second=1000",
+        "app.mail.dispatch.max-attempts=2"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class MailDispatchIT {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication())
+            .withPerMethodLifecycle(true);
+
+    @Autowired
+    private MailDispatcher mailDispatcher;
+
+    @Autowired
+    private MailQueueService mailQueueService;
+
+    @Autowired
+    private QueuedMailRepository queuedMailRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Company company = new Company();
+        company.setName("Mail Company");
+        company.setAddress("1 Mail Street");
+        company = companyRepository.save(company);
+
+        user = new User();
+        user.setName("Mail User");
+        user.setEmail("mail-user@example.com");
+        user.setPassword("Password123");
+        user.setRole(UserRole.EMPLOYEE);
+        user.setEnabled(true);
+        user.setCompany(company);
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void testPasswordResetMailIsQueuedAndSent() throws Exception {
+        userService.initiatePasswordReset(user.getEmail());
+        assertEquals(0, greenMail.getReceivedMessages().length);
+
+        assertEquals(1, mailDispatcher.dispatchBatch());
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length);
+        assertEquals("Reset your WIO password", received[0].getSubject());
+        assertTrue(GreenMailUtil.getBody(received[0]).contains("/reset-password?token="));
+        QueuedMail mail = queuedMailRepository.findAll().get(0);
+        assertEquals(MailStatus.SENT, mail.getStatus());
+        assertNotNull(mail.getSentAt());
+    }
+
+    @Test
+    void testQueueIsDrainedInBatches() {
+        for (int i = 0; i < 25; i++) {
+            mailQueueService.enqueue("bulk" + i + "@example.com", "Bulk " + i, "Body " + i);
+        }
+
+        assertEquals(10, mailDispatcher.dispatchBatch());
+        assertEquals(10, mailDispatcher.dispatchBatch());
+        assertEquals(5, mailDispatcher.dispatchBatch());
+        assertEquals(0, mailDispatcher.dispatchBatch());
+
+        assertEquals(25, greenMail.getReceivedMessages().length);
+        assertEquals(25, queuedMailRepository.findByStatus(MailStatus.SENT).size());
+    }
+
+    @Test
+    void testFailedDeliveryIsRetriedWithBackoffThenGivenUp() {
+        greenMail.stop();
+        mailQueueService.enqueue("retry@example.com", "Retry", "Body");
+
+        assertEquals(1, mailDispatcher.dispatchBatch());
+        QueuedMail afterFirst = queuedMailRepository.findAll().get(0);
+        assertEquals(MailStatus.PENDING, afterFirst.getStatus());
+        assertEquals(1, afterFirst.getAttempts());
+        assertTrue(afterFirst.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertNotNull(afterFirst.getLastError());
+
+        // not due yet
+        assertEquals(0, mailDispatcher.dispatchBatch());
+
+        afterFirst.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        queuedMailRepository.save(afterFirst);
+        assertEquals(1, mailDispatcher.dispatchBatch());
+
+        List<QueuedMail> failed = queuedMailRepository.findByStatus(MailStatus.FAILED);
+        assertEquals(1, failed.size());
+        assertEquals(2, failed.get(0).getAttempts());
+    }
+}
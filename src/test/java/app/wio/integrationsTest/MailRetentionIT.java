@@ -0,0 +1,65 @@
+package app.wio.integrationsTest;
+
+import app.wio.entity.MailStatus;
+import app.wio.entity.QueuedMail;
+import app.wio.repository.QueuedMailRepository;
+import app.wio.service.MailRetentionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.mail.retention.sent-hours=24",
+        "app.mail.retention.failed-days=7",
+        "app.mail.retention.chunk-size=2"
+})
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class MailRetentionIT {
+
+    @Autowired
+    private MailRetentionService mailRetentionService;
+
+    @Autowired
+    private QueuedMailRepository queuedMailRepository;
+
+    @Test
+    void testSentAndFailedMailIsDeletedAfterItsRetention() {
+        LocalDateTime now = LocalDateTime.now();
+        save(MailStatus.SENT, now.minusDays(3), now.minusHours(25));
+        save(MailStatus.SENT, now.minusDays(3), now.minusHours(48));
+        save(MailStatus.SENT, now.minusDays(3), now.minusDays(3));
+        QueuedMail recentSent = save(MailStatus.SENT, now.minusHours(2), now.minusHours(1));
+        save(MailStatus.FAILED, now.minusDays(8), null);
+        QueuedMail recentFailed = save(MailStatus.FAILED, now.minusDays(6), null);
+        QueuedMail oldPending = save(MailStatus.PENDING, now.minusDays(30), null);
+
+        // 4 rows in chunks of 2, plus the empty chunk that ends the loop
+        assertEquals(4, mailRetentionService.purgeFinishedMail());
+
+        List<Long> remaining = queuedMailRepository.findAll().stream().map(QueuedMail::getId).sorted().toList();
+        assertEquals(List.of(recentSent.getId(), recentFailed.getId(), oldPending.getId()), remaining);
+        assertEquals(0, mailRetentionService.purgeFinishedMail());
+    }
+
+    private QueuedMail save(MailStatus status, LocalDateTime createdAt, LocalDateTime sentAt) {
+        QueuedMail mail = new QueuedMail();
+        mail.setRecipient("retention@example.com");
+        mail.setSubject("Password reset");
+        mail.setBody("https://wio.app/reset?token=secret");
+        mail.setStatus(status);
+        mail.setNextAttemptAt(createdAt);
+        mail.setCreatedAt(createdAt);
+        mail.setSentAt(sentAt);
+        return queuedMailRepository.saveAndFlush(mail);
+    }
+}
@@ -0,0 +1,368 @@
+package app.wio.integrationsTest;
+
+import app.wio.WioApplication;
+import app.wio.dto.SeatDto;
+import app.wio.entity.*;
+import app.wio.repository.BookingRepository;
+import app.wio.repository.CompanyRepository;
+import app.wio.repository.FloorRepository;
+import app.wio.repository.SeatRepository;
+import app.wio.repository.UserRepository;
+import app.wio.security.PeerRequestSigner;
+import app.wio.security.TestJwtTokenUtil;
+import app.wio.service.CompanyRouter;
+import app.wio.service.FloorLayoutCache;
+import app.wio.service.SeatPlacementCache;
+import app.wio.service.SeatService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two application instances on localhost sharing the test database. Requests for the same seat are sent
+// to both; the node that does not own the company forwards them to the one that does.
+class MultiNodeBookingIT {
+
+    private static final int PARALLEL_REQUESTS = 60;
+
+    private ConfigurableApplicationContext node1;
+    private ConfigurableApplicationContext node2;
+    private String node1Url;
+    private String node2Url;
+
+    private Long seatId;
+    private Long floorId;
+    private Long companyId;
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+
+    @BeforeEach
+    void startNodes() throws IOException {
+        int port1 = freePort();
+        int port2 = freePort();
+        node1Url = "http://localhost:" + port1;
+        node2Url = "http://localhost:" + port2;
+        String nodeUrls = node1Url + "," + node2Url;
+
+        // node 1 creates the schema, node 2 reuses it
+        node1 = startNode(port1, node1Url, nodeUrls, "create-drop");
+        node2 = startNode(port2, node2Url, nodeUrls, "none");
+
+        Company company = new Company();
+        company.setName("Two Nodes");
+        company.setAddress("2 Cluster Road");
+        company = node1.getBean(CompanyRepository.class).save(company);
+        companyId = company.getId();
+
+        Floor floor = new Floor();
+        floor.setName("Shared Floor");
+        floor.setFloorNumber(1);
+        floor.setCompany(company);
+        floor = node1.getBean(FloorRepository.class).save(floor);
+        floorId = floor.getId();
+
+        Seat seat = new Seat();
+        seat.setSeatNumber("CLUSTER-1");
+        seat.setXCoordinate(1.0);
+        seat.setYCoordinate(1.0);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        seat.setFloor(floor);
+        seatId = node1.getBean(SeatRepository.class).save(seat).getId();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < PARALLEL_REQUESTS; i++) {
+            User user = new User();
+            user.setName("Node Employee " + i);
+            user.setEmail("node" + i + "@example.com");
+            user.setPassword("Password123");
+            user.setRole(UserRole.EMPLOYEE);
+            user.setEnabled(true);
+            user.setCompany(company);
+            users.add(user);
+        }
+        TestJwtTokenUtil tokenUtil = node1.getBean(TestJwtTokenUtil.class);
+        node1.getBean(UserRepository.class).saveAll(users).forEach(u -> {
+            userIds.add(u.getId());
+            tokens.add(tokenUtil.generateToken(u));
+        });
+    }
+
+    @AfterEach
+    void stopNodes() {
+        if (node2 != null) {
+            node2.close();
+        }
+        if (node1 != null) {
+            node1.close();
+        }
+    }
+
+    @Test
+    void testConcurrentClaimsOnBothNodesProduceExactlyOneBooking() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(1);
+        CompanyRouter router = node1.getBean(CompanyRouter.class);
+        assertEquals(router.ownerOf(companyId), node2.getBean(CompanyRouter.class).ownerOf(companyId));
+        ConfigurableApplicationContext nonOwner = router.isOwnedLocally(companyId) ? node2 : node1;
+
+        HttpClient client = HttpClient.newHttpClient();
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < PARALLEL_REQUESTS; i++) {
+            String baseUrl = i % 2 == 0 ? node1Url : node2Url;
+            String token = tokens.get(i);
+            String body = "{\"seatId\":" + seatId + ",\"userId\":" + userIds.get(i) + ",\"date\":\"" + date + "\"}";
+            futures.add(executor.submit(() -> {
+                start.await();
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/bookings/create"))
+                        .header("Content-Type", "application/json")
+                        .header("Authorization", "Bearer " + token)
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 201) {
+                    created.incrementAndGet();
+                } else if (status == 409) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        long activeBookings = node1.getBean(BookingRepository.class).findBySeatIdAndDate(seatId, date).stream()
+                .filter(b -> b.getStatus() == BookingStatus.ACTIVE)
+                .count();
+        assertEquals(1, created.get());
+        assertEquals(PARALLEL_REQUESTS - 1, conflicts.get());
+        assertEquals(1, activeBookings);
+
+        double forwarded = nonOwner.getBean(MeterRegistry.class)
+                .counter("wio.booking.forwarded", "result", "ok").count();
+        assertTrue(forwarded > 0, "non-owner forwarded " + forwarded + " requests");
+    }
+
+    @Test
+    void testForwardedHeaderFromClientIsNotTrusted() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(2);
+        String nonOwnerUrl = isNode1Owner() ? node2Url : node1Url;
+        ConfigurableApplicationContext nonOwner = isNode1Owner() ? node2 : node1;
+
+        // a client claiming to be a peer is still routed to the owner
+        HttpRequest request = HttpRequest.newBuilder(URI.create(nonOwnerUrl + "/api/bookings/create"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + tokens.get(0))
+                .header(PeerRequestSigner.PEER_HEADER, nonOwnerUrl)
+                .POST(HttpRequest.BodyPublishers.ofString(bookingBody(userIds.get(0), date)))
+                .build();
+        assertEquals(201, HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+
+        MeterRegistry registry = nonOwner.getBean(MeterRegistry.class);
+        assertEquals(1.0, registry.counter("wio.booking.forwarded", "result", "untrusted").count());
+        assertEquals(1.0, registry.counter("wio.booking.forwarded", "result", "ok").count());
+    }
+
+    @Test
+    void testHoldOnNonOwnerIsEnforcedByOwner() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(3);
+        String ownerUrl = isNode1Owner() ? node1Url : node2Url;
+        String nonOwnerUrl = isNode1Owner() ? node2Url : node1Url;
+        HttpClient client = HttpClient.newHttpClient();
+
+        HttpRequest hold = HttpRequest.newBuilder(URI.create(nonOwnerUrl + "/api/seats/" + seatId + "/hold?date=" + date))
+                .header("Authorization", "Bearer " + tokens.get(0))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        assertEquals(201, client.send(hold, HttpResponse.BodyHandlers.discarding()).statusCode());
+
+        HttpRequest booking = HttpRequest.newBuilder(URI.create(ownerUrl + "/api/bookings/create"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + tokens.get(1))
+                .POST(HttpRequest.BodyPublishers.ofString(bookingBody(userIds.get(1), date)))
+                .build();
+        assertEquals(409, client.send(booking, HttpResponse.BodyHandlers.discarding()).statusCode());
+    }
+
+    @Test
+    void testCancelOnNonOwnerFreesSeatOnOwnerImmediately() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(5);
+        String ownerUrl = isNode1Owner() ? node1Url : node2Url;
+        String nonOwnerUrl = isNode1Owner() ? node2Url : node1Url;
+        HttpClient client = HttpClient.newHttpClient();
+
+        HttpResponse<String> booked = client.send(HttpRequest.newBuilder(URI.create(ownerUrl + "/api/bookings/create"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + tokens.get(0))
+                .POST(HttpRequest.BodyPublishers.ofString(bookingBody(userIds.get(0), date)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, booked.statusCode());
+        long bookingId = node1.getBean(ObjectMapper.class).readTree(booked.body()).get("id").asLong();
+
+        HttpRequest cancel = HttpRequest.newBuilder(URI.create(nonOwnerUrl + "/api/bookings/cancel/" + bookingId))
+                .header("Authorization", "Bearer " + tokens.get(0))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        assertEquals(204, client.send(cancel, HttpResponse.BodyHandlers.discarding()).statusCode());
+
+        // the owner's sequencer lane still holds the seat unless the cancel reached it
+        HttpRequest rebook = HttpRequest.newBuilder(URI.create(ownerUrl + "/api/bookings/create"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + tokens.get(1))
+                .POST(HttpRequest.BodyPublishers.ofString(bookingBody(userIds.get(1), date)))
+                .build();
+        assertEquals(201, client.send(rebook, HttpResponse.BodyHandlers.discarding()).statusCode());
+
+        ConfigurableApplicationContext nonOwner = isNode1Owner() ? node2 : node1;
+        assertEquals(1.0, nonOwner.getBean(MeterRegistry.class)
+                .counter("wio.booking.forwarded", "result", "ok").count());
+    }
+
+    @Test
+    void testOccupancyStreamOnNonOwnerSeesBookingsMadeOnOwner() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(4);
+        String ownerUrl = isNode1Owner() ? node1Url : node2Url;
+        String nonOwnerUrl = isNode1Owner() ? node2Url : node1Url;
+        HttpClient client = HttpClient.newHttpClient();
+
+        HttpRequest subscribe = HttpRequest.newBuilder(
+                        URI.create(nonOwnerUrl + "/api/seats/floor/" + floorId + "/stream?date=" + date))
+                .header("Authorization", "Bearer " + tokens.get(0))
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build();
+        HttpResponse<Stream<String>> stream = client.send(subscribe, HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, stream.statusCode());
+        CompletableFuture<String> delta = CompletableFuture.supplyAsync(() -> stream.body()
+                .filter(line -> line.startsWith("data:") && line.contains("\"seatId\":" + seatId))
+                .findFirst()
+                .orElse(null));
+
+        HttpRequest booking = HttpRequest.newBuilder(URI.create(ownerUrl + "/api/bookings/create"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + tokens.get(1))
+                .POST(HttpRequest.BodyPublishers.ofString(bookingBody(userIds.get(1), date)))
+                .build();
+        assertEquals(201, client.send(booking, HttpResponse.BodyHandlers.discarding()).statusCode());
+
+        String data = delta.get(30, TimeUnit.SECONDS);
+        assertNotNull(data);
+        assertTrue(data.contains("\"booked\":true"), data);
+    }
+
+    @Test
+    void testLayoutChangeOnOneNodeReachesTheOthersLayoutCache() throws Exception {
+        FloorLayoutCache remoteCache = node2.getBean(FloorLayoutCache.class);
+        String before = new String(remoteCache.get(floorId).getJson(), StandardCharsets.UTF_8);
+        assertTrue(before.contains("CLUSTER-1"), before);
+
+        SeatService seatService = node1.getBean(SeatService.class);
+        SeatDto seat = seatService.getSeatDtoById(seatId);
+        seat.setSeatNumber("CLUSTER-1-MOVED");
+        seatService.updateSeat(seatId, seat);
+
+        // the relay is asynchronous; well within the cache TTL the peer drops its snapshot
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        String after = before;
+        while (!after.contains("CLUSTER-1-MOVED") && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            after = new String(remoteCache.get(floorId).getJson(), StandardCharsets.UTF_8);
+        }
+        assertTrue(after.contains("CLUSTER-1-MOVED"), after);
+        assertEquals(Optional.of(companyId), node2.getBean(SeatPlacementCache.class).get(seatId)
+                .map(SeatPlacementCache.Placement::companyId));
+    }
+
+    @Test
+    void testRouterAgreesAcrossNodesAndSpreadsCompanies() {
+        CompanyRouter router1 = node1.getBean(CompanyRouter.class);
+        CompanyRouter router2 = node2.getBean(CompanyRouter.class);
+        int ownedByNode1 = 0;
+        for (long id = 1; id <= 1000; id++) {
+            assertEquals(router1.ownerOf(id), router2.ownerOf(id));
+            if (router1.isOwnedLocally(id)) {
+                ownedByNode1++;
+            }
+        }
+        assertTrue(ownedByNode1 > 300 && ownedByNode1 < 700, "node 1 owns " + ownedByNode1 + " of 1000");
+    }
+
+    private boolean isNode1Owner() {
+        return node1.getBean(CompanyRouter.class).isOwnedLocally(companyId);
+    }
+
+    private String bookingBody(Long userId, LocalDate date) {
+        return "{\"seatId\":" + seatId + ",\"userId\":" + userId + ",\"date\":\"" + date + "\"}";
+    }
+
+    private static ConfigurableApplicationContext startNode(int port, String selfUrl, String nodeUrls, String ddlAuto) {
+        return new SpringApplicationBuilder(WioApplication.class)
+                .profiles("test")
+                // outside the test framework nothing filters @TestConfiguration classes out of the scan
+                .initializers(context -> context.getBeanFactory().registerSingleton(
+                        "testConfigurationExcludeFilter", new TestConfigurationExcludeFilter()))
+                .properties(
+                        "server.port=" + port,
+                        "spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "app.cluster.self-url=" + selfUrl,
+                        "app.cluster.node-urls=" + nodeUrls,
+                        "app.outbox.relay.enabled=false",
+                        "logging.level.org.springframework=INFO",
+                        "logging.level.org.hibernate.SQL=INFO"
+                )
+                .run();
+    }
+
+    private static final class TestConfigurationExcludeFilter extends TypeExcludeFilter {
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+            return metadataReader.getAnnotationMetadata().hasAnnotation(TestConfiguration.class.getName());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj != null && obj.getClass() == getClass();
+        }
+
+        @Override
+        public int hashCode() {
+            return getClass().hashCode();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
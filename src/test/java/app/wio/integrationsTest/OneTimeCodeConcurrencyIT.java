@@ -0,0 +1,128 @@
+package app.wio.integrationsTest;
+
+import app.wio.dto.UserRegistrationDto;
+import app.wio.dto.UserRoleDto;
+import app.wio.entity.Company;
+import app.wio.entity.OneTimeCode;
+import app.wio.exception.ResourceConflictException;
+import app.wio.repository.CompanyRepository;
+import app.wio.repository.OneTimeCodeRepository;
+import app.wio.repository.UserRepository;
+import app.wio.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Not @Transactional: each registration commits on its own connection, as in an onboarding burst.
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class OneTimeCodeConcurrencyIT {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OneTimeCodeRepository oneTimeCodeRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    private Company company;
+
+    @BeforeEach
+    void setUp() {
+        company = new Company();
+        company.setName("Onboarding Company");
+        company.setAddress("1 Onboarding Street");
+        company = companyRepository.save(company);
+    }
+
+    @Test
+    void testParallelRegistrationsCountEveryUse() throws Exception {
+        OneTimeCode code = saveCode("BURST00001", null);
+
+        RegistrationOutcome outcome = registerInParallel(code.getCode(), 1000);
+
+        assertEquals(1000, outcome.succeeded());
+        assertEquals(0, outcome.rejected());
+        assertEquals(1000, oneTimeCodeRepository.findByCode(code.getCode()).orElseThrow().getUsedCount());
+        assertEquals(1000, userRepository.count());
+    }
+
+    @Test
+    void testMaxUsesIsNeverExceeded() throws Exception {
+        OneTimeCode code = saveCode("LIMITED001", 50);
+
+        RegistrationOutcome outcome = registerInParallel(code.getCode(), 200);
+
+        assertEquals(50, outcome.succeeded());
+        assertEquals(150, outcome.rejected());
+        assertEquals(50, oneTimeCodeRepository.findByCode(code.getCode()).orElseThrow().getUsedCount());
+        assertEquals(50, userRepository.count());
+    }
+
+    private RegistrationOutcome registerInParallel(String codeValue, int registrations) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < registrations; i++) {
+                UserRegistrationDto dto = UserRegistrationDto.builder()
+                        .name("Employee " + i)
+                        .email("employee" + i + "@onboarding.example.com")
+                        .password("Password123")
+                        .role(UserRoleDto.EMPLOYEE)
+                        .oneTimeCode(codeValue)
+                        .build();
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        userService.registerUser(dto);
+                        succeeded.incrementAndGet();
+                    } catch (ResourceConflictException ex) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new RegistrationOutcome(succeeded.get(), rejected.get());
+    }
+
+    private OneTimeCode saveCode(String value, Integer maxUses) {
+        OneTimeCode code = new OneTimeCode();
+        code.setCompanyId(company.getId());
+        code.setCode(value);
+        code.setExpiryDate(LocalDateTime.now().plusHours(1));
+        code.setMaxUses(maxUses);
+        return oneTimeCodeRepository.save(code);
+    }
+
+    private record RegistrationOutcome(int succeeded, int rejected) {
+    }
+}
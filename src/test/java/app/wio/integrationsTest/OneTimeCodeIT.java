@@ -0,0 +1,98 @@
+package app.wio.integrationsTest;
+
+import app.wio.entity.Company;
+import app.wio.entity.OneTimeCode;
+import app.wio.repository.CompanyRepository;
+import app.wio.repository.OneTimeCodeRepository;
+import app.wio.service.OneTimeCodeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.one-time-code.purge-chunk-size=2")
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class OneTimeCodeIT {
+
+    @Autowired
+    private OneTimeCodeService oneTimeCodeService;
+
+    @Autowired
+    private OneTimeCodeRepository oneTimeCodeRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    private Company company;
+    private Company otherCompany;
+
+    @BeforeEach
+    void setUp() {
+        company = newCompany("Code Company");
+        otherCompany = newCompany("Other Company");
+    }
+
+    @Test
+    void testActiveCodesAreScopedToCompanyAndExpiry() {
+        OneTimeCode active = saveCode(company, "ACTIVE0001", LocalDateTime.now().plusHours(2));
+        saveCode(company, "EXPIRED001", LocalDateTime.now().minusHours(2));
+        saveCode(otherCompany, "OTHER00001", LocalDateTime.now().plusHours(2));
+
+        List<OneTimeCode> codes = oneTimeCodeService.getActiveCodesForCompany(company.getId());
+
+        assertEquals(1, codes.size());
+        assertEquals(active.getId(), codes.get(0).getId());
+    }
+
+    @Test
+    void testCleanUpDeletesExpiredCodesInChunks() {
+        for (int i = 0; i < 5; i++) {
+            saveCode(company, "EXPIRED00" + i, LocalDateTime.now().minusDays(i + 1));
+        }
+        saveCode(company, "ACTIVE0001", LocalDateTime.now().plusHours(2));
+
+        int deleted = oneTimeCodeService.cleanUpExpiredCodes();
+
+        assertEquals(5, deleted);
+        assertEquals(1, oneTimeCodeRepository.count());
+        assertTrue(oneTimeCodeRepository.findByCode("ACTIVE0001").isPresent());
+    }
+
+    @Test
+    void testFindCodeServesCachedSnapshot() {
+        OneTimeCode code = saveCode(company, "CACHED0001", LocalDateTime.now().plusHours(2));
+
+        OneTimeCodeService.CachedCode first = oneTimeCodeService.findCode("CACHED0001").orElseThrow();
+        OneTimeCodeService.CachedCode second = oneTimeCodeService.findCode("CACHED0001").orElseThrow();
+
+        assertEquals(code.getId(), first.id());
+        assertEquals(company.getId(), first.companyId());
+        assertSame(first, second);
+        assertTrue(oneTimeCodeService.findCode("UNKNOWN001").isEmpty());
+    }
+
+    private Company newCompany(String name) {
+        Company company = new Company();
+        company.setName(name);
+        company.setAddress("1 Code Street");
+        return companyRepository.save(company);
+    }
+
+    private OneTimeCode saveCode(Company company, String value, LocalDateTime expiryDate) {
+        OneTimeCode code = new OneTimeCode();
+        code.setCompanyId(company.getId());
+        code.setCode(value);
+        code.setExpiryDate(expiryDate);
+        return oneTimeCodeRepository.saveAndFlush(code);
+    }
+}
@@ -0,0 +1,221 @@
+package app.wio.integrationsTest;
+
+import app.wio.dto.request.BookingRequestDto;
+import app.wio.dto.response.BookingResponseDto;
+import app.wio.entity.*;
+import app.wio.event.OutboxMessage;
+import app.wio.exception.SeatAlreadyBookedException;
+import app.wio.repository.*;
+import app.wio.service.BookingService;
+import app.wio.service.OutboxRelay;
+import app.wio.service.OutboxSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: outbox rows are only written when the surrounding transaction commits.
+@SpringBootTest(properties = {
+        "app.outbox.relay.enabled=false",
+        "app.outbox.relay.max-attempts=3",
+        "app.outbox.relay.backoff-seconds=60"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class OutboxIT {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RecordingSink recordingSink;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Seat seat;
+    private User alice;
+    private User bob;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        Company company = new Company();
+        company.setName("Outbox Company");
+        company.setAddress("1 Outbox Street");
+        company = companyRepository.save(company);
+
+        Floor floor = new Floor();
+        floor.setName("Outbox Floor");
+        floor.setFloorNumber(1);
+        floor.setCompany(company);
+        floor = floorRepository.save(floor);
+
+        seat = new Seat();
+        seat.setSeatNumber("O1");
+        seat.setXCoordinate(1.0);
+        seat.setYCoordinate(1.0);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        seat.setFloor(floor);
+        seat = seatRepository.save(seat);
+
+        alice = createUser("Alice", "outbox-alice@example.com", company);
+        bob = createUser("Bob", "outbox-bob@example.com", company);
+        date = LocalDate.now().plusDays(1);
+    }
+
+    @Test
+    void testBookingChangesAreRelayedAndRemoved() {
+        BookingResponseDto booking = bookingService.createBooking(new BookingRequestDto(seat.getId(), alice.getId(), date));
+        bookingService.cancelBooking(booking.getId());
+        assertEquals(2, outboxEventRepository.count());
+
+        int delivered = outboxRelay.relay();
+
+        assertEquals(2, delivered);
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(List.of("BookingCreated", "BookingCancelled"),
+                recordingSink.received.stream().map(OutboxMessage::getEventType).toList());
+        assertTrue(recordingSink.received.stream().allMatch(m -> booking.getId().equals(m.getAggregateId())));
+    }
+
+    @Test
+    void testRolledBackBookingLeavesNoOutboxRow() {
+        bookingService.createBooking(new BookingRequestDto(seat.getId(), alice.getId(), date));
+
+        assertThrows(SeatAlreadyBookedException.class,
+                () -> bookingService.createBooking(new BookingRequestDto(seat.getId(), bob.getId(), date)));
+
+        assertEquals(1, outboxEventRepository.count());
+    }
+
+    @Test
+    void testFailedDeliveryIsRetried() {
+        bookingService.createBooking(new BookingRequestDto(seat.getId(), alice.getId(), date));
+        recordingSink.failing = true;
+
+        LocalDateTime failedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        assertEquals(0, outboxRelay.relay());
+        OutboxEvent pending = outboxEventRepository.findAll().get(0);
+        assertEquals(1, pending.getAttempts());
+        assertEquals("sink unavailable", pending.getLastError());
+        assertEquals(OutboxStatus.PENDING, pending.getStatus());
+        assertFalse(pending.getNextAttemptAt().isBefore(failedAt.plusSeconds(60)));
+
+        // not offered again before its backoff has passed
+        recordingSink.failing = false;
+        assertEquals(0, outboxRelay.relay());
+        assertTrue(recordingSink.received.isEmpty());
+
+        makeDue();
+        assertEquals(1, outboxRelay.relay());
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(1, recordingSink.received.size());
+    }
+
+    @Test
+    void testBackoffDoublesAndExhaustedMessageIsDeadLettered() {
+        bookingService.createBooking(new BookingRequestDto(seat.getId(), alice.getId(), date));
+        recordingSink.failing = true;
+
+        outboxRelay.relay();
+        makeDue();
+        LocalDateTime secondFailureAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        outboxRelay.relay();
+        OutboxEvent pending = outboxEventRepository.findAll().get(0);
+        assertEquals(2, pending.getAttempts());
+        assertFalse(pending.getNextAttemptAt().isBefore(secondFailureAt.plusSeconds(120)));
+        assertEquals(0.0, meterRegistry.counter("wio.outbox.dead.lettered").count());
+
+        makeDue();
+        outboxRelay.relay();
+        OutboxEvent dead = outboxEventRepository.findAll().get(0);
+        assertEquals(3, dead.getAttempts());
+        assertEquals(OutboxStatus.DEAD, dead.getStatus());
+        assertEquals(1.0, meterRegistry.counter("wio.outbox.dead.lettered").count());
+        assertEquals(1.0, meterRegistry.get("wio.outbox.dead").gauge().value());
+        assertEquals(0.0, meterRegistry.get("wio.outbox.oldest.pending.age").gauge().value());
+
+        // a dead row stays for inspection but is no longer offered, even once the sink recovers
+        recordingSink.failing = false;
+        makeDue();
+        assertEquals(0, outboxRelay.relay());
+        assertEquals(1, outboxEventRepository.count());
+        assertTrue(recordingSink.received.isEmpty());
+    }
+
+    private void makeDue() {
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        events.forEach(event -> event.setNextAttemptAt(LocalDateTime.now().minusSeconds(1)));
+        outboxEventRepository.saveAll(events);
+    }
+
+    private User createUser(String name, String email, Company company) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("Password123");
+        user.setRole(UserRole.EMPLOYEE);
+        user.setEnabled(true);
+        user.setCompany(company);
+        return userRepository.save(user);
+    }
+
+    static class RecordingSink implements OutboxSink {
+        private final List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void deliver(List<OutboxMessage> messages) {
+            if (failing) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            received.addAll(messages);
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingSinkConfig {
+
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+}
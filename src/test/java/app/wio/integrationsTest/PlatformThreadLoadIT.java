@@ -0,0 +1,12 @@
+package app.wio.integrationsTest;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+// Baseline for VirtualThreadLoadIT: the default Tomcat platform-thread pool.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PlatformThreadLoadIT extends ThreadModeLoadBenchmark {
+}
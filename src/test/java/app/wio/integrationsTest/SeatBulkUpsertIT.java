@@ -0,0 +1,148 @@
+package app.wio.integrationsTest;
+
+import app.wio.dto.SeatDto;
+import app.wio.dto.response.BulkSeatUpdateResponseDto;
+import app.wio.dto.response.SeatUpsertResultDto.SeatUpsertOutcome;
+import app.wio.entity.*;
+import app.wio.repository.CompanyRepository;
+import app.wio.repository.FloorRepository;
+import app.wio.repository.SeatRepository;
+import app.wio.service.SeatService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SeatBulkUpsertIT {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatBulkUpsertIT.class);
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Floor floor;
+
+    @BeforeEach
+    void setUp() {
+        Company company = new Company();
+        company.setName("Bulk Company");
+        company.setAddress("1 Bulk Street");
+        company = companyRepository.save(company);
+
+        floor = new Floor();
+        floor.setName("Import Floor");
+        floor.setFloorNumber(1);
+        floor.setCompany(company);
+        floor = floorRepository.save(floor);
+    }
+
+    @Test
+    void testBulkUpsertReportsOutcomePerRow() {
+        Seat existing = new Seat();
+        existing.setSeatNumber("OLD");
+        existing.setXCoordinate(1.0);
+        existing.setYCoordinate(1.0);
+        existing.setStatus(SeatStatus.AVAILABLE);
+        existing.setFloor(floor);
+        existing = seatRepository.save(existing);
+        entityManager.flush();
+
+        List<SeatDto> rows = List.of(
+                seatRow(null, "N1", floor.getId()),
+                seatRow(existing.getId(), "RENAMED", floor.getId()),
+                seatRow(null, "N2", 999_999L),
+                seatRow(999_999L, "GHOST", floor.getId()),
+                seatRow(null, " ", floor.getId()),
+                seatRow(null, "N3", floor.getId())
+        );
+
+        BulkSeatUpdateResponseDto response = seatService.bulkUpdateSeats(rows);
+
+        assertEquals(2, response.getCreatedCount());
+        assertEquals(1, response.getUpdatedCount());
+        assertEquals(3, response.getFailedCount());
+        assertEquals(List.of(
+                SeatUpsertOutcome.CREATED,
+                SeatUpsertOutcome.UPDATED,
+                SeatUpsertOutcome.FAILED,
+                SeatUpsertOutcome.FAILED,
+                SeatUpsertOutcome.FAILED,
+                SeatUpsertOutcome.CREATED
+        ), response.getResults().stream().map(r -> r.getOutcome()).toList());
+        assertEquals("Floor not found", response.getResults().get(2).getMessage());
+        assertEquals("Seat not found", response.getResults().get(3).getMessage());
+
+        entityManager.clear();
+        Seat renamed = seatRepository.findById(existing.getId()).orElseThrow();
+        assertEquals("RENAMED", renamed.getSeatNumber());
+        assertEquals(existing.getVersion() + 1, renamed.getVersion());
+        Long createdId = response.getResults().get(0).getSeatId();
+        assertEquals("N1", seatRepository.findById(createdId).orElseThrow().getSeatNumber());
+        assertEquals(3, seatRepository.findByFloorId(floor.getId()).size());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkBulkUpsertTenThousandSeats() {
+        List<SeatDto> rows = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            rows.add(seatRow(null, "S" + i, floor.getId()));
+        }
+
+        long start = System.nanoTime();
+        BulkSeatUpdateResponseDto created = seatService.bulkUpdateSeats(rows);
+        long insertMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<SeatDto> updates = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            updates.add(seatRow(created.getResults().get(i).getSeatId(), "U" + i, floor.getId()));
+        }
+        start = System.nanoTime();
+        BulkSeatUpdateResponseDto updated = seatService.bulkUpdateSeats(updates);
+        long updateMillis = (System.nanoTime() - start) / 1_000_000;
+
+        logger.info("Bulk seat upsert of 10000 rows: insert {} ms, update {} ms", insertMillis, updateMillis);
+        assertEquals(10_000, created.getCreatedCount());
+        assertEquals(10_000, updated.getUpdatedCount());
+    }
+
+    private SeatDto seatRow(Long id, String seatNumber, Long floorId) {
+        SeatDto dto = new SeatDto();
+        dto.setId(id);
+        dto.setSeatNumber(seatNumber);
+        dto.setXCoordinate(10.0);
+        dto.setYCoordinate(20.0);
+        dto.setStatus(SeatStatus.AVAILABLE);
+        dto.setFloorId(floorId);
+        dto.setAngle(0);
+        return dto;
+    }
+}
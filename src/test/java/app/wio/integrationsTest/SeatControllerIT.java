@@ -122,6 +122,20 @@ public class SeatControllerIT {
                 .andExpect(jsonPath("$[1].seatNumber").value("A2"));
     }
 
+    @Test
+    void testGetSeatsByFloorIdReturnsNotModifiedForMatchingETag() throws Exception {
+        String etag = mockMvc.perform(get("/api/seats/floor/{floorId}", floorId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/seats/floor/{floorId}", floorId)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void testCreateSeat() throws Exception {
         SeatDto newSeat = new SeatDto();
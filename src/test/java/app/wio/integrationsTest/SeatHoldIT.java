@@ -0,0 +1,116 @@
+package app.wio.integrationsTest;
+
+import app.wio.dto.request.BookingRequestDto;
+import app.wio.entity.*;
+import app.wio.exception.SeatHeldException;
+import app.wio.repository.BookingRepository;
+import app.wio.repository.CompanyRepository;
+import app.wio.repository.FloorRepository;
+import app.wio.repository.SeatRepository;
+import app.wio.repository.UserRepository;
+import app.wio.service.BookingService;
+import app.wio.service.SeatHoldService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: holds are released by an after-commit listener once the holder's booking commits.
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SeatHoldIT {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long seatId;
+    private Long holderId;
+    private Long otherUserId;
+
+    @BeforeEach
+    void setUp() {
+        Company company = new Company();
+        company.setName("Hold Company");
+        company.setAddress("1 Hold Street");
+        company = companyRepository.save(company);
+
+        Floor floor = new Floor();
+        floor.setName("Hold Floor");
+        floor.setFloorNumber(1);
+        floor.setCompany(company);
+        floor = floorRepository.save(floor);
+
+        Seat seat = new Seat();
+        seat.setSeatNumber("H1");
+        seat.setXCoordinate(1.0);
+        seat.setYCoordinate(1.0);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        seat.setFloor(floor);
+        seatId = seatRepository.save(seat).getId();
+
+        holderId = createUser("holder@example.com", company);
+        otherUserId = createUser("other-holder@example.com", company);
+    }
+
+    @Test
+    void testHeldSeatRejectsAnotherUsersBooking() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        seatHoldService.hold(seatId, date, holderId, 60);
+
+        assertThrows(SeatHeldException.class,
+                () -> bookingService.createBooking(new BookingRequestDto(seatId, otherUserId, date)));
+        assertTrue(bookingRepository.findBySeatIdAndDate(seatId, date).isEmpty());
+
+        // the holder books the seat, which releases the hold
+        bookingService.createBooking(new BookingRequestDto(seatId, holderId, date));
+        assertFalse(seatHoldService.isHeld(seatId, date));
+        assertEquals(1, bookingRepository.findBySeatIdAndDate(seatId, date).size());
+    }
+
+    @Test
+    void testExpiredHoldNoLongerBlocksBooking() throws InterruptedException {
+        LocalDate date = LocalDate.now().plusDays(2);
+        seatHoldService.hold(seatId, date, holderId, 1);
+
+        Thread.sleep(1_100);
+
+        bookingService.createBooking(new BookingRequestDto(seatId, otherUserId, date));
+        assertEquals(otherUserId, bookingRepository.findBySeatIdAndDate(seatId, date).get(0).getUser().getId());
+    }
+
+    private Long createUser(String email, Company company) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("Password123");
+        user.setRole(UserRole.EMPLOYEE);
+        user.setEnabled(true);
+        user.setCompany(company);
+        return userRepository.save(user).getId();
+    }
+}
@@ -0,0 +1,156 @@
+package app.wio.integrationsTest;
+
+import app.wio.dto.SeatBookingInfoDto;
+import app.wio.entity.*;
+import app.wio.repository.BookingRepository;
+import app.wio.repository.CompanyRepository;
+import app.wio.repository.FloorRepository;
+import app.wio.repository.SeatRepository;
+import app.wio.repository.UserRepository;
+import app.wio.service.SeatService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SeatOccupancyQueryCountIT {
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Company company;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        company = new Company();
+        company.setName("Occupancy Company");
+        company.setAddress("1 Occupancy Street");
+        company = companyRepository.save(company);
+        date = LocalDate.now().plusDays(1);
+    }
+
+    @Test
+    void testStatementCountDoesNotGrowWithSeatCount() {
+        Floor smallFloor = createFloorWithBookedSeats("Small", 1, 5);
+        Floor largeFloor = createFloorWithBookedSeats("Large", 2, 100);
+
+        long smallFloorStatements = countStatements(smallFloor.getId(), 5);
+        long largeFloorStatements = countStatements(largeFloor.getId(), 100);
+
+        assertEquals(1, smallFloorStatements);
+        assertEquals(smallFloorStatements, largeFloorStatements);
+    }
+
+    @Test
+    void testOccupantIsReturnedOnlyForBookedSeats() {
+        Floor floor = createFloorWithBookedSeats("Mixed", 3, 4);
+        Seat freeSeat = newSeat(floor, "FREE");
+        seatRepository.save(freeSeat);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<SeatBookingInfoDto> seats = seatService.getSeatsWithOccupants(floor.getId(), date);
+
+        assertEquals(5, seats.size());
+        SeatBookingInfoDto free = seats.stream()
+                .filter(s -> s.getSeatNumber().equals("FREE"))
+                .findFirst()
+                .orElseThrow();
+        assertFalse(free.isBooked());
+        assertNull(free.getOccupantName());
+        assertEquals(4, seats.stream().filter(SeatBookingInfoDto::isBooked).count());
+        assertTrue(seats.stream()
+                .filter(SeatBookingInfoDto::isBooked)
+                .allMatch(s -> s.getOccupantName().startsWith("Occupant")));
+    }
+
+    private long countStatements(Long floorId, int expectedSeats) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<SeatBookingInfoDto> seats = seatService.getSeatsWithOccupants(floorId, date);
+
+        assertEquals(expectedSeats, seats.size());
+        assertTrue(seats.stream().allMatch(SeatBookingInfoDto::isBooked));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Floor createFloorWithBookedSeats(String name, int floorNumber, int seatCount) {
+        Floor floor = new Floor();
+        floor.setName(name);
+        floor.setFloorNumber(floorNumber);
+        floor.setCompany(company);
+        floor = floorRepository.save(floor);
+
+        for (int i = 0; i < seatCount; i++) {
+            Seat seat = seatRepository.save(newSeat(floor, name + "-" + i));
+
+            User user = new User();
+            user.setName("Occupant " + name + i);
+            user.setEmail(name.toLowerCase() + i + "@example.com");
+            user.setPassword("Password123");
+            user.setRole(UserRole.EMPLOYEE);
+            user.setEnabled(true);
+            user.setCompany(company);
+            user = userRepository.save(user);
+
+            Booking booking = new Booking();
+            booking.setDate(date);
+            booking.setStatus(BookingStatus.ACTIVE);
+            booking.setSeat(seat);
+            booking.setUser(user);
+            bookingRepository.save(booking);
+        }
+        return floor;
+    }
+
+    private Seat newSeat(Floor floor, String seatNumber) {
+        Seat seat = new Seat();
+        seat.setSeatNumber(seatNumber);
+        seat.setXCoordinate(10.0);
+        seat.setYCoordinate(20.0);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        seat.setFloor(floor);
+        return seat;
+    }
+}
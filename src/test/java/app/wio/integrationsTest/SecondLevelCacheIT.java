@@ -0,0 +1,174 @@
+package app.wio.integrationsTest;
+
+import app.wio.dto.FloorCreationDto;
+import app.wio.dto.SeatDto;
+import app.wio.entity.*;
+import app.wio.repository.CompanyRepository;
+import app.wio.repository.FloorRepository;
+import app.wio.repository.OneTimeCodeRepository;
+import app.wio.repository.SeatRepository;
+import app.wio.service.FloorService;
+import app.wio.service.OneTimeCodeService;
+import app.wio.service.SeatService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SecondLevelCacheIT {
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private FloorService floorService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private OneTimeCodeService oneTimeCodeService;
+
+    @Autowired
+    private OneTimeCodeRepository oneTimeCodeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Company company;
+    private Floor floor;
+    private Seat seat;
+
+    @BeforeEach
+    void setUp() {
+        company = new Company();
+        company.setName("Cache Company");
+        company.setAddress("1 Cache Street");
+        company = companyRepository.save(company);
+
+        floor = new Floor();
+        floor.setName("Cache Floor");
+        floor.setFloorNumber(1);
+        floor.setCompany(company);
+        floor = floorRepository.save(floor);
+
+        seat = new Seat();
+        seat.setSeatNumber("C1");
+        seat.setXCoordinate(1.0);
+        seat.setYCoordinate(1.0);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        seat.setFloor(floor);
+        seat = seatRepository.save(seat);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testRepeatedLookupsAreServedFromTheCache() {
+        seatRepository.findById(seat.getId()).orElseThrow();
+        floorRepository.findById(floor.getId()).orElseThrow();
+        companyRepository.findById(company.getId()).orElseThrow();
+        entityManager.clear();
+        statistics.clear();
+
+        Seat cachedSeat = seatRepository.findById(seat.getId()).orElseThrow();
+        Floor cachedFloor = floorRepository.findById(floor.getId()).orElseThrow();
+        Company cachedCompany = companyRepository.findById(company.getId()).orElseThrow();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(3, statistics.getSecondLevelCacheHitCount());
+        assertEquals("C1", cachedSeat.getSeatNumber());
+        assertEquals("Cache Floor", cachedFloor.getName());
+        assertEquals("Cache Company", cachedCompany.getName());
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", "seat").tag("result", "hit")
+                .functionCounter().count() >= 1);
+    }
+
+    @Test
+    void testCollectionsAreCachedAndEvictedWhenAFloorIsAdded() {
+        assertEquals(1, companyRepository.findById(company.getId()).orElseThrow().getFloors().size());
+        entityManager.clear();
+        statistics.clear();
+
+        assertEquals(1, companyRepository.findById(company.getId()).orElseThrow().getFloors().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        FloorCreationDto dto = new FloorCreationDto();
+        dto.setName("Second Floor");
+        dto.setFloorNumber(2);
+        dto.setCompanyId(company.getId());
+        floorService.createFloor(dto);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(2, companyRepository.findById(company.getId()).orElseThrow().getFloors().size());
+    }
+
+    @Test
+    void testOneTimeCodePurgeLeavesCachedRegionsAlone() {
+        OneTimeCode expired = new OneTimeCode();
+        expired.setCompanyId(company.getId());
+        expired.setCode("PURGE00001");
+        expired.setExpiryDate(LocalDateTime.now().minusDays(1));
+        oneTimeCodeRepository.saveAndFlush(expired);
+
+        seatRepository.findById(seat.getId()).orElseThrow();
+        assertEquals(1, companyRepository.findById(company.getId()).orElseThrow().getFloors().size());
+        entityManager.clear();
+
+        assertEquals(1, oneTimeCodeService.cleanUpExpiredCodes());
+        entityManager.clear();
+        statistics.clear();
+
+        seatRepository.findById(seat.getId()).orElseThrow();
+        assertEquals(1, companyRepository.findById(company.getId()).orElseThrow().getFloors().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testBulkUpsertEvictsCachedSeatsAndFloorSeats() {
+        assertEquals(1, floorRepository.findById(floor.getId()).orElseThrow().getSeats().size());
+        seatRepository.findById(seat.getId()).orElseThrow();
+        entityManager.clear();
+
+        SeatDto renamed = new SeatDto(seat.getId(), "C1-RENAMED", 2.0, 2.0, SeatStatus.AVAILABLE, floor.getId(), 90);
+        SeatDto added = new SeatDto(null, "C2", 3.0, 3.0, SeatStatus.AVAILABLE, floor.getId(), null);
+        seatService.bulkUpdateSeats(List.of(renamed, added));
+        entityManager.clear();
+
+        assertEquals("C1-RENAMED", seatRepository.findById(seat.getId()).orElseThrow().getSeatNumber());
+        assertEquals(2, floorRepository.findById(floor.getId()).orElseThrow().getSeats().size());
+    }
+}
@@ -0,0 +1,189 @@
+package app.wio.integrationsTest;
+
+import app.wio.dto.request.ShareBatchRequestDto;
+import app.wio.dto.response.ShareResponseDto;
+import app.wio.entity.*;
+import app.wio.exception.ResourceNotFoundException;
+import app.wio.repository.*;
+import app.wio.service.ShareService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ShareBatchCreationIT {
+
+    @Autowired
+    private ShareService shareService;
+
+    @Autowired
+    private ShareRepository shareRepository;
+
+    @Autowired
+    private ShareBookingRepository shareBookingRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Company company;
+    private Seat seat;
+    private User sender;
+    private List<Long> weekBookingIds;
+
+    @BeforeEach
+    void setUp() {
+        company = new Company();
+        company.setName("Batch Share Company");
+        company.setAddress("1 Batch Street");
+        company = companyRepository.save(company);
+
+        Floor floor = new Floor();
+        floor.setName("Batch Floor");
+        floor.setFloorNumber(1);
+        floor.setCompany(company);
+        floor = floorRepository.save(floor);
+
+        seat = new Seat();
+        seat.setSeatNumber("B1");
+        seat.setXCoordinate(1.0);
+        seat.setYCoordinate(1.0);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        seat.setFloor(floor);
+        seat = seatRepository.save(seat);
+
+        sender = createUser("Sender", "batch-sender@example.com");
+        weekBookingIds = new ArrayList<>();
+        for (int day = 1; day <= 5; day++) {
+            weekBookingIds.add(createBooking(sender, LocalDate.now().plusDays(day)).getId());
+        }
+    }
+
+    @Test
+    void testStatementCountDoesNotGrowWithRecipientCount() {
+        List<Long> oneRecipient = createRecipients("one", 1);
+        List<Long> team = createRecipients("team", 50);
+
+        long singleStatements = countStatements(oneRecipient);
+        long teamStatements = countStatements(team);
+
+        assertEquals(singleStatements, teamStatements);
+        assertEquals(51, shareRepository.count());
+        assertEquals(51 * 5, shareBookingRepository.count());
+    }
+
+    @Test
+    void testSharesAreCreatedPerRecipientWithAllBookings() {
+        List<Long> recipients = createRecipients("fan", 3);
+
+        List<ShareResponseDto> shares = shareService.createShares(
+                sender.getId(), new ShareBatchRequestDto(recipients, weekBookingIds, "My week"));
+
+        assertEquals(recipients, shares.stream().map(ShareResponseDto::getRecipientId).toList());
+        for (ShareResponseDto share : shares) {
+            assertEquals(weekBookingIds, share.getBookingIds());
+            assertEquals(LocalDate.now().plusDays(5), share.getMaxBookingDate());
+            assertNull(share.getReadAt());
+        }
+        ShareResponseDto inboxShare = shareService.getSharesForRecipient(recipients.get(0)).get(0);
+        assertEquals(shares.get(0).getId(), inboxShare.getId());
+        assertEquals(shares.get(0).getCreatedAt(), inboxShare.getCreatedAt());
+        assertEquals(weekBookingIds.size(), inboxShare.getBookingIds().size());
+    }
+
+    @Test
+    void testBookingOfAnotherUserIsRejected() {
+        User other = createUser("Other", "batch-other@example.com");
+        Booking foreign = createBooking(other, LocalDate.now().plusDays(10));
+        List<Long> bookingIds = List.of(weekBookingIds.get(0), foreign.getId());
+
+        assertThrows(ResourceNotFoundException.class, () -> shareService.createShares(
+                sender.getId(), new ShareBatchRequestDto(List.of(other.getId()), bookingIds, null)));
+        assertEquals(0, shareRepository.count());
+    }
+
+    @Test
+    void testUnknownRecipientIsRejected() {
+        List<Long> recipients = List.of(createRecipients("known", 1).get(0), Long.MAX_VALUE);
+
+        assertThrows(ResourceNotFoundException.class, () -> shareService.createShares(
+                sender.getId(), new ShareBatchRequestDto(recipients, weekBookingIds, null)));
+        assertEquals(0, shareRepository.count());
+    }
+
+    // Counts ORM statements; the JDBC batches for shares and links add a fixed number of round trips on top.
+    private long countStatements(List<Long> recipients) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ShareResponseDto> shares = shareService.createShares(
+                sender.getId(), new ShareBatchRequestDto(recipients, weekBookingIds, "My week"));
+
+        assertEquals(recipients.size(), shares.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Long> createRecipients(String prefix, int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(createUser("Recipient " + prefix + i, prefix + i + "@example.com").getId());
+        }
+        return ids;
+    }
+
+    private Booking createBooking(User user, LocalDate date) {
+        Booking booking = new Booking();
+        booking.setDate(date);
+        booking.setStatus(BookingStatus.ACTIVE);
+        booking.setUser(user);
+        booking.setSeat(seat);
+        return bookingRepository.save(booking);
+    }
+
+    private User createUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("Password123");
+        user.setRole(UserRole.EMPLOYEE);
+        user.setEnabled(true);
+        user.setCompany(company);
+        return userRepository.save(user);
+    }
+}
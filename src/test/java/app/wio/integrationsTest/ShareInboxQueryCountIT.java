@@ -0,0 +1,169 @@
+package app.wio.integrationsTest;
+
+import app.wio.dto.response.ShareInboxPageDto;
+import app.wio.dto.response.ShareResponseDto;
+import app.wio.entity.*;
+import app.wio.repository.*;
+import app.wio.service.ShareService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ShareInboxQueryCountIT {
+
+    @Autowired
+    private ShareService shareService;
+
+    @Autowired
+    private ShareRepository shareRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User sender;
+    private User recipient;
+    private Seat seat;
+    private int bookingDays;
+
+    @BeforeEach
+    void setUp() {
+        Company company = new Company();
+        company.setName("Inbox Company");
+        company.setAddress("1 Inbox Street");
+        company = companyRepository.save(company);
+
+        Floor floor = new Floor();
+        floor.setName("Inbox Floor");
+        floor.setFloorNumber(1);
+        floor.setCompany(company);
+        floor = floorRepository.save(floor);
+
+        seat = new Seat();
+        seat.setSeatNumber("I1");
+        seat.setXCoordinate(1.0);
+        seat.setYCoordinate(1.0);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        seat.setFloor(floor);
+        seat = seatRepository.save(seat);
+
+        sender = createUser("Sender", "inbox-sender@example.com", company);
+        recipient = createUser("Recipient", "inbox-recipient@example.com", company);
+    }
+
+    @Test
+    void testInboxPageUsesTwoStatementsRegardlessOfShareCount() {
+        for (int i = 0; i < 30; i++) {
+            createShare(3, LocalDateTime.now().minusMinutes(i), false);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        ShareInboxPageDto firstPage = shareService.getInboxPage(recipient.getId(), 0, 5);
+        long smallPageStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        ShareInboxPageDto largePage = shareService.getInboxPage(recipient.getId(), 0, 25);
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(2, smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+        assertEquals(5, firstPage.getShares().size());
+        assertEquals(25, largePage.getShares().size());
+        assertTrue(largePage.getShares().stream().allMatch(s -> s.getBookingIds().size() == 3));
+    }
+
+    @Test
+    void testInboxPagesAreNewestFirstAndReportNextPage() {
+        LocalDateTime now = LocalDateTime.now();
+        Share oldest = createShare(1, now.minusHours(2), false);
+        Share middle = createShare(1, now.minusHours(1), false);
+        Share newest = createShare(2, now, false);
+
+        ShareInboxPageDto firstPage = shareService.getInboxPage(recipient.getId(), 0, 2);
+        ShareInboxPageDto secondPage = shareService.getInboxPage(recipient.getId(), 1, 2);
+
+        assertEquals(List.of(newest.getId(), middle.getId()),
+                firstPage.getShares().stream().map(ShareResponseDto::getId).toList());
+        assertTrue(firstPage.isHasNext());
+        assertEquals(2, firstPage.getShares().get(0).getBookingIds().size());
+        assertEquals(List.of(oldest.getId()),
+                secondPage.getShares().stream().map(ShareResponseDto::getId).toList());
+        assertFalse(secondPage.isHasNext());
+    }
+
+    @Test
+    void testUnreadCountIgnoresReadShares() {
+        createShare(1, LocalDateTime.now(), false);
+        createShare(1, LocalDateTime.now(), false);
+        createShare(1, LocalDateTime.now(), true);
+
+        assertEquals(2, shareService.getUnreadCount(recipient.getId()).getUnreadCount());
+        assertEquals(0, shareService.getUnreadCount(sender.getId()).getUnreadCount());
+    }
+
+    private Share createShare(int bookingCount, LocalDateTime createdAt, boolean read) {
+        Share share = new Share();
+        share.setSenderId(sender.getId());
+        share.setRecipientId(recipient.getId());
+        share.setCreatedAt(createdAt);
+        share.setReadAt(read ? createdAt : null);
+        for (int i = 0; i < bookingCount; i++) {
+            Booking booking = new Booking();
+            booking.setDate(LocalDate.now().plusDays(++bookingDays));
+            booking.setStatus(BookingStatus.ACTIVE);
+            booking.setUser(sender);
+            booking.setSeat(seat);
+            share.getShareBookings().add(new ShareBooking(share, bookingRepository.save(booking)));
+        }
+        return shareRepository.save(share);
+    }
+
+    private User createUser(String name, String email, Company company) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("Password123");
+        user.setRole(UserRole.EMPLOYEE);
+        user.setEnabled(true);
+        user.setCompany(company);
+        return userRepository.save(user);
+    }
+}
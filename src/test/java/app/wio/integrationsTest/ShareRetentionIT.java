@@ -0,0 +1,120 @@
+package app.wio.integrationsTest;
+
+import app.wio.entity.*;
+import app.wio.repository.*;
+import app.wio.service.ShareRetentionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.share-retention.chunk-size=2")
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ShareRetentionIT {
+
+    @Autowired
+    private ShareRetentionService shareRetentionService;
+
+    @Autowired
+    private ShareRepository shareRepository;
+
+    @Autowired
+    private ShareBookingRepository shareBookingRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Seat seat;
+
+    @BeforeEach
+    void setUp() {
+        Company company = new Company();
+        company.setName("Retention Company");
+        company.setAddress("1 Retention Street");
+        company = companyRepository.save(company);
+
+        Floor floor = new Floor();
+        floor.setName("Retention Floor");
+        floor.setFloorNumber(1);
+        floor.setCompany(company);
+        floor = floorRepository.save(floor);
+
+        seat = new Seat();
+        seat.setSeatNumber("R1");
+        seat.setXCoordinate(1.0);
+        seat.setYCoordinate(1.0);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        seat.setFloor(floor);
+        seat = seatRepository.save(seat);
+
+        user = new User();
+        user.setName("Sender");
+        user.setEmail("sender@example.com");
+        user.setPassword("Password123");
+        user.setRole(UserRole.EMPLOYEE);
+        user.setEnabled(true);
+        user.setCompany(company);
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void testExpiredSharesAndLinksAreDeletedInChunks() {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 5; i++) {
+            createShare(today.minusDays(31 + i));
+        }
+        Share recent = createShare(today.minusDays(30));
+        Share upcoming = createShare(today.plusDays(3));
+        Share withoutDate = createShare(null);
+
+        int deleted = shareRetentionService.purgeExpiredShares();
+
+        assertEquals(5, deleted);
+        assertEquals(3, shareRepository.count());
+        assertTrue(shareRepository.existsById(recent.getId()));
+        assertTrue(shareRepository.existsById(upcoming.getId()));
+        assertTrue(shareRepository.existsById(withoutDate.getId()));
+        assertEquals(3, shareBookingRepository.count());
+        assertEquals(8, bookingRepository.count());
+    }
+
+    private Share createShare(LocalDate maxBookingDate) {
+        Booking booking = new Booking();
+        booking.setDate(maxBookingDate != null ? maxBookingDate : LocalDate.now().minusYears(1).plusDays(bookingRepository.count()));
+        booking.setStatus(BookingStatus.ACTIVE);
+        booking.setUser(user);
+        booking.setSeat(seat);
+        booking = bookingRepository.save(booking);
+
+        Share share = new Share();
+        share.setSenderId(user.getId());
+        share.setRecipientId(user.getId());
+        share.setCreatedAt(LocalDateTime.now());
+        share.setMaxBookingDate(maxBookingDate);
+        share.getShareBookings().add(new ShareBooking(share, booking));
+        return shareRepository.saveAndFlush(share);
+    }
+}
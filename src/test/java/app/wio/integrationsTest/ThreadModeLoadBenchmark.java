@@ -0,0 +1,164 @@
+package app.wio.integrationsTest;
+
+import app.wio.entity.*;
+import app.wio.repository.*;
+import app.wio.security.TestJwtTokenUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Shared load scenario for the platform- and virtual-thread benchmarks: concurrent users reading the
+// occupancy of a floor, a request that spends most of its time waiting on JDBC.
+@Tag("benchmark")
+abstract class ThreadModeLoadBenchmark {
+
+    static final int CONCURRENT_USERS = 2000;
+    static final int REQUESTS_PER_USER = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TestJwtTokenUtil jwtTokenUtil;
+
+    private String token;
+    private Long floorId;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        Company company = new Company();
+        company.setName("Load Company");
+        company.setAddress("1 Load Street");
+        company = companyRepository.save(company);
+
+        Floor floor = new Floor();
+        floor.setName("Load Floor");
+        floor.setFloorNumber(1);
+        floor.setCompany(company);
+        floor = floorRepository.save(floor);
+        floorId = floor.getId();
+        date = LocalDate.now().plusDays(1);
+
+        for (int i = 0; i < 50; i++) {
+            Seat seat = new Seat();
+            seat.setSeatNumber("L" + i);
+            seat.setXCoordinate((double) i);
+            seat.setYCoordinate(1.0);
+            seat.setStatus(SeatStatus.AVAILABLE);
+            seat.setFloor(floor);
+            seat = seatRepository.save(seat);
+
+            User user = new User();
+            user.setName("Load User " + i);
+            user.setEmail("load" + i + "@example.com");
+            user.setPassword("Password123");
+            user.setRole(UserRole.EMPLOYEE);
+            user.setEnabled(true);
+            user.setCompany(company);
+            user = userRepository.save(user);
+
+            if (i % 2 == 0) {
+                Booking booking = new Booking();
+                booking.setDate(date);
+                booking.setStatus(BookingStatus.ACTIVE);
+                booking.setSeat(seat);
+                booking.setUser(user);
+                bookingRepository.save(booking);
+            }
+            if (i == 0) {
+                token = jwtTokenUtil.generateToken(user);
+            }
+        }
+    }
+
+    @Test
+    void measureOccupancyReadLatency() throws Exception {
+        beforeLoad();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/seats/floor/" + floorId + "?date=" + date))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> users = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < CONCURRENT_USERS; u++) {
+                users.add(executor.submit(() -> {
+                    start.await();
+                    int ok = 0;
+                    for (int r = 0; r < REQUESTS_PER_USER; r++) {
+                        long begin = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies.add(System.nanoTime() - begin);
+                        if (response.statusCode() == 200) {
+                            ok++;
+                        }
+                    }
+                    return ok;
+                }));
+            }
+            start.countDown();
+            int succeeded = 0;
+            for (Future<Integer> user : users) {
+                succeeded += user.get(5, TimeUnit.MINUTES);
+            }
+            assertEquals(CONCURRENT_USERS * REQUESTS_PER_USER, succeeded);
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        logger.info("{} users x {} requests: p50={} ms p99={} ms max={} ms",
+                CONCURRENT_USERS, REQUESTS_PER_USER,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99), percentileMillis(sorted, 1.0));
+        afterLoad();
+    }
+
+    void beforeLoad() {
+    }
+
+    void afterLoad() {
+    }
+
+    private static long percentileMillis(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted.get(Math.max(index, 0)));
+    }
+}
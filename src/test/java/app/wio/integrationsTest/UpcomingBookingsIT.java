@@ -0,0 +1,171 @@
+package app.wio.integrationsTest;
+
+import app.wio.dto.response.BookingResponseDto;
+import app.wio.entity.*;
+import app.wio.event.BookingCancelledEvent;
+import app.wio.event.BookingCreatedEvent;
+import app.wio.repository.*;
+import app.wio.service.BookingService;
+import app.wio.service.UpcomingBookingsView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class UpcomingBookingsIT {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UpcomingBookingsView upcomingBookingsView;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private FloorRepository floorRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Seat seat;
+    private Floor floor;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        Company company = new Company();
+        company.setName("Upcoming Company");
+        company.setAddress("1 Upcoming Street");
+        company = companyRepository.save(company);
+
+        floor = new Floor();
+        floor.setName("Upcoming Floor");
+        floor.setFloorNumber(3);
+        floor.setCompany(company);
+        floor = floorRepository.save(floor);
+
+        seat = new Seat();
+        seat.setSeatNumber("U1");
+        seat.setXCoordinate(1.0);
+        seat.setYCoordinate(1.0);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        seat.setFloor(floor);
+        seat = seatRepository.save(seat);
+
+        user = new User();
+        user.setName("Upcoming User");
+        user.setEmail("upcoming@example.com");
+        user.setPassword("Password123");
+        user.setRole(UserRole.EMPLOYEE);
+        user.setEnabled(true);
+        user.setCompany(company);
+        user = userRepository.save(user);
+
+        today = LocalDate.now();
+        book(today.minusDays(1), BookingStatus.ACTIVE);
+        book(today, BookingStatus.ACTIVE);
+        book(today.plusDays(3), BookingStatus.ACTIVE);
+        book(today.plusDays(5), BookingStatus.CANCELLED);
+        book(today.plusDays(UpcomingBookingsView.WINDOW_DAYS + 1), BookingStatus.ACTIVE);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testLoadsWindowOnceAndServesFromMemory() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingResponseDto> first = bookingService.getUpcomingBookings(user.getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        List<BookingResponseDto> second = bookingService.getUpcomingBookings(user.getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertSame(first, second);
+        assertEquals(List.of(today, today.plusDays(3)), first.stream().map(BookingResponseDto::getDate).toList());
+        assertEquals("Upcoming Floor", first.get(0).getFloorName());
+        assertEquals("U1", first.get(0).getSeatNumber());
+    }
+
+    @Test
+    void testCreateAndCancelPatchCachedEntry() {
+        bookingService.getUpcomingBookings(user.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BookingResponseDto created = dto(9001L, today.plusDays(1), BookingStatus.ACTIVE);
+        upcomingBookingsView.onBookingCreated(new BookingCreatedEvent(created, floor.getId()));
+        List<BookingResponseDto> afterCreate = bookingService.getUpcomingBookings(user.getId());
+        assertEquals(List.of(today, today.plusDays(1), today.plusDays(3)),
+                afterCreate.stream().map(BookingResponseDto::getDate).toList());
+
+        // outside the window, so it must not show up
+        upcomingBookingsView.onBookingCreated(new BookingCreatedEvent(
+                dto(9002L, today.plusDays(UpcomingBookingsView.WINDOW_DAYS + 5), BookingStatus.ACTIVE), floor.getId()));
+        assertEquals(3, bookingService.getUpcomingBookings(user.getId()).size());
+
+        BookingResponseDto cancelled = dto(9001L, today.plusDays(1), BookingStatus.CANCELLED);
+        upcomingBookingsView.onBookingCancelled(new BookingCancelledEvent(cancelled, floor.getId()));
+        List<BookingResponseDto> afterCancel = bookingService.getUpcomingBookings(user.getId());
+        assertEquals(List.of(today, today.plusDays(3)), afterCancel.stream().map(BookingResponseDto::getDate).toList());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testEvictionReloadsFromDatabase() {
+        bookingService.getUpcomingBookings(user.getId());
+        upcomingBookingsView.evict(user.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertEquals(2, bookingService.getUpcomingBookings(user.getId()).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private void book(LocalDate date, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setDate(date);
+        booking.setStatus(status);
+        booking.setSeat(seat);
+        booking.setUser(user);
+        bookingRepository.save(booking);
+    }
+
+    private BookingResponseDto dto(Long id, LocalDate date, BookingStatus status) {
+        return new BookingResponseDto(id, date, status.name(), user.getId(), seat.getId(),
+                seat.getSeatNumber(), floor.getFloorNumber(), floor.getName());
+    }
+}
@@ -9,6 +9,10 @@ import app.wio.entity.UserRole;
 import app.wio.repository.CompanyRepository;
 import app.wio.repository.OneTimeCodeRepository;
 import app.wio.repository.UserRepository;
+import app.wio.repository.UserTombstoneRepository;
+import app.wio.security.JwtTokenProvider;
+import app.wio.security.TokenVersionCache;
+import app.wio.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -29,9 +33,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -60,6 +66,18 @@ class UserControllerIT {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
+    @Autowired
+    private UserTombstoneRepository userTombstoneRepository;
+
+    @Autowired
+    private UserService userService;
+
     private OneTimeCode validCode;
 
     @BeforeEach
@@ -147,4 +165,84 @@ class UserControllerIT {
                         .value("One-time code is required for EMPLOYEE registrations."));
     }
 
+    @Test
+    void testRevokedTokenVersionIsRejected() throws Exception {
+        User user = new User();
+        user.setName("Token User");
+        user.setEmail("tokenuser@example.com");
+        user.setPassword(passwordEncoder.encode("Password123"));
+        user.setRole(UserRole.EMPLOYEE);
+        user.setEnabled(true);
+        user = userRepository.save(user);
+        String token = jwtTokenProvider.generateToken(user);
+
+        mockMvc.perform(get("/api/users/{id}", user.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("tokenuser@example.com"));
+
+        tokenVersionCache.revokeBefore(user.getId(), 1);
+
+        mockMvc.perform(get("/api/users/{id}", user.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+
+        user.setTokenVersion(1);
+        String reissued = jwtTokenProvider.generateToken(user);
+        mockMvc.perform(get("/api/users/{id}", user.getId())
+                        .header("Authorization", "Bearer " + reissued))
+                .andExpect(status().isOk());
+    }
+
+    // Revocation events only fire after commit, which never happens in this test; refresh() has to find it.
+    @Test
+    void testDeletedUserTokenIsRejectedAfterRefresh() throws Exception {
+        User user = new User();
+        user.setName("Deleted User");
+        user.setEmail("deleted@example.com");
+        user.setPassword(passwordEncoder.encode("Password123"));
+        user.setRole(UserRole.EMPLOYEE);
+        user.setEnabled(true);
+        user = userRepository.save(user);
+        Long userId = user.getId();
+        String token = jwtTokenProvider.generateToken(user);
+
+        userService.deleteUser(userId);
+        tokenVersionCache.refresh();
+
+        mockMvc.perform(get("/api/users/{id}", userId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+
+        // a node that never saw the deletion, or this one after a restart
+        TokenVersionCache restarted = new TokenVersionCache(userRepository, userTombstoneRepository, 3_600_000L);
+        assertTrue(restarted.isCurrent(userId, 0));
+        restarted.refresh();
+        assertFalse(restarted.isCurrent(userId, 0));
+    }
+
+    @Test
+    void testDemotedUserTokenIsRejectedAfterRefresh() throws Exception {
+        User admin = new User();
+        admin.setName("Demoted Admin");
+        admin.setEmail("demoted@example.com");
+        admin.setPassword(passwordEncoder.encode("Password123"));
+        admin.setRole(UserRole.ADMIN);
+        admin.setEnabled(true);
+        admin = userRepository.save(admin);
+        String token = jwtTokenProvider.generateToken(admin);
+
+        mockMvc.perform(get("/api/users")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        admin.setRole(UserRole.EMPLOYEE);
+        userRepository.saveAndFlush(admin);
+        assertEquals(1, admin.getTokenVersion());
+        tokenVersionCache.refresh();
+
+        mockMvc.perform(get("/api/users")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
 }
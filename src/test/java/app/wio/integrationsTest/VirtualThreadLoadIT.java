@@ -0,0 +1,52 @@
+package app.wio.integrationsTest;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Same scenario with the virtual-threads profile. Also fails when a virtual thread pinned its carrier
+// inside our own code, which on Java 23 means a synchronized block around blocking work.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "virtual-threads"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class VirtualThreadLoadIT extends ThreadModeLoadBenchmark {
+
+    private final List<String> pinnedInAppCode = new CopyOnWriteArrayList<>();
+    private RecordingStream recording;
+
+    @Override
+    void beforeLoad() {
+        recording = new RecordingStream();
+        recording.enable("jdk.VirtualThreadPinned").withStackTrace().withThreshold(Duration.ofMillis(1));
+        recording.onEvent("jdk.VirtualThreadPinned", this::recordIfAppCode);
+        recording.startAsync();
+    }
+
+    @Override
+    void afterLoad() {
+        recording.close();
+        assertTrue(pinnedInAppCode.isEmpty(), "Virtual threads pinned in app code: " + pinnedInAppCode);
+    }
+
+    private void recordIfAppCode(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return;
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("app.wio.")) {
+                pinnedInAppCode.add(type + "." + frame.getMethod().getName());
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package app.wio.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FloorOccupancyStreamTest {
+
+    private static final Long FLOOR_ID = 3L;
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+    private static final long SEND_TIMEOUT_MILLIS = 1_000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Queue<SseEmitter> emitters = new ConcurrentLinkedQueue<>();
+    private final AtomicLong now = new AtomicLong();
+
+    private FloorOccupancyStream stream;
+    private BlockingEmitter slow;
+
+    @BeforeEach
+    void setUp() {
+        // a single sender thread, so one blocked write would stall every other client
+        stream = new FloorOccupancyStream(meterRegistry, 30, 1000, 15, 1, SEND_TIMEOUT_MILLIS,
+                timeout -> emitters.poll(), now::get);
+        slow = new BlockingEmitter();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slow.release.countDown();
+        stream.shutdown();
+    }
+
+    @Test
+    void testBlockedWriteIsAbandonedAndOtherClientsKeepReceiving() throws Exception {
+        subscribe(slow);
+        slow.blocking = true;
+        stream.relay(FLOOR_ID, DATE, 10L, true, null);
+        stream.flush();
+        assertTrue(slow.writing.await(5, TimeUnit.SECONDS));
+
+        RecordingEmitter fast = subscribe(new RecordingEmitter());
+        stream.relay(FLOOR_ID, DATE, 11L, true, null);
+        stream.flush();
+        assertNull(fast.events.poll(200, TimeUnit.MILLISECONDS), "queued behind the blocked write");
+
+        // within the deadline the write is left alone
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(SEND_TIMEOUT_MILLIS));
+        stream.flush();
+        assertEquals(0, stream.stuckSendCount());
+
+        now.addAndGet(1);
+        stream.flush();
+        assertNotNull(fast.events.poll(5, TimeUnit.SECONDS));
+        assertEquals(1, stream.stuckSendCount());
+        assertEquals(1.0, meterRegistry.counter("wio.occupancy.stream.send.timeouts").count());
+        assertEquals(1.0, meterRegistry.counter("wio.occupancy.stream.evictions").count());
+        assertEquals(1.0, meterRegistry.get("wio.occupancy.stream.connections").gauge().value());
+
+        // the evicted connection is closed once its write finally returns, and the extra thread goes away
+        slow.release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((!slow.completed || stream.stuckSendCount() > 0) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(slow.completed);
+        assertEquals(0, stream.stuckSendCount());
+
+        stream.relay(FLOOR_ID, DATE, 12L, true, null);
+        stream.flush();
+        assertNotNull(fast.events.poll(5, TimeUnit.SECONDS));
+        assertEquals(1, slow.events.size(), "nothing more is written to the evicted connection");
+    }
+
+    private <T extends RecordingEmitter> T subscribe(T emitter) {
+        emitters.add(emitter);
+        stream.subscribe(FLOOR_ID, DATE);
+        // drop the "connected" comment
+        emitter.events.clear();
+        return emitter;
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        final BlockingQueue<SseEventBuilder> events = new LinkedBlockingQueue<>();
+        volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            events.add(builder);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    private static final class BlockingEmitter extends RecordingEmitter {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean blocking;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (blocking) {
+                writing.countDown();
+                // like a socket write to a client that stopped reading, interrupts do not end it
+                boolean interrupted = false;
+                while (true) {
+                    try {
+                        release.await();
+                        break;
+                    } catch (InterruptedException ex) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            super.send(builder);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package app.wio.service;
+
+import app.wio.dto.SeatDto;
+import app.wio.entity.Seat;
+import app.wio.entity.SeatStatus;
+import app.wio.mapper.SeatMapper;
+import app.wio.repository.BookingRepository;
+import app.wio.repository.SeatRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SeatAvailabilityIndexTest {
+
+    private static final Long FLOOR_ID = 1L;
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+    private static final long TTL_SECONDS = 60;
+
+    private final SeatRepository seatRepository = Mockito.mock(SeatRepository.class);
+    private final BookingRepository bookingRepository = Mockito.mock(BookingRepository.class);
+    private final SeatMapper seatMapper = Mockito.mock(SeatMapper.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+
+    private SeatAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(seatRepository.findByFloorId(FLOOR_ID)).thenReturn(List.of(seat(10L), seat(11L), seat(12L)));
+        when(seatMapper.toDto(any(Seat.class))).thenAnswer(invocation -> {
+            SeatDto dto = new SeatDto();
+            dto.setId(invocation.<Seat>getArgument(0).getId());
+            return dto;
+        });
+        when(bookingRepository.findBookedSeatIdsByFloorIdAndDate(FLOOR_ID, DATE)).thenReturn(List.of(11L));
+        index = new SeatAvailabilityIndex(seatRepository, bookingRepository, seatMapper, meterRegistry,
+                TTL_SECONDS, now::get);
+    }
+
+    @Test
+    void testFirstLookupRebuildsAndSecondHits() {
+        assertEquals(List.of(10L, 12L), freeSeatIds());
+        assertEquals(List.of(10L, 12L), freeSeatIds());
+
+        assertEquals(1.0, lookups("miss"));
+        assertEquals(1.0, lookups("hit"));
+        assertEquals(1.0, rebuilds());
+        verify(bookingRepository, times(1)).findBookedSeatIdsByFloorIdAndDate(FLOOR_ID, DATE);
+    }
+
+    @Test
+    void testBookingAndCancellationUpdateCachedEntry() {
+        freeSeatIds();
+
+        index.markBooked(FLOOR_ID, 10L, DATE);
+        assertEquals(List.of(12L), freeSeatIds());
+        assertTrue(index.isKnownBooked(10L, DATE));
+
+        index.markFree(FLOOR_ID, 11L, DATE);
+        assertEquals(List.of(11L, 12L), freeSeatIds());
+        assertFalse(index.isKnownBooked(11L, DATE));
+
+        assertEquals(1.0, rebuilds());
+        assertEquals(1.0, lookups("miss"));
+        assertEquals(2.0, lookups("hit"));
+    }
+
+    @Test
+    void testBookingWarmsMissingEntry() {
+        // the committed booking is already in the database when the event arrives
+        when(bookingRepository.findBookedSeatIdsByFloorIdAndDate(FLOOR_ID, DATE)).thenReturn(List.of(10L, 11L));
+
+        index.markBooked(FLOOR_ID, 10L, DATE);
+
+        assertTrue(index.isKnownBooked(10L, DATE));
+        assertEquals(List.of(12L), freeSeatIds());
+        assertEquals(0.0, lookups("miss"));
+        assertEquals(1.0, lookups("hit"));
+        assertEquals(1.0, rebuilds());
+    }
+
+    @Test
+    void testCancellationWarmsMissingEntry() {
+        when(bookingRepository.findBookedSeatIdsByFloorIdAndDate(FLOOR_ID, DATE)).thenReturn(List.of());
+
+        index.markFree(FLOOR_ID, 11L, DATE);
+
+        assertFalse(index.isKnownBooked(11L, DATE));
+        assertEquals(List.of(10L, 11L, 12L), freeSeatIds());
+        assertEquals(0.0, lookups("miss"));
+        assertEquals(1.0, rebuilds());
+    }
+
+    @Test
+    void testLoadRacingAWriteIsNotCached() {
+        AtomicBoolean raced = new AtomicBoolean();
+        when(bookingRepository.findBookedSeatIdsByFloorIdAndDate(FLOOR_ID, DATE)).thenAnswer(invocation -> {
+            if (raced.compareAndSet(false, true)) {
+                // a booking commits while the rebuild's query is running; the rebuild's result predates it
+                index.markBooked(FLOOR_ID, 12L, DATE);
+                return List.of(11L);
+            }
+            return List.of(11L, 12L);
+        });
+
+        // this lookup may answer from its own (older) load ...
+        assertEquals(List.of(10L, 12L), freeSeatIds());
+        // ... but only the load that saw the booking was cached
+        assertEquals(List.of(10L), freeSeatIds());
+        assertTrue(index.isKnownBooked(12L, DATE));
+        assertEquals(2.0, rebuilds());
+        assertEquals(1.0, lookups("hit"));
+    }
+
+    @Test
+    void testEntryExpiresAfterTtl() {
+        freeSeatIds();
+        when(bookingRepository.findBookedSeatIdsByFloorIdAndDate(FLOOR_ID, DATE)).thenReturn(List.of(10L, 11L));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(TTL_SECONDS));
+        assertEquals(List.of(10L, 12L), freeSeatIds());
+        assertTrue(index.isKnownBooked(11L, DATE));
+
+        now.addAndGet(1);
+        assertFalse(index.isKnownBooked(11L, DATE), "an expired entry is not an answer");
+        assertEquals(List.of(12L), freeSeatIds());
+        assertTrue(index.isKnownBooked(10L, DATE));
+        assertEquals(2.0, rebuilds());
+    }
+
+    @Test
+    void testUnknownSeatEvictsFloor() {
+        freeSeatIds();
+
+        index.markBooked(FLOOR_ID, 99L, DATE);
+
+        assertFalse(index.isKnownBooked(11L, DATE));
+        freeSeatIds();
+        verify(seatRepository, times(2)).findByFloorId(FLOOR_ID);
+        assertEquals(2.0, rebuilds());
+    }
+
+    private List<Long> freeSeatIds() {
+        return index.findFreeSeats(FLOOR_ID, DATE).stream().map(SeatDto::getId).toList();
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.counter("wio.availability.index.lookups", "result", result).count();
+    }
+
+    private double rebuilds() {
+        return meterRegistry.counter("wio.availability.index.rebuilds").count();
+    }
+
+    private static Seat seat(Long id) {
+        Seat seat = new Seat();
+        seat.setId(id);
+        seat.setSeatNumber("S" + id);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        return seat;
+    }
+}
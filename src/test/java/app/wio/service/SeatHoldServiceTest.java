@@ -0,0 +1,154 @@
+package app.wio.service;
+
+import app.wio.entity.Floor;
+import app.wio.entity.Seat;
+import app.wio.event.SeatHoldChangedEvent;
+import app.wio.exception.SeatHeldException;
+import app.wio.repository.BookingRepository;
+import app.wio.repository.SeatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.*;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeatHoldServiceTest {
+
+    private static final Long SEAT_ID = 5L;
+    private static final Long FLOOR_ID = 2L;
+    private static final Long HOLDER = 10L;
+    private static final Long OTHER_USER = 11L;
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+    // whole second, so deadlines and wheel ticks line up with the offsets used below
+    private static final long START = LocalDate.of(2030, 1, 6).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+
+    private final SeatRepository seatRepository = Mockito.mock(SeatRepository.class);
+    private final BookingRepository bookingRepository = Mockito.mock(BookingRepository.class);
+    private final ApplicationEventPublisher eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+    private final MutableClock clock = new MutableClock(START);
+
+    private SeatHoldService seatHoldService;
+
+    @BeforeEach
+    void setUp() {
+        Floor floor = new Floor();
+        floor.setId(FLOOR_ID);
+        Seat seat = new Seat();
+        seat.setId(SEAT_ID);
+        seat.setFloor(floor);
+        when(seatRepository.findById(SEAT_ID)).thenReturn(Optional.of(seat));
+        seatHoldService = new SeatHoldService(seatRepository, bookingRepository, eventPublisher, 120, 600, clock);
+    }
+
+    @Test
+    void testHoldExpiresAtItsDeadline() {
+        seatHoldService.hold(SEAT_ID, DATE, HOLDER, 5);
+
+        clock.set(START + 4_999);
+        assertTrue(seatHoldService.isHeld(SEAT_ID, DATE));
+
+        // lookups honour the deadline before the wheel gets to it
+        clock.set(START + 5_000);
+        assertFalse(seatHoldService.isHeld(SEAT_ID, DATE));
+        seatHoldService.advanceWheel();
+        assertEquals(List.of(true), heldFlags());
+
+        // the sweep for the second after the deadline releases it
+        clock.set(START + 6_000);
+        seatHoldService.advanceWheel();
+        assertEquals(List.of(true, false), heldFlags());
+        assertEquals(0, seatHoldService.scheduledCount());
+    }
+
+    @Test
+    void testRenewalLeavesOneLiveWheelEntry() {
+        seatHoldService.hold(SEAT_ID, DATE, HOLDER, 5);
+        clock.set(START + 1_000);
+        seatHoldService.hold(SEAT_ID, DATE, HOLDER, 5);
+        clock.set(START + 2_000);
+        seatHoldService.hold(SEAT_ID, DATE, HOLDER, 10);
+
+        // the entries of the first two holds come due and are dropped, not rescheduled
+        for (long at = START + 3_000; at <= START + 7_000; at += 1_000) {
+            clock.set(at);
+            seatHoldService.advanceWheel();
+        }
+        assertEquals(1, seatHoldService.scheduledCount());
+        assertTrue(seatHoldService.isHeld(SEAT_ID, DATE));
+
+        clock.set(START + 13_000);
+        seatHoldService.advanceWheel();
+        assertEquals(0, seatHoldService.scheduledCount());
+        assertFalse(seatHoldService.isHeld(SEAT_ID, DATE));
+        assertEquals(List.of(true, true, true, false), heldFlags());
+    }
+
+    @Test
+    void testHeldSeatRejectsOtherUsers() {
+        seatHoldService.hold(SEAT_ID, DATE, HOLDER, 5);
+
+        assertThrows(SeatHeldException.class, () -> seatHoldService.checkBookable(SEAT_ID, DATE, OTHER_USER));
+        assertThrows(SeatHeldException.class, () -> seatHoldService.hold(SEAT_ID, DATE, OTHER_USER, 5));
+        assertDoesNotThrow(() -> seatHoldService.checkBookable(SEAT_ID, DATE, HOLDER));
+
+        clock.set(START + 5_000);
+        assertDoesNotThrow(() -> seatHoldService.checkBookable(SEAT_ID, DATE, OTHER_USER));
+    }
+
+    @Test
+    void testReleasedHoldIsNotReleasedAgainByTheWheel() {
+        seatHoldService.hold(SEAT_ID, DATE, HOLDER, 5);
+        seatHoldService.release(SEAT_ID, DATE, HOLDER);
+
+        clock.set(START + 6_000);
+        seatHoldService.advanceWheel();
+
+        assertEquals(List.of(true, false), heldFlags());
+        assertEquals(0, seatHoldService.scheduledCount());
+    }
+
+    private List<Boolean> heldFlags() {
+        ArgumentCaptor<SeatHoldChangedEvent> events = ArgumentCaptor.forClass(SeatHoldChangedEvent.class);
+        verify(eventPublisher, atLeast(0)).publishEvent(events.capture());
+        return events.getAllValues().stream().map(SeatHoldChangedEvent::isHeld).toList();
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void set(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}